@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import com.google.inject.Inject;
+import models.generic.PooledIdGenerator;
+import org.hibernate.Session;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.metadata.ClassMetadata;
+import org.hibernate.persister.entity.EntityPersister;
+import play.Logger;
+import play.db.jpa.JPAApi;
+import util.logging.Loggers;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+/**
+ * Migrates the id pools of the {@link PooledIdGenerator}.
+ * <p>
+ * Databases created with the former table generator do not have a row
+ * in the id pool table, and changing the increment size of an entity may
+ * hand out ids already reserved by the former pool. Therefore the pool of each
+ * root entity is moved behind the highest id used, before any entity is created.
+ */
+class IdGeneratorMigration {
+
+    private static Logger.ALogger LOGGER = Loggers.of(Loggers.SYSTEM);
+    private final JPAApi jpaApi;
+
+    @Inject public IdGeneratorMigration(JPAApi jpaApi) {
+        this.jpaApi = jpaApi;
+    }
+
+    void migrate() {
+        LOGGER.info("Starting to migrate id pools.");
+        jpaApi.withTransaction(this::migrateIdPools);
+        LOGGER.info("Finished to migrate id pools.");
+    }
+
+    private void migrateIdPools() {
+        final EntityManager em = jpaApi.em();
+        for (ClassMetadata classMetadata : em.unwrap(Session.class).getSessionFactory()
+            .getAllClassMetadata().values()) {
+            if (!(classMetadata instanceof EntityPersister)) {
+                continue;
+            }
+            final EntityPersister persister = (EntityPersister) classMetadata;
+            final IdentifierGenerator generator = persister.getIdentifierGenerator();
+            if (persister.getEntityName().equals(persister.getRootEntityName())
+                && generator instanceof PooledIdGenerator) {
+                migrateIdPool(em, persister.getEntityName(), (PooledIdGenerator) generator);
+            }
+        }
+    }
+
+    private void migrateIdPool(EntityManager em, String entityName, PooledIdGenerator generator) {
+
+        final Long maxId =
+            em.createQuery("select max(e.id) from " + entityName + " e", Long.class)
+                .getSingleResult();
+        if (maxId == null) {
+            LOGGER.debug(String.format("No %s exists, id pool needs no migration.", entityName));
+            return;
+        }
+        //the pooled optimizer hands out the ids below the stored value
+        final long required = maxId + generator.getIncrementSize();
+
+        final List<?> current = em.createNativeQuery(String
+            .format("select %s from %s where %s = ?", generator.getValueColumnName(),
+                generator.getTableName(), generator.getSegmentColumnName()))
+            .setParameter(1, generator.getSegmentValue()).getResultList();
+
+        if (current.isEmpty()) {
+            LOGGER.info(String
+                .format("Creating id pool %s of %s starting after id %s.",
+                    generator.getSegmentValue(), entityName, maxId));
+            em.createNativeQuery(String.format("insert into %s (%s, %s) values (?, ?)",
+                generator.getTableName(), generator.getSegmentColumnName(),
+                generator.getValueColumnName())).setParameter(1, generator.getSegmentValue())
+                .setParameter(2, required).executeUpdate();
+        } else if (((Number) current.get(0)).longValue() < required) {
+            LOGGER.info(String
+                .format("Moving id pool %s of %s behind id %s.", generator.getSegmentValue(),
+                    entityName, maxId));
+            em.createNativeQuery(String
+                .format("update %s set %s = ? where %s = ?", generator.getTableName(),
+                    generator.getValueColumnName(), generator.getSegmentColumnName()))
+                .setParameter(1, required).setParameter(2, generator.getSegmentValue())
+                .executeUpdate();
+        }
+    }
+}
@@ -18,6 +18,7 @@
 
 import com.google.inject.AbstractModule;
 import components.execution.ExecutionSystemInitialization;
+import components.job.JobRecovery;
 
 /**
  * Created by daniel on 19.07.16.
@@ -26,6 +27,9 @@ public class InitModule extends AbstractModule {
     @Override protected void configure() {
         bind(ExecutionSystemInitialization.class);
         bind(InitialData.class);
+        bind(IdGeneratorMigration.class);
+        bind(SchemaCheck.class);
+        bind(JobRecovery.class);
         bind(OnStartClass.class).asEagerSingleton();
     }
 }
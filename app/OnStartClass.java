@@ -18,6 +18,7 @@
 
 import com.google.inject.Inject;
 import components.execution.ExecutionSystemInitialization;
+import components.job.JobRecovery;
 import play.Logger;
 import play.inject.ApplicationLifecycle;
 import play.libs.F;
@@ -31,10 +32,15 @@ class OnStartClass {
     private static Logger.ALogger LOGGER = Loggers.of(Loggers.SYSTEM);
 
     @Inject public OnStartClass(ExecutionSystemInitialization executionSystemInitialization,
-        InitialData initialData, ApplicationLifecycle applicationLifecycle) {
+        InitialData initialData, IdGeneratorMigration idGeneratorMigration,
+        SchemaCheck schemaCheck, JobRecovery jobRecovery,
+        ApplicationLifecycle applicationLifecycle) {
 
         LOGGER.info("Initialization of system, executing on start actions.");
 
+        schemaCheck.check();
+        idGeneratorMigration.migrate();
+        jobRecovery.recover();
 
         executionSystemInitialization.init();
         initialData.load();
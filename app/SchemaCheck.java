@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import com.google.common.collect.ImmutableSet;
+import com.google.inject.Inject;
+import org.hibernate.Session;
+import org.hibernate.metadata.ClassMetadata;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import play.Logger;
+import play.db.jpa.JPAApi;
+import util.logging.Loggers;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Verifies that the columns used by frequent lookups are indexed.
+ * <p>
+ * The indexes are declared on the entities (or implied by unique constraints)
+ * and created by hibernate (hbm2ddl.auto=update), which silently skips
+ * indexes it fails to create. Therefore this check inspects the table of every
+ * entity and reports each of the {@link #INDEXED_COLUMNS} that is not the first
+ * column of an index.
+ */
+class SchemaCheck {
+
+    private static Logger.ALogger LOGGER = Loggers.of(Loggers.SYSTEM);
+    private static final Set<String> INDEXED_COLUMNS = ImmutableSet
+        .of("uuid", "remoteId", "monitor_id", "virtualMachine_id", "applicationComponent_id",
+            "cloud_id");
+    private final JPAApi jpaApi;
+
+    @Inject public SchemaCheck(JPAApi jpaApi) {
+        this.jpaApi = jpaApi;
+    }
+
+    void check() {
+        LOGGER.info("Starting to check database schema.");
+        final List<String> missingIndexes;
+        try {
+            missingIndexes = jpaApi.withTransaction(this::findMissingIndexes);
+        } catch (Throwable t) {
+            LOGGER.warn("Could not check database schema.", t);
+            return;
+        }
+        if (missingIndexes.isEmpty()) {
+            LOGGER.info("Finished to check database schema, all indexes exist.");
+        } else {
+            LOGGER.warn(String.format(
+                "Finished to check database schema, the following columns are not indexed: %s",
+                missingIndexes));
+        }
+    }
+
+    private List<String> findMissingIndexes() {
+        final Session session = jpaApi.em().unwrap(Session.class);
+
+        final Set<String> tables = new TreeSet<>();
+        for (ClassMetadata classMetadata : session.getSessionFactory().getAllClassMetadata()
+            .values()) {
+            if (!(classMetadata instanceof AbstractEntityPersister)) {
+                continue;
+            }
+            final AbstractEntityPersister persister = (AbstractEntityPersister) classMetadata;
+            //abstract entities of a table per class hierarchy do not have a table
+            if (!persister.getEntityMetamodel().isAbstract()) {
+                tables.add(persister.getTableName());
+            }
+        }
+
+        final List<String> missingIndexes = new ArrayList<>();
+        session.doWork(connection -> {
+            for (String table : tables) {
+                final Set<String> columns = columns(connection, table);
+                columns.retainAll(INDEXED_COLUMNS);
+                columns.removeAll(leadingIndexColumns(connection, table));
+                for (String column : columns) {
+                    missingIndexes.add(table + "." + column);
+                }
+            }
+        });
+        return missingIndexes;
+    }
+
+    private static Set<String> columns(Connection connection, String table) throws SQLException {
+        final Set<String> columns = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        try (ResultSet resultSet = connection.getMetaData()
+            .getColumns(connection.getCatalog(), null, table, null)) {
+            while (resultSet.next()) {
+                columns.add(resultSet.getString("COLUMN_NAME"));
+            }
+        }
+        return columns;
+    }
+
+    private static Set<String> leadingIndexColumns(Connection connection, String table)
+        throws SQLException {
+        final Set<String> columns = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        try (ResultSet resultSet = connection.getMetaData()
+            .getIndexInfo(connection.getCatalog(), null, table, false, true)) {
+            while (resultSet.next()) {
+                if (resultSet.getShort("TYPE") != DatabaseMetaData.tableIndexStatistic
+                    && resultSet.getShort("ORDINAL_POSITION") == 1) {
+                    columns.add(resultSet.getString("COLUMN_NAME"));
+                }
+            }
+        }
+        return columns;
+    }
+}
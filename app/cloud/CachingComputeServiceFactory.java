@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2014-2016 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package cloud;
+
+import com.google.common.base.Charsets;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import de.uniulm.omi.cloudiator.sword.api.service.ComputeService;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import cloud.resources.HardwareInLocation;
+import cloud.resources.ImageInLocation;
+import cloud.resources.LocationInCloud;
+import cloud.resources.VirtualMachineInLocation;
+import models.Cloud;
+import models.CloudCredential;
+import play.Configuration;
+import play.Logger;
+import util.logging.Loggers;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link ComputeServiceFactory} keeping the compute services built by
+ * the {@link SwordComputeServiceFactory} per cloud credential.
+ * <p>
+ * Each cached service is stored together with a fingerprint of the configuration
+ * it was built from (api, endpoint, credentials and cloud properties). If this
+ * configuration changes, the fingerprint does no longer match and the service
+ * is rebuilt, even if nobody explicitly invalidated the cache.
+ */
+@Singleton public class CachingComputeServiceFactory
+    implements ComputeServiceFactory, ComputeServiceCache {
+
+    private static final Logger.ALogger LOGGER = Loggers.of(Loggers.CLOUD_REMOTE);
+    private static final long DEFAULT_EXPIRY_MINUTES = 60;
+
+    private final ComputeServiceFactory delegate;
+    private final Cache<Key, ComputeService<HardwareInLocation, ImageInLocation, LocationInCloud, VirtualMachineInLocation>>
+        cache;
+
+    @Inject CachingComputeServiceFactory(SwordComputeServiceFactory delegate) {
+        checkNotNull(delegate);
+        this.delegate = delegate;
+        this.cache = CacheBuilder.newBuilder().expireAfterAccess(getExpiry(), TimeUnit.MINUTES)
+            .recordStats().build();
+    }
+
+    private static long getExpiry() {
+        Long expiry = Configuration.root().getLong("colosseum.cloud.computeService.cache.expiry");
+        if (expiry == null) {
+            return DEFAULT_EXPIRY_MINUTES;
+        }
+        return expiry;
+    }
+
+    @Override
+    public ComputeService<HardwareInLocation, ImageInLocation, LocationInCloud, VirtualMachineInLocation> computeService(
+        CloudCredential cloudCredential) {
+
+        checkNotNull(cloudCredential);
+
+        final Key key = new Key(cloudCredential.getUuid(), cloudCredential.getCloud().getUuid(),
+            fingerprint(cloudCredential));
+        final boolean[] built = {false};
+
+        final ComputeService<HardwareInLocation, ImageInLocation, LocationInCloud, VirtualMachineInLocation>
+            computeService;
+        try {
+            computeService = cache.get(key, () -> {
+                built[0] = true;
+                final long start = System.nanoTime();
+                ComputeService<HardwareInLocation, ImageInLocation, LocationInCloud, VirtualMachineInLocation>
+                    service = delegate.computeService(cloudCredential);
+                LOGGER.debug(String
+                    .format("%s built compute service for credential %s in %d ms.", this,
+                        key.credential,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+                return service;
+            });
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(
+                String.format("Could not build compute service for credential %s", key.credential),
+                e.getCause());
+        } catch (UncheckedExecutionException e) {
+            throw (RuntimeException) e.getCause();
+        }
+
+        if (built[0]) {
+            // drop services built from an outdated configuration of the same credential
+            cache.asMap().keySet().removeIf(
+                other -> other.credential.equals(key.credential) && !other.equals(key));
+            LOGGER.debug(String.format("%s statistics: %s", this, cache.stats()));
+        }
+
+        return computeService;
+    }
+
+    private static String fingerprint(CloudCredential cloudCredential) {
+        final Cloud cloud = cloudCredential.getCloud();
+        final Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putString(cloud.api().getInternalProviderName(), Charsets.UTF_8).putChar('|');
+        hasher.putString(cloud.getEndpoint().orElse(""), Charsets.UTF_8).putChar('|');
+        hasher.putString(cloudCredential.getUser(), Charsets.UTF_8).putChar('|');
+        hasher.putString(cloudCredential.getSecret(), Charsets.UTF_8).putChar('|');
+        for (Map.Entry<String, Object> property : new TreeMap<>(cloud.properties()).entrySet()) {
+            hasher.putString(property.getKey(), Charsets.UTF_8).putChar('=')
+                .putString(String.valueOf(property.getValue()), Charsets.UTF_8).putChar('|');
+        }
+        return hasher.hash().toString();
+    }
+
+    @Override public void invalidate(CloudCredential cloudCredential) {
+        checkNotNull(cloudCredential);
+        cache.asMap().keySet().removeIf(key -> key.credential.equals(cloudCredential.getUuid()));
+    }
+
+    @Override public void invalidate(Cloud cloud) {
+        checkNotNull(cloud);
+        cache.asMap().keySet().removeIf(key -> key.cloud.equals(cloud.getUuid()));
+    }
+
+    @Override public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override public String toString() {
+        return "CachingComputeServiceFactory";
+    }
+
+    private static class Key {
+
+        private final String credential;
+        private final String cloud;
+        private final String fingerprint;
+
+        private Key(String credential, String cloud, String fingerprint) {
+            this.credential = credential;
+            this.cloud = cloud;
+            this.fingerprint = fingerprint;
+        }
+
+        @Override public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return Objects.equals(credential, key.credential) && Objects
+                .equals(fingerprint, key.fingerprint);
+        }
+
+        @Override public int hashCode() {
+            return Objects.hash(credential, fingerprint);
+        }
+    }
+}
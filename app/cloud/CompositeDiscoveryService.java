@@ -18,12 +18,13 @@
 
 package cloud;
 
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.inject.Inject;
 
 import de.uniulm.omi.cloudiator.sword.api.service.DiscoveryService;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nullable;
 
@@ -32,18 +33,56 @@ import cloud.resources.ImageInLocation;
 import cloud.resources.LocationInCloud;
 import cloud.resources.VirtualMachineInLocation;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
 /**
  * Created by daniel on 17.04.15.
+ * <p>
+ * Combines the discovery services of multiple cloud credentials. The list
+ * operations query all discovery services using the given executor and stream
+ * the results, see {@link ConcurrentDiscoveryResult}.
  */
 public class CompositeDiscoveryService implements
     DiscoveryService<HardwareInLocation, ImageInLocation, LocationInCloud, VirtualMachineInLocation> {
 
     private final Iterable<? extends DiscoveryService<HardwareInLocation, ImageInLocation, LocationInCloud, VirtualMachineInLocation>>
         discoveryServices;
-
+    private final Executor executor;
+    private final long timeout;
+
+    /**
+     * Creates a composite discovery service querying the discovery services
+     * sequentially in the calling thread.
+     *
+     * @param discoveryServices the discovery services to combine.
+     */
     @Inject public CompositeDiscoveryService(
         Iterable<? extends DiscoveryService<HardwareInLocation, ImageInLocation, LocationInCloud, VirtualMachineInLocation>> discoveryServices) {
+        this(discoveryServices, MoreExecutors.directExecutor(), 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a composite discovery service querying the discovery services
+     * using the given executor.
+     *
+     * @param discoveryServices the discovery services to combine.
+     * @param executor          the executor used to query the discovery services.
+     * @param timeout           the timeout for a single discovery service, 0 for no timeout.
+     * @param unit              the time unit of the timeout.
+     */
+    public CompositeDiscoveryService(
+        Iterable<? extends DiscoveryService<HardwareInLocation, ImageInLocation, LocationInCloud, VirtualMachineInLocation>> discoveryServices,
+        Executor executor, long timeout, TimeUnit unit) {
+
+        checkNotNull(discoveryServices);
+        checkNotNull(executor);
+        checkArgument(timeout >= 0, "Timeout must not be negative.");
+        checkNotNull(unit);
+
         this.discoveryServices = discoveryServices;
+        this.executor = executor;
+        this.timeout = unit.toMillis(timeout);
     }
 
     @Nullable @Override public ImageInLocation getImage(String s) {
@@ -67,42 +106,24 @@ public class CompositeDiscoveryService implements
     }
 
     @Override public Iterable<HardwareInLocation> listHardwareFlavors() {
-        List<HardwareInLocation> hardwareInLocations = new LinkedList<>();
-        for (DiscoveryService<HardwareInLocation, ImageInLocation, LocationInCloud, VirtualMachineInLocation> discoveryService : discoveryServices) {
-            for (HardwareInLocation hardwareInLocation : discoveryService.listHardwareFlavors()) {
-                hardwareInLocations.add(hardwareInLocation);
-            }
-        }
-        return hardwareInLocations;
+        return new ConcurrentDiscoveryResult<>(discoveryServices,
+            DiscoveryService::listHardwareFlavors, executor, timeout, TimeUnit.MILLISECONDS,
+            "hardware flavors");
     }
 
     @Override public Iterable<ImageInLocation> listImages() {
-        List<ImageInLocation> images = new LinkedList<>();
-        for (DiscoveryService<HardwareInLocation, ImageInLocation, LocationInCloud, VirtualMachineInLocation> discoveryService : discoveryServices) {
-            for (ImageInLocation image : discoveryService.listImages()) {
-                images.add(image);
-            }
-        }
-        return images;
+        return new ConcurrentDiscoveryResult<>(discoveryServices, DiscoveryService::listImages,
+            executor, timeout, TimeUnit.MILLISECONDS, "images");
     }
 
     @Override public Iterable<LocationInCloud> listLocations() {
-        List<LocationInCloud> locations = new LinkedList<>();
-        for (DiscoveryService<HardwareInLocation, ImageInLocation, LocationInCloud, VirtualMachineInLocation> discoveryService : discoveryServices) {
-            for (LocationInCloud location : discoveryService.listLocations()) {
-                locations.add(location);
-            }
-        }
-        return locations;
+        return new ConcurrentDiscoveryResult<>(discoveryServices, DiscoveryService::listLocations,
+            executor, timeout, TimeUnit.MILLISECONDS, "locations");
     }
 
     @Override public Iterable<VirtualMachineInLocation> listVirtualMachines() {
-        List<VirtualMachineInLocation> virtualMachines = new LinkedList<>();
-        for (DiscoveryService<HardwareInLocation, ImageInLocation, LocationInCloud, VirtualMachineInLocation> discoveryService : discoveryServices) {
-            for (VirtualMachineInLocation virtualMachine : discoveryService.listVirtualMachines()) {
-                virtualMachines.add(virtualMachine);
-            }
-        }
-        return virtualMachines;
+        return new ConcurrentDiscoveryResult<>(discoveryServices,
+            DiscoveryService::listVirtualMachines, executor, timeout, TimeUnit.MILLISECONDS,
+            "virtual machines");
     }
 }
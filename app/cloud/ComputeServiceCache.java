@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2014-2016 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package cloud;
+
+import com.google.common.cache.CacheStats;
+
+import models.Cloud;
+import models.CloudCredential;
+
+/**
+ * A cache for compute services, keyed by the cloud credential
+ * they were built for.
+ * <p>
+ * Allows to invalidate the compute services of a credential or cloud
+ * after a change of the credential, the cloud or its properties.
+ */
+public interface ComputeServiceCache {
+
+    /**
+     * Discards the compute service built for the given credential.
+     *
+     * @param cloudCredential the credential whose compute service is discarded.
+     */
+    void invalidate(CloudCredential cloudCredential);
+
+    /**
+     * Discards the compute services of all credentials of the given cloud.
+     *
+     * @param cloud the cloud whose compute services are discarded.
+     */
+    void invalidate(Cloud cloud);
+
+    /**
+     * Discards all cached compute services.
+     */
+    void invalidateAll();
+
+    /**
+     * @return hit, miss and build time statistics of the cache.
+     */
+    CacheStats stats();
+}
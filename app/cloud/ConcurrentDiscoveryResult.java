@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2014-2016 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package cloud;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import play.Logger;
+import util.logging.Loggers;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The result of a discovery spanning multiple sources.
+ * <p>
+ * The sources are queried concurrently using the given executor. The
+ * result is streamed: iterators return the elements of each source as soon as
+ * the source answered, in the order the sources completed.
+ * <p>
+ * A source failing or exceeding the timeout (measured from the moment the
+ * source was actually started) is logged and skipped, so the result
+ * contains the elements of all other sources.
+ * <p>
+ * The result may be iterated multiple times, elements already received
+ * are buffered.
+ *
+ * @param <S> the type of the sources
+ * @param <T> the type of the discovered elements
+ */
+class ConcurrentDiscoveryResult<S, T> implements Iterable<T> {
+
+    private static final Logger.ALogger LOGGER = Loggers.of(Loggers.CLOUD_REMOTE);
+
+    private final CompletionService<List<T>> completionService;
+    private final long timeout;
+    private final String description;
+
+    //guarded by this
+    private final Map<Future<List<T>>, Task> pending;
+    //guarded by this
+    private final List<T> results;
+
+    /**
+     * @param sources     the sources to query.
+     * @param function    function retrieving the elements from a source.
+     * @param executor    the executor used for querying the sources.
+     * @param timeout     the timeout per source, 0 for no timeout.
+     * @param unit        the time unit of the timeout.
+     * @param description description of the discovered elements, used for logging.
+     */
+    ConcurrentDiscoveryResult(Iterable<? extends S> sources,
+        Function<? super S, ? extends Iterable<T>> function, Executor executor, long timeout,
+        TimeUnit unit, String description) {
+
+        checkNotNull(sources);
+        checkNotNull(function);
+        checkNotNull(executor);
+        checkArgument(timeout >= 0, "Timeout must not be negative.");
+        checkNotNull(unit);
+        checkNotNull(description);
+
+        this.completionService = new ExecutorCompletionService<>(executor);
+        this.timeout = unit.toNanos(timeout);
+        this.description = description;
+        this.pending = new HashMap<>();
+        this.results = new ArrayList<>();
+
+        synchronized (this) {
+            for (S source : sources) {
+                final Task task = new Task(source, function);
+                pending.put(completionService.submit(task), task);
+            }
+        }
+    }
+
+    /**
+     * Waits for the next source to complete and adds its elements to the results.
+     *
+     * @return false if no source is pending anymore, true otherwise.
+     */
+    private synchronized boolean fetch() {
+        while (!pending.isEmpty()) {
+            final Future<List<T>> future;
+            try {
+                if (timeout == 0) {
+                    future = completionService.take();
+                } else {
+                    future = completionService.poll(nextDeadline(), TimeUnit.NANOSECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.warn(String
+                    .format("Interrupted while discovering %s, cancelling %s pending sources.",
+                        description, pending.size()));
+                pending.keySet().forEach(f -> f.cancel(true));
+                pending.clear();
+                return false;
+            }
+
+            if (future == null) {
+                if (cancelOverdue()) {
+                    return true;
+                }
+                continue;
+            }
+
+            final Task task = pending.remove(future);
+            if (task == null) {
+                // already cancelled due to timeout
+                continue;
+            }
+            try {
+                final List<T> discovered = future.get();
+                LOGGER.debug(String
+                    .format("Discovered %s %s from %s in %d ms.", discovered.size(), description,
+                        task.source, TimeUnit.NANOSECONDS.toMillis(task.duration())));
+                results.addAll(discovered);
+            } catch (CancellationException e) {
+                LOGGER.warn(String
+                    .format("Discovery of %s from %s was cancelled, skipping it.", description,
+                        task.source));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException e) {
+                LOGGER.error(String
+                    .format("Discovery of %s from %s failed, skipping it.", description,
+                        task.source), e.getCause());
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private long nextDeadline() {
+        final long now = System.nanoTime();
+        long wait = timeout;
+        for (Task task : pending.values()) {
+            if (task.started) {
+                wait = Math.min(wait, task.start + timeout - now);
+            }
+        }
+        return Math.max(wait, 0);
+    }
+
+    /**
+     * Cancels all sources exceeding the timeout. Cancelled sources are
+     * no longer pending, even if they do not react to the interrupt.
+     *
+     * @return true if at least one source was cancelled.
+     */
+    private boolean cancelOverdue() {
+        final long now = System.nanoTime();
+        boolean cancelled = false;
+        for (Iterator<Map.Entry<Future<List<T>>, Task>> iterator = pending.entrySet().iterator();
+             iterator.hasNext(); ) {
+            final Map.Entry<Future<List<T>>, Task> entry = iterator.next();
+            if (entry.getValue().started && now - entry.getValue().start >= timeout) {
+                LOGGER.warn(String
+                    .format("Discovery of %s from %s timed out, skipping it.", description,
+                        entry.getValue().source));
+                entry.getKey().cancel(true);
+                iterator.remove();
+                cancelled = true;
+            }
+        }
+        return cancelled;
+    }
+
+    @Override public Iterator<T> iterator() {
+        return new Iterator<T>() {
+
+            private int index = 0;
+
+            @Override public boolean hasNext() {
+                synchronized (ConcurrentDiscoveryResult.this) {
+                    while (index >= results.size()) {
+                        if (!fetch()) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+            }
+
+            @Override public T next() {
+                synchronized (ConcurrentDiscoveryResult.this) {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return results.get(index++);
+                }
+            }
+        };
+    }
+
+    private class Task implements Callable<List<T>> {
+
+        private final S source;
+        private final Function<? super S, ? extends Iterable<T>> function;
+        private volatile boolean started = false;
+        private volatile long start;
+        private volatile long end;
+
+        private Task(S source, Function<? super S, ? extends Iterable<T>> function) {
+            this.source = source;
+            this.function = function;
+        }
+
+        private long duration() {
+            return end - start;
+        }
+
+        @Override public List<T> call() throws Exception {
+            start = System.nanoTime();
+            started = true;
+            try {
+                final List<T> discovered = new ArrayList<>();
+                for (T t : function.apply(source)) {
+                    discovered.add(t);
+                }
+                return discovered;
+            } finally {
+                end = System.nanoTime();
+            }
+        }
+    }
+}
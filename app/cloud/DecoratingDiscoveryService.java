@@ -18,6 +18,8 @@
 
 package cloud;
 
+import com.google.common.base.MoreObjects;
+
 import de.uniulm.omi.cloudiator.sword.api.domain.HardwareFlavor;
 import de.uniulm.omi.cloudiator.sword.api.domain.Image;
 import de.uniulm.omi.cloudiator.sword.api.domain.Location;
@@ -115,4 +117,9 @@ public class DecoratingDiscoveryService implements
             new DecoratingComputeService.VirtualMachineDecorator(cloudId, cloudCredential,
                 cloudCredentialModelService, cloudModelService)).collect(Collectors.toList());
     }
+
+    @Override public String toString() {
+        return MoreObjects.toStringHelper(this).add("cloud", cloudId)
+            .add("credential", cloudCredential).toString();
+    }
 }
@@ -18,10 +18,17 @@
 
 package cloud;
 
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 
 import de.uniulm.omi.cloudiator.sword.api.service.DiscoveryService;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 import cloud.colosseum.BaseColosseumComputeService;
 import cloud.colosseum.ColosseumComputeService;
 import cloud.resources.HardwareInLocation;
@@ -30,16 +37,18 @@ import cloud.resources.LocationInCloud;
 import cloud.resources.VirtualMachineInLocation;
 import models.CloudCredential;
 import models.service.ModelService;
+import play.Configuration;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Created by daniel on 20.05.15.
  */
-public class DefaultCloudService implements CloudService {
+@Singleton public class DefaultCloudService implements CloudService {
 
-    private final ModelService<CloudCredential> cloudCredentialModelService;
-    private final ComputeServiceFactory computeServiceFactory;
+    private final ComputeServiceRegistry computeServiceRegistry;
+    private final Executor discoveryExecutor;
+    private final long discoveryTimeout;
 
     @Inject public DefaultCloudService(ModelService<CloudCredential> cloudCredentialModelService,
         ComputeServiceFactory computeServiceFactory) {
@@ -48,20 +57,29 @@ public class DefaultCloudService implements CloudService {
         checkNotNull(computeServiceFactory);
 
 
-        this.cloudCredentialModelService = cloudCredentialModelService;
-        this.computeServiceFactory = computeServiceFactory;
+        this.computeServiceRegistry =
+            new BaseComputeServiceRegistry(computeServiceFactory, cloudCredentialModelService);
 
+        final int discoveryThreads =
+            Configuration.root().getInt("colosseum.cloud.discovery.threads", 0);
+        if (discoveryThreads > 0) {
+            this.discoveryExecutor = Executors.newFixedThreadPool(discoveryThreads,
+                new ThreadFactoryBuilder().setNameFormat("cloud-discovery-%d").setDaemon(true)
+                    .build());
+        } else {
+            this.discoveryExecutor = MoreExecutors.directExecutor();
+        }
+        this.discoveryTimeout =
+            Configuration.root().getLong("colosseum.cloud.discovery.timeout", 0L);
     }
 
     @Override
     public DiscoveryService<HardwareInLocation, ImageInLocation, LocationInCloud, VirtualMachineInLocation> discoveryService() {
-        return new CompositeDiscoveryService(
-            new BaseComputeServiceRegistry(computeServiceFactory, cloudCredentialModelService)
-                .getDiscoveryServices());
+        return new CompositeDiscoveryService(computeServiceRegistry.getDiscoveryServices(),
+            discoveryExecutor, discoveryTimeout, TimeUnit.SECONDS);
     }
 
     @Override public ColosseumComputeService computeService() {
-        return new BaseColosseumComputeService(
-            new BaseComputeServiceRegistry(computeServiceFactory, cloudCredentialModelService));
+        return new BaseColosseumComputeService(computeServiceRegistry);
     }
 }
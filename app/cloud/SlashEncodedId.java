@@ -49,6 +49,11 @@ public class SlashEncodedId {
         return new SlashEncodedId(cloudCredential.getUuid(), cloud.getUuid(), identifiable.id());
     }
 
+    public static SlashEncodedId of(String cloudCredentialUuid, String cloudUuid,
+        Identifiable identifiable) {
+        return new SlashEncodedId(cloudCredentialUuid, cloudUuid, identifiable.id());
+    }
+
     public static SlashEncodedId of(String userId) {
         checkNotNull(userId, "userId must not be null.");
         checkArgument(!userId.isEmpty(), "userId must not be empty");
@@ -23,10 +23,11 @@ import com.google.inject.AbstractModule;
 import com.google.inject.Injector;
 import com.google.inject.Provides;
 
+import cloud.CachingComputeServiceFactory;
 import cloud.CloudService;
+import cloud.ComputeServiceCache;
 import cloud.ComputeServiceFactory;
 import cloud.DefaultCloudService;
-import cloud.SwordComputeServiceFactory;
 import cloud.strategies.CompositeRemoteConnectionStrategy;
 import cloud.strategies.KeyPairPerCredentialStrategy;
 import cloud.strategies.KeyPairRemoteConnectionStrategy;
@@ -42,7 +43,8 @@ public class CloudModule extends AbstractModule {
     @Override protected void configure() {
 
         bind(KeyPairStrategy.class).to(KeyPairPerCredentialStrategy.class);
-        bind(ComputeServiceFactory.class).to(SwordComputeServiceFactory.class);
+        bind(ComputeServiceFactory.class).to(CachingComputeServiceFactory.class);
+        bind(ComputeServiceCache.class).to(CachingComputeServiceFactory.class);
         bind(CloudService.class).to(DefaultCloudService.class);
     }
 
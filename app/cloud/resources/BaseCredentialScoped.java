@@ -69,6 +69,14 @@ public abstract class BaseCredentialScoped implements CredentialScoped {
         return ret;
     }
 
+    @Override public String credentialUuid() {
+        return credential;
+    }
+
+    @Override public String cloudUuid() {
+        return cloud;
+    }
+
     @Override public String toString() {
         return MoreObjects.toStringHelper(this).add("cloud", cloud).add("credential", credential)
             .toString();
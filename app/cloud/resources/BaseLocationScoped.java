@@ -54,8 +54,8 @@ public abstract class BaseLocationScoped extends BaseCredentialScoped implements
     @Override public Optional<Location> location() {
         if (locationScoped.location().isPresent()) {
             return Optional
-                .of(new LocationInCloud(locationScoped.location().get(), cloud().getUuid(),
-                    credential().getUuid(), cloudModelService, cloudCredentialModelService));
+                .of(new LocationInCloud(locationScoped.location().get(), cloudUuid(),
+                    credentialUuid(), cloudModelService, cloudCredentialModelService));
         }
         return Optional.empty();
     }
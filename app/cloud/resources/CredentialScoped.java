@@ -26,4 +26,14 @@ import models.CloudCredential;
 public interface CredentialScoped extends CloudScoped {
 
     CloudCredential credential();
+
+    /**
+     * @return the uuid of the {@link #credential()}, available without database access.
+     */
+    String credentialUuid();
+
+    /**
+     * @return the uuid of the {@link #cloud()}, available without database access.
+     */
+    String cloudUuid();
 }
@@ -50,7 +50,7 @@ public class KeyPairInCloud extends BaseCredentialScoped implements KeyPair {
     }
 
     @Override public String id() {
-        return SlashEncodedId.of(credential(), cloud(), keyPair).userId();
+        return SlashEncodedId.of(credentialUuid(), cloudUuid(), keyPair).userId();
     }
 
     @Override public String providerId() {
@@ -62,10 +62,10 @@ public class KeyPairInCloud extends BaseCredentialScoped implements KeyPair {
     }
 
     @Override public String cloudId() {
-        return SlashEncodedId.of(credential(), cloud(), keyPair).cloudId();
+        return SlashEncodedId.of(credentialUuid(), cloudUuid(), keyPair).cloudId();
     }
 
     @Override public String swordId() {
-        return SlashEncodedId.of(credential(), cloud(), keyPair).swordId();
+        return SlashEncodedId.of(credentialUuid(), cloudUuid(), keyPair).swordId();
     }
 }
@@ -64,14 +64,14 @@ public class LocationInCloud extends BaseCredentialScoped implements Location {
 
     @Override public Optional<Location> parent() {
         if (location.parent().isPresent()) {
-            return Optional.of(new LocationInCloud(location.parent().get(), cloud().getUuid(),
-                credential().getUuid(), cloudModelService, cloudCredentialModelService));
+            return Optional.of(new LocationInCloud(location.parent().get(), cloudUuid(),
+                credentialUuid(), cloudModelService, cloudCredentialModelService));
         }
         return Optional.empty();
     }
 
     @Override public String id() {
-        return SlashEncodedId.of(credential(), cloud(), location).userId();
+        return SlashEncodedId.of(credentialUuid(), cloudUuid(), location).userId();
     }
 
     @Override public String providerId() {
@@ -83,11 +83,11 @@ public class LocationInCloud extends BaseCredentialScoped implements Location {
     }
 
     @Override public String cloudId() {
-        return SlashEncodedId.of(credential(), cloud(), location).cloudId();
+        return SlashEncodedId.of(credentialUuid(), cloudUuid(), location).cloudId();
     }
 
     @Override public String swordId() {
-        return SlashEncodedId.of(credential(), cloud(), location).swordId();
+        return SlashEncodedId.of(credentialUuid(), cloudUuid(), location).swordId();
     }
 
     @Override public String toString() {
@@ -48,7 +48,7 @@ public abstract class ResourceWithCredential extends BaseLocationScoped implemen
     }
 
     @Override public String id() {
-        return SlashEncodedId.of(credential(), cloud(), resource).userId();
+        return SlashEncodedId.of(credentialUuid(), cloudUuid(), resource).userId();
     }
 
     @Override public String providerId() {
@@ -56,7 +56,7 @@ public abstract class ResourceWithCredential extends BaseLocationScoped implemen
     }
 
     @Override public String cloudId() {
-        return SlashEncodedId.of(credential(), cloud(), resource).cloudId();
+        return SlashEncodedId.of(credentialUuid(), cloudUuid(), resource).cloudId();
     }
 
     @Override public String name() {
@@ -64,7 +64,7 @@ public abstract class ResourceWithCredential extends BaseLocationScoped implemen
     }
 
     @Override public String swordId() {
-        return SlashEncodedId.of(credential(), cloud(), resource).swordId();
+        return SlashEncodedId.of(credentialUuid(), cloudUuid(), resource).swordId();
     }
 
     @Override public String toString() {
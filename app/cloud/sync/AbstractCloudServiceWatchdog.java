@@ -21,31 +21,59 @@ package cloud.sync;
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
 
+import java.util.Optional;
 import java.util.Set;
 
 import cloud.CloudService;
+import cloud.resources.CredentialScoped;
 import components.execution.SimpleBlockingQueue;
+import play.Configuration;
 
 
 
 /**
  * Created by daniel on 27.04.15.
  */
-public abstract class AbstractCloudServiceWatchdog<T> extends AbstractWatchDog<T> {
+public abstract class AbstractCloudServiceWatchdog<T extends CredentialScoped>
+    extends AbstractWatchDog<T> {
 
     private final CloudService cloudService;
+    private final SyncSnapshot<T> snapshot;
+    private final int batchSize;
 
     @Inject protected AbstractCloudServiceWatchdog(
         @Named(value = "problemQueue") SimpleBlockingQueue<Problem> problemQueue,
         Set<ProblemDetector<T>> problemDetectors, CloudService cloudService) {
         super(problemQueue, problemDetectors);
         this.cloudService = cloudService;
+        this.snapshot =
+            new SyncSnapshot<>(CredentialScoped::credentialUuid, CredentialScoped::cloudId,
+                this::fingerprint,
+                Configuration.root().getInt("colosseum.cloud.sync.fullSyncInterval", 30));
+        this.batchSize = Configuration.root().getInt("colosseum.cloud.sync.batchSize", 500);
     }
 
     protected final CloudService cloudService() {
         return cloudService;
     }
 
+    @Override protected final Optional<SyncSnapshot<T>> snapshot() {
+        return Optional.of(snapshot);
+    }
+
+    @Override protected int batchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Calculates a fingerprint of the remote resource. A changed fingerprint
+     * causes the resource to be checked again by the problem detectors.
+     *
+     * @param t the remote resource
+     * @return a fingerprint of the content of the resource.
+     */
+    protected abstract long fingerprint(T t);
+
 }
 
 
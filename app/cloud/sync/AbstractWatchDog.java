@@ -18,10 +18,13 @@
 
 package cloud.sync;
 
-import com.google.common.collect.Iterables;
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -37,6 +40,7 @@ import util.logging.Loggers;
 public abstract class AbstractWatchDog<T> implements Schedulable {
 
     private final static Logger.ALogger LOGGER = Loggers.of(Loggers.CLOUD_SYNC);
+    private static final int DEFAULT_BATCH_SIZE = 500;
     private final SimpleBlockingQueue<Problem> problemQueue;
     private final Set<ProblemDetector<T>> detectors;
 
@@ -51,25 +55,32 @@ public abstract class AbstractWatchDog<T> implements Schedulable {
 
         LOGGER.info(String.format("%s is starting watching.", this));
 
-        Iterable<T> toWatch = toWatch();
-
-        if (Iterables.size(toWatch) > 0) {
-            LOGGER
-                .debug(String.format("%s is watching %s entities.", this, Iterables.size(toWatch)));
-            for (T t : toWatch()) {
-                LOGGER.trace(String.format("%s is starting to watch %s", this, t));
-                for (ProblemDetector<T> problemDetector : detectors) {
-                    LOGGER.trace(String
-                        .format("%s is applying problem detector %s on %s", this, problemDetector,
-                            t));
-                    final Optional<Problem> problem = problemDetector.apply(t);
-                    if (problem.isPresent()) {
-                        LOGGER.debug(String.format("%s found problem %s, reporting to queue.", this,
-                            problem.get()));
-                        problemQueue.add(problem.get());
-                    }
-                }
+        final Optional<SyncSnapshot<T>.Pass> pass = snapshot().map(s -> s.begin());
+        final List<T> batch = new ArrayList<>(batchSize());
+
+        // the iterable may be a streamed discovery result, so it is only traversed once
+        int watched = 0;
+        for (T t : toWatch()) {
+            watched++;
+            if (pass.isPresent() && !pass.get().changed(t)) {
+                LOGGER.trace(String.format("%s skips unchanged %s", this, t));
+                continue;
+            }
+            batch.add(t);
+            if (batch.size() >= batchSize()) {
+                detect(batch, pass);
+                batch.clear();
             }
+        }
+        if (!batch.isEmpty()) {
+            detect(batch, pass);
+        }
+        if (pass.isPresent()) {
+            pass.get().complete();
+        }
+
+        if (watched > 0) {
+            LOGGER.debug(String.format("%s watched %s entities.", this, watched));
         } else {
             LOGGER.debug(String.format("%s has nothing to watch", this));
         }
@@ -77,11 +88,47 @@ public abstract class AbstractWatchDog<T> implements Schedulable {
         LOGGER.info(String.format("%s finished watching", this));
     }
 
+    private void detect(List<T> batch, Optional<SyncSnapshot<T>.Pass> pass) {
+        LOGGER.trace(String.format("%s is starting to watch %s entities", this, batch.size()));
+        final Set<T> withProblem = new HashSet<>();
+        for (ProblemDetector<T> problemDetector : detectors) {
+            LOGGER.trace(String
+                .format("%s is applying problem detector %s on %s entities", this,
+                    problemDetector, batch.size()));
+            for (Map.Entry<T, Problem> problem : problemDetector.applyAll(batch).entrySet()) {
+                LOGGER.debug(String
+                    .format("%s found problem %s, reporting to queue.", this, problem.getValue()));
+                problemQueue.add(problem.getValue());
+                withProblem.add(problem.getKey());
+            }
+        }
+        if (pass.isPresent()) {
+            batch.stream().filter(t -> !withProblem.contains(t)).forEach(pass.get()::synced);
+        }
+    }
+
     /**
      * @return a iterable of objects to watch.
      */
     protected abstract Iterable<T> toWatch();
 
+    /**
+     * Extension point for an incremental watchdog. If a snapshot is present,
+     * problem detectors are only applied on objects that changed since the last pass.
+     *
+     * @return an {@link Optional} snapshot of the objects found in sync.
+     */
+    protected Optional<SyncSnapshot<T>> snapshot() {
+        return Optional.empty();
+    }
+
+    /**
+     * @return the number of objects passed at once to the problem detectors.
+     */
+    protected int batchSize() {
+        return DEFAULT_BATCH_SIZE;
+    }
+
 
 
 }
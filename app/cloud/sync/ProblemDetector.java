@@ -18,6 +18,9 @@
 
 package cloud.sync;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -25,4 +28,21 @@ import java.util.function.Function;
  * Created by daniel on 04.11.15.
  */
 public interface ProblemDetector<T> extends Function<T, Optional<Problem>> {
+
+    /**
+     * Applies the detector on a batch of objects.
+     * <p>
+     * The default implementation applies the detector on each object. Detectors
+     * needing external lookups should override it to resolve the batch at once.
+     *
+     * @param ts the batch of objects.
+     * @return the problems found, mapped by the object. Objects without problem are absent.
+     */
+    default Map<T, Problem> applyAll(Collection<T> ts) {
+        Map<T, Problem> problems = new HashMap<>();
+        for (T t : ts) {
+            apply(t).ifPresent(problem -> problems.put(t, problem));
+        }
+        return problems;
+    }
 }
@@ -20,6 +20,8 @@ package cloud.sync;
 
 import com.google.inject.Singleton;
 
+import java.util.Collection;
+
 import components.execution.SimpleBlockingQueue;
 import components.execution.SimpleFifoPriorityBlockingQueue;
 import components.execution.UniqueBlockingQueue;
@@ -44,4 +46,8 @@ import components.execution.UniqueBlockingQueue;
     @Override public Problem take() throws InterruptedException {
         return this.problemsToSolve.take();
     }
+
+    @Override public int drainTo(Collection<? super Problem> collection, int maxElements) {
+        return this.problemsToSolve.drainTo(collection, maxElements);
+    }
 }
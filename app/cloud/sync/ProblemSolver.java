@@ -21,55 +21,117 @@ package cloud.sync;
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import components.execution.Loop;
+import components.execution.Prioritized;
 import components.execution.SimpleBlockingQueue;
+import play.Configuration;
 import play.Logger;
-import play.db.jpa.Transactional;
+import play.db.jpa.JPAApi;
 import util.logging.Loggers;
 
 /**
  * Created by daniel on 05.05.15.
+ * <p>
+ * Solves the problems in batches. All problems waiting in the queue (up to the
+ * batch size) are grouped by their solution and each group is solved at once,
+ * in a transaction of its own. Groups containing problems of higher priority
+ * are solved first, as e.g. hardware and images refer to their location. If a
+ * group fails, its problems are solved one by one.
  */
 public class ProblemSolver implements Runnable {
 
     private final SolutionDatabase solutionDatabase;
     private final SimpleBlockingQueue<Problem> problemQueue;
+    private final JPAApi jpaApi;
+    private final int batchSize;
     private static final Logger.ALogger LOGGER = Loggers.of(Loggers.CLOUD_SYNC);
 
     @Inject public ProblemSolver(SolutionDatabase solutionDatabase,
-        @Named(value = "problemQueue") SimpleBlockingQueue<Problem> problemQueue) {
+        @Named(value = "problemQueue") SimpleBlockingQueue<Problem> problemQueue, JPAApi jpaApi) {
         this.solutionDatabase = solutionDatabase;
         this.problemQueue = problemQueue;
+        this.jpaApi = jpaApi;
+        this.batchSize =
+            Math.max(1, Configuration.root().getInt("colosseum.cloud.sync.solver.batchSize", 200));
     }
 
-    @Transactional @Loop @Override public void run() {
+    @Loop @Override public void run() {
 
-        Problem problemToSolve = null;
+        final List<Problem> problemsToSolve = new ArrayList<>();
         try {
-            problemToSolve = this.problemQueue.take();
-            LOGGER.debug(String.format("%s starting to process problem %s", this, problemToSolve));
+            problemsToSolve.add(this.problemQueue.take());
+            this.problemQueue.drainTo(problemsToSolve, batchSize - 1);
+            LOGGER.debug(
+                String.format("%s starting to process %s problems", this, problemsToSolve.size()));
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
 
-        if (problemToSolve != null) {
+        final Map<Solution, List<Problem>> problemsBySolution = new LinkedHashMap<>();
+        for (Problem problem : problemsToSolve) {
             try {
-                final Solution solution = this.solutionDatabase.getSolution(problemToSolve);
-                LOGGER.debug(
-                    String.format("Found solution %s for problem %s", solution, problemToSolve));
-                solution.applyTo(problemToSolve);
-                LOGGER.debug(
-                    String.format("Solved problem %s using solution %s", problemToSolve, solution));
+                problemsBySolution
+                    .computeIfAbsent(this.solutionDatabase.getSolution(problem),
+                        solution -> new ArrayList<>()).add(problem);
             } catch (SolutionNotFoundException e) {
                 throw new IllegalStateException(e);
-            } catch (SolutionException e) {
-                LOGGER.warn("Could not solve problem " + problemToSolve, e);
-            } catch (Exception e) {
-                LOGGER.error(String
-                        .format("Unexpected exception during solving of problem %s", problemToSolve),
-                    e);
             }
         }
+
+        final List<Map.Entry<Solution, List<Problem>>> groups =
+            new ArrayList<>(problemsBySolution.entrySet());
+        groups.sort(Comparator
+            .comparingInt((Map.Entry<Solution, List<Problem>> entry) -> priority(entry.getValue()))
+            .reversed());
+
+        for (Map.Entry<Solution, List<Problem>> entry : groups) {
+            final Solution solution = entry.getKey();
+            final List<Problem> problems = entry.getValue();
+            if (!solveInTransaction(solution, problems) && problems.size() > 1) {
+                LOGGER.warn(String.format("Solving %s problems one by one using solution %s",
+                    problems.size(), solution));
+                problems.forEach(
+                    problem -> solveInTransaction(solution, Collections.singletonList(problem)));
+            }
+        }
+    }
+
+    /**
+     * @return false if the transaction was rolled back.
+     */
+    private boolean solveInTransaction(Solution solution, List<Problem> problems) {
+        try {
+            jpaApi.withTransaction(() -> {
+                solve(solution, problems);
+            });
+            return true;
+        } catch (Exception e) {
+            LOGGER.error(String
+                .format("Unexpected exception during solving of problems %s using solution %s",
+                    problems, solution), e);
+            return false;
+        }
+    }
+
+    private void solve(Solution solution, List<Problem> problems) {
+        LOGGER.debug(
+            String.format("Found solution %s for %s problems", solution, problems.size()));
+        final Map<Problem, SolutionException> failures = solution.applyToAll(problems);
+        failures.forEach((problem, e) -> LOGGER.warn("Could not solve problem " + problem, e));
+        LOGGER.debug(String.format("Solved %s problems using solution %s",
+            problems.size() - failures.size(), solution));
+    }
+
+    private static int priority(List<Problem> problems) {
+        return problems.stream().mapToInt(Problem::getPriority).max()
+            .orElse(Prioritized.Priority.LOW);
     }
 
     @Override public String toString() {
@@ -18,6 +18,10 @@
 
 package cloud.sync;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Created by daniel on 04.05.15.
  */
@@ -27,4 +31,25 @@ public interface Solution {
 
     void applyTo(Problem problem) throws SolutionException;
 
+    /**
+     * Applies the solution to a batch of problems.
+     * <p>
+     * The default implementation applies the solution to each problem. Solutions
+     * importing resources should override it to resolve lookups and flush the batch at once.
+     *
+     * @param problems the problems to solve, all accepted by {@link #isSolutionFor(Problem)}.
+     * @return the problems that could not be solved, mapped to the reason.
+     */
+    default Map<Problem, SolutionException> applyToAll(Collection<Problem> problems) {
+        Map<Problem, SolutionException> failures = new LinkedHashMap<>();
+        for (Problem problem : problems) {
+            try {
+                applyTo(problem);
+            } catch (SolutionException e) {
+                failures.put(problem, e);
+            }
+        }
+        return failures;
+    }
+
 }
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2014-2016 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package cloud.sync;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import play.Logger;
+import util.logging.Loggers;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Remembers the remote resources that were found to be in sync during the
+ * last watchdog pass, together with a fingerprint of their content.
+ * <p>
+ * The snapshot is kept per scope (the cloud credential). A {@link Pass} compares
+ * the resources seen in the current pass against the snapshot, allowing the watchdog
+ * to only apply its problem detectors on added or changed resources.
+ * <p>
+ * Only resources reported as {@link Pass#synced(Object)} enter the next snapshot, so
+ * resources with a detected (and maybe unsolved) problem are checked again in the next
+ * pass. Every {@code fullSyncInterval} passes, a full pass treats all resources as changed,
+ * picking up changes in the database not caused by the sync itself.
+ *
+ * @param <T> the type of the watched resources.
+ */
+public class SyncSnapshot<T> {
+
+    private static final Logger.ALogger LOGGER = Loggers.of(Loggers.CLOUD_SYNC);
+
+    private final Function<T, String> scope;
+    private final Function<T, String> id;
+    private final Function<T, Long> fingerprint;
+    private final int fullSyncInterval;
+
+    private final Map<String, Map<String, Long>> snapshots;
+    private int passes;
+
+    /**
+     * @param scope            function returning the scope (e.g. the credential) of a resource.
+     * @param id               function returning the unique id of a resource.
+     * @param fingerprint      function returning a fingerprint of the content of a resource.
+     * @param fullSyncInterval every n-th pass is a full pass. 1 disables the incremental sync.
+     */
+    public SyncSnapshot(Function<T, String> scope, Function<T, String> id,
+        Function<T, Long> fingerprint, int fullSyncInterval) {
+
+        checkNotNull(scope);
+        checkNotNull(id);
+        checkNotNull(fingerprint);
+        checkArgument(fullSyncInterval > 0, "fullSyncInterval must be positive.");
+
+        this.scope = scope;
+        this.id = id;
+        this.fingerprint = fingerprint;
+        this.fullSyncInterval = fullSyncInterval;
+        this.snapshots = new ConcurrentHashMap<>();
+        this.passes = 0;
+    }
+
+    /**
+     * Starts a new pass.
+     *
+     * @return the new pass.
+     */
+    public synchronized Pass begin() {
+        final boolean full = passes % fullSyncInterval == 0;
+        passes++;
+        return new Pass(full);
+    }
+
+    public class Pass {
+
+        private final boolean full;
+        private final Map<String, Map<String, Long>> seen;
+        private final Map<String, Map<String, Long>> synced;
+        private boolean completed;
+        private int added;
+        private int changed;
+        private int unchanged;
+
+        private Pass(boolean full) {
+            this.full = full;
+            this.seen = new HashMap<>();
+            this.synced = new HashMap<>();
+            this.completed = false;
+        }
+
+        /**
+         * Checks if the resource was added or changed since the last snapshot.
+         * Unchanged resources are directly taken over into the next snapshot.
+         *
+         * @param t the resource seen in this pass.
+         * @return true if the resource needs to be checked, false if it is unchanged.
+         * Always true during a full pass.
+         */
+        public boolean changed(T t) {
+            checkState(!completed, "Pass was already completed.");
+
+            final String tScope = scope.apply(t);
+            final String tId = id.apply(t);
+            final Long tFingerprint = fingerprint.apply(t);
+            seen.computeIfAbsent(tScope, s -> new HashMap<>()).put(tId, tFingerprint);
+
+            final Long previous =
+                snapshots.getOrDefault(tScope, Collections.emptyMap()).get(tId);
+            if (previous == null) {
+                added++;
+                return true;
+            }
+            if (!previous.equals(tFingerprint)) {
+                changed++;
+                return true;
+            }
+            unchanged++;
+            if (full) {
+                return true;
+            }
+            synced.computeIfAbsent(tScope, s -> new HashMap<>()).put(tId, tFingerprint);
+            return false;
+        }
+
+        /**
+         * Marks a resource checked during this pass as in sync.
+         *
+         * @param t the resource, previously passed to {@link #changed(Object)}.
+         */
+        public void synced(T t) {
+            checkState(!completed, "Pass was already completed.");
+
+            final String tScope = scope.apply(t);
+            final String tId = id.apply(t);
+            final Long tFingerprint = seen.getOrDefault(tScope, Collections.emptyMap()).get(tId);
+            checkArgument(tFingerprint != null, String.format("%s was not seen in this pass.", t));
+            synced.computeIfAbsent(tScope, s -> new HashMap<>()).put(tId, tFingerprint);
+        }
+
+        /**
+         * Completes the pass and replaces the snapshot of all scopes seen during the pass.
+         * <p>
+         * Scopes not seen (e.g. as the cloud did not answer) keep their old snapshot, except
+         * for full passes, where they are dropped.
+         */
+        public void complete() {
+            checkState(!completed, "Pass was already completed.");
+            completed = true;
+
+            int removed = 0;
+            for (Map.Entry<String, Map<String, Long>> entry : seen.entrySet()) {
+                for (String previousId : snapshots
+                    .getOrDefault(entry.getKey(), Collections.emptyMap()).keySet()) {
+                    if (!entry.getValue().containsKey(previousId)) {
+                        removed++;
+                    }
+                }
+                snapshots.put(entry.getKey(),
+                    synced.getOrDefault(entry.getKey(), Collections.emptyMap()));
+            }
+            if (full) {
+                snapshots.keySet().retainAll(seen.keySet());
+            }
+
+            LOGGER.debug(String
+                .format("%s completed: %s added, %s changed, %s unchanged, %s removed.", this,
+                    added, changed, unchanged, removed));
+        }
+
+        @Override public String toString() {
+            return MoreObjects.toStringHelper(this).add("full", full).toString();
+        }
+    }
+}
@@ -20,7 +20,12 @@ package cloud.sync.detectors;
 
 import com.google.inject.Inject;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import cloud.resources.HardwareInLocation;
 import cloud.sync.Problem;
@@ -44,13 +49,24 @@ public class HardwareNotInDatabaseDetector implements ProblemDetector<HardwareIn
     }
 
     @Override public Optional<Problem> apply(HardwareInLocation hardwareInLocation) {
+        return Optional.ofNullable(
+            applyAll(Collections.singletonList(hardwareInLocation)).get(hardwareInLocation));
+    }
+
+    @Override
+    public Map<HardwareInLocation, Problem> applyAll(Collection<HardwareInLocation> batch) {
 
-        final Hardware hardware = hardwareModelService.getByRemoteId(hardwareInLocation.cloudId());
+        final Map<String, Hardware> hardwares = hardwareModelService.getByRemoteIds(
+            batch.stream().map(HardwareInLocation::cloudId).collect(Collectors.toSet()));
 
-        if (hardware == null || !hardware.cloudCredentials()
-            .contains(hardwareInLocation.credential())) {
-            return Optional.of(new HardwareProblems.HardwareNotInDatabase(hardwareInLocation));
+        final Map<HardwareInLocation, Problem> problems = new HashMap<>();
+        for (HardwareInLocation resource : batch) {
+            final Hardware hardware = hardwares.get(resource.cloudId());
+            if (hardware == null || hardware.cloudCredentials().stream()
+                .noneMatch(credential -> credential.getUuid().equals(resource.credentialUuid()))) {
+                problems.put(resource, new HardwareProblems.HardwareNotInDatabase(resource));
+            }
         }
-        return Optional.empty();
+        return problems;
     }
 }
@@ -20,7 +20,12 @@ package cloud.sync.detectors;
 
 import com.google.inject.Inject;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import cloud.resources.ImageInLocation;
 import cloud.sync.Problem;
@@ -41,11 +46,24 @@ public class ImageNotInDatabaseDetector implements ProblemDetector<ImageInLocati
     }
 
     @Override public Optional<Problem> apply(ImageInLocation imageInLocation) {
+        return Optional.ofNullable(
+            applyAll(Collections.singletonList(imageInLocation)).get(imageInLocation));
+    }
+
+    @Override
+    public Map<ImageInLocation, Problem> applyAll(Collection<ImageInLocation> batch) {
+
+        final Map<String, Image> images = imageModelService.getByRemoteIds(
+            batch.stream().map(ImageInLocation::cloudId).collect(Collectors.toSet()));
 
-        Image image = imageModelService.getByRemoteId(imageInLocation.cloudId());
-        if (image == null || !image.cloudCredentials().contains(imageInLocation.credential())) {
-            return Optional.of(new ImageProblems.ImageNotInDatabase(imageInLocation));
+        final Map<ImageInLocation, Problem> problems = new HashMap<>();
+        for (ImageInLocation resource : batch) {
+            final Image image = images.get(resource.cloudId());
+            if (image == null || image.cloudCredentials().stream()
+                .noneMatch(credential -> credential.getUuid().equals(resource.credentialUuid()))) {
+                problems.put(resource, new ImageProblems.ImageNotInDatabase(resource));
+            }
         }
-        return Optional.empty();
+        return problems;
     }
 }
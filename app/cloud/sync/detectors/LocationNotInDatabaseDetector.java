@@ -20,7 +20,12 @@ package cloud.sync.detectors;
 
 import com.google.inject.Inject;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import cloud.resources.LocationInCloud;
 import cloud.sync.Problem;
@@ -41,11 +46,24 @@ public class LocationNotInDatabaseDetector implements ProblemDetector<LocationIn
     }
 
     @Override public Optional<Problem> apply(LocationInCloud locationInCloud) {
-        Location location = locationModelService.getByRemoteId(locationInCloud.cloudId());
-        if (location == null || !location.cloudCredentials()
-            .contains(locationInCloud.credential())) {
-            return Optional.of(new LocationProblems.LocationNotInDatabase(locationInCloud));
+        return Optional.ofNullable(
+            applyAll(Collections.singletonList(locationInCloud)).get(locationInCloud));
+    }
+
+    @Override
+    public Map<LocationInCloud, Problem> applyAll(Collection<LocationInCloud> batch) {
+
+        final Map<String, Location> locations = locationModelService.getByRemoteIds(
+            batch.stream().map(LocationInCloud::cloudId).collect(Collectors.toSet()));
+
+        final Map<LocationInCloud, Problem> problems = new HashMap<>();
+        for (LocationInCloud resource : batch) {
+            final Location location = locations.get(resource.cloudId());
+            if (location == null || location.cloudCredentials().stream()
+                .noneMatch(credential -> credential.getUuid().equals(resource.credentialUuid()))) {
+                problems.put(resource, new LocationProblems.LocationNotInDatabase(resource));
+            }
         }
-        return Optional.empty();
+        return problems;
     }
 }
@@ -20,14 +20,26 @@ package cloud.sync.solutions;
 
 import com.google.inject.Inject;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import javax.annotation.Nullable;
 
 import cloud.SlashEncodedId;
+import cloud.resources.HardwareInLocation;
 import cloud.sync.Problem;
 import cloud.sync.Solution;
 import cloud.sync.SolutionException;
 import cloud.sync.problems.HardwareProblems;
 import models.Cloud;
+import models.CloudCredential;
 import models.Hardware;
 import models.HardwareOffer;
 import models.Location;
@@ -60,62 +72,127 @@ public class ImportHardwareToDatabase implements Solution {
 
     @Override public void applyTo(Problem problem) throws SolutionException {
         checkArgument(isSolutionFor(problem));
+        SolutionException failure =
+            applyToAll(Collections.singletonList(problem)).get(problem);
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override public Map<Problem, SolutionException> applyToAll(Collection<Problem> problems) {
+        problems.forEach(problem -> checkArgument(isSolutionFor(problem)));
+
+        final Set<String> hardwareIds = new HashSet<>();
+        final Set<String> locationIds = new HashSet<>();
+        for (Problem problem : problems) {
+            HardwareInLocation hardwareInLocation =
+                ((HardwareProblems.HardwareNotInDatabase) problem).getHardwareInLocation();
+            hardwareIds.add(hardwareInLocation.cloudId());
+            hardwareInLocation.location().ifPresent(
+                location -> locationIds.add(SlashEncodedId.of(location.id()).cloudId()));
+        }
+        final Map<String, Hardware> existingHardware =
+            hardwareModelService.getByRemoteIds(hardwareIds);
+        final Map<String, Location> locations = locationModelService.getByRemoteIds(locationIds);
+        final HardwareOffers hardwareOffers =
+            new HardwareOffers(hardwareOfferModelService.getAll());
+
+        final Map<String, Cloud> clouds = new HashMap<>();
+        final Map<String, CloudCredential> credentials = new HashMap<>();
+        final Set<String> importedIds = new HashSet<>();
+        final List<Hardware> newHardware = new ArrayList<>();
+        final Map<Problem, SolutionException> failures = new LinkedHashMap<>();
+
+        for (Problem problem : problems) {
+            final HardwareInLocation hardwareInLocation =
+                ((HardwareProblems.HardwareNotInDatabase) problem).getHardwareInLocation();
+
+            Hardware hardware = existingHardware.get(hardwareInLocation.cloudId());
+            if (hardware != null) {
+                hardware.addCloudCredential(credentials
+                    .computeIfAbsent(hardwareInLocation.credentialUuid(),
+                        uuid -> hardwareInLocation.credential()));
+                continue;
+            }
+            if (!importedIds.add(hardwareInLocation.cloudId())) {
+                //already imported by this batch, the credential is added on the next sync
+                continue;
+            }
+
+            Location location = null;
+            if (hardwareInLocation.location().isPresent()) {
+                location = locations
+                    .get(SlashEncodedId.of(hardwareInLocation.location().get().id()).cloudId());
+                if (location == null) {
+                    failures.put(problem, new SolutionException(String.format(
+                        "Could not import hardware %s as location %s is not (yet) imported.",
+                        hardwareInLocation, hardwareInLocation.location().get())));
+                    continue;
+                }
+            }
 
-        HardwareProblems.HardwareNotInDatabase hardwareNotInDatabase =
-            (HardwareProblems.HardwareNotInDatabase) problem;
+            Cloud cloud = clouds.computeIfAbsent(hardwareInLocation.cloudUuid(),
+                uuid -> hardwareInLocation.cloud());
 
-        Hardware existingHardware = hardwareModelService.getByRemoteId(
-            SlashEncodedId.of(hardwareNotInDatabase.getHardwareInLocation().id()).cloudId());
-        if (existingHardware != null) {
-            existingHardware
-                .addCloudCredential(hardwareNotInDatabase.getHardwareInLocation().credential());
-            return;
+            //todo check this
+            newHardware.add(new Hardware(hardwareInLocation.cloudId(),
+                hardwareInLocation.providerId(), hardwareInLocation.swordId(), cloud, location,
+                hardwareInLocation.name(), hardwareOffers
+                .get(hardwareInLocation.numberOfCores(), hardwareInLocation.mbRam(),
+                    hardwareInLocation.gbDisk())));
         }
 
-        Cloud cloud = hardwareNotInDatabase.getHardwareInLocation().cloud();
-        Location location = null;
-        if (hardwareNotInDatabase.getHardwareInLocation().location().isPresent()) {
-            location = locationModelService.getByRemoteId(SlashEncodedId
-                .of(hardwareNotInDatabase.getHardwareInLocation().location().get().id()).cloudId());
-            if (location == null) {
-                throw new SolutionException(String
-                    .format("Could not import hardware %s as location %s is not (yet) imported.",
-                        hardwareNotInDatabase.getHardwareInLocation(),
-                        hardwareNotInDatabase.getHardwareInLocation().location().get()));
+        hardwareOfferModelService.saveAll(hardwareOffers.created());
+        hardwareModelService.saveAll(newHardware);
+        return failures;
+    }
+
+    /**
+     * Lookup of the hardware offers, loaded once per batch.
+     * <p>
+     * Missing offers are created, but not saved.
+     */
+    private static class HardwareOffers {
+
+        private final Map<String, List<HardwareOffer>> offers = new HashMap<>();
+        private final List<HardwareOffer> created = new ArrayList<>();
+
+        private HardwareOffers(Iterable<HardwareOffer> hardwareOffers) {
+            for (HardwareOffer hardwareOffer : hardwareOffers) {
+                add(hardwareOffer);
             }
         }
 
-        //todo check this
-        Hardware hardware = new Hardware(hardwareNotInDatabase.getHardwareInLocation().cloudId(),
-            hardwareNotInDatabase.getHardwareInLocation().providerId(),
-            hardwareNotInDatabase.getHardwareInLocation().swordId(), cloud, location,
-            hardwareNotInDatabase.getHardwareInLocation().name(),
-            getHardwareOffer(hardwareNotInDatabase.getHardwareInLocation().numberOfCores(),
-                hardwareNotInDatabase.getHardwareInLocation().mbRam(),
-                hardwareNotInDatabase.getHardwareInLocation().gbDisk()));
+        private static String key(Integer numberOfCores, Long mbOfRam) {
+            return numberOfCores + "/" + mbOfRam;
+        }
 
-        hardwareModelService.save(hardware);
+        private void add(HardwareOffer hardwareOffer) {
+            offers.computeIfAbsent(
+                key(hardwareOffer.getNumberOfCores(), hardwareOffer.getMbOfRam()),
+                key -> new ArrayList<>()).add(hardwareOffer);
+        }
 
-    }
+        private HardwareOffer get(Integer numberOfCores, Long mbOfRam,
+            @Nullable Float localDiskSpace) {
 
-    private HardwareOffer getHardwareOffer(Integer numberOfCores, Long mbOfRam,
-        @Nullable Float localDiskSpace) {
-
-        for (HardwareOffer hardwareOffer : hardwareOfferModelService.getAll()) {
-            if (hardwareOffer.getNumberOfCores().equals(numberOfCores)) {
-                if (hardwareOffer.getMbOfRam().equals(mbOfRam)) {
-                    //todo: check if this disk space comparison is ok, or if we need to consider disk space
-                    if (localDiskSpace == null || localDiskSpace
-                        .equals(hardwareOffer.getLocalDiskSpace())) {
-                        return hardwareOffer;
-                    }
+            for (HardwareOffer hardwareOffer : offers
+                .getOrDefault(key(numberOfCores, mbOfRam), Collections.emptyList())) {
+                //todo: check if this disk space comparison is ok, or if we need to consider disk space
+                if (localDiskSpace == null || localDiskSpace
+                    .equals(hardwareOffer.getLocalDiskSpace())) {
+                    return hardwareOffer;
                 }
             }
-        }
 
-        HardwareOffer hardwareOffer = new HardwareOffer(numberOfCores, mbOfRam, localDiskSpace);
-        this.hardwareOfferModelService.save(hardwareOffer);
+            HardwareOffer hardwareOffer = new HardwareOffer(numberOfCores, mbOfRam, localDiskSpace);
+            add(hardwareOffer);
+            created.add(hardwareOffer);
+            return hardwareOffer;
+        }
 
-        return hardwareOffer;
+        private List<HardwareOffer> created() {
+            return created;
+        }
     }
 }
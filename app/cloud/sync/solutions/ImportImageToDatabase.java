@@ -19,12 +19,14 @@
 package cloud.sync.solutions;
 
 import cloud.SlashEncodedId;
+import cloud.resources.ImageInLocation;
 import cloud.sync.Problem;
 import cloud.sync.Solution;
 import cloud.sync.SolutionException;
 import cloud.sync.problems.ImageProblems;
 import com.google.inject.Inject;
 import models.Cloud;
+import models.CloudCredential;
 import models.Image;
 import models.Location;
 import models.OperatingSystem;
@@ -32,6 +34,16 @@ import models.service.ImageModelService;
 import models.service.LocationModelService;
 import models.service.OperatingSystemService;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import static com.google.common.base.Preconditions.checkArgument;
 
 /**
@@ -56,44 +68,82 @@ public class ImportImageToDatabase implements Solution {
 
     @Override public void applyTo(Problem problem) throws SolutionException {
         checkArgument(isSolutionFor(problem));
+        SolutionException failure =
+            applyToAll(Collections.singletonList(problem)).get(problem);
+        if (failure != null) {
+            throw failure;
+        }
+    }
 
-        ImageProblems.ImageNotInDatabase imageNotInDatabase =
-            (ImageProblems.ImageNotInDatabase) problem;
+    @Override public Map<Problem, SolutionException> applyToAll(Collection<Problem> problems) {
+        problems.forEach(problem -> checkArgument(isSolutionFor(problem)));
 
-        Image existingImage = imageModelService.getByRemoteId(
-            SlashEncodedId.of(imageNotInDatabase.getImageInLocation().id()).cloudId());
-        if (existingImage != null) {
-            existingImage.addCloudCredential(imageNotInDatabase.getImageInLocation().credential());
-            return;
+        final Set<String> imageIds = new HashSet<>();
+        final Set<String> locationIds = new HashSet<>();
+        for (Problem problem : problems) {
+            ImageInLocation imageInLocation =
+                ((ImageProblems.ImageNotInDatabase) problem).getImageInLocation();
+            imageIds.add(imageInLocation.cloudId());
+            imageInLocation.location().ifPresent(
+                location -> locationIds.add(SlashEncodedId.of(location.id()).cloudId()));
         }
+        final Map<String, Image> existingImages = imageModelService.getByRemoteIds(imageIds);
+        final Map<String, Location> locations = locationModelService.getByRemoteIds(locationIds);
 
-        Cloud cloud = imageNotInDatabase.getImageInLocation().cloud();
-        if (cloud == null) {
-            throw new SolutionException();
-        }
-        Location location = null;
-        if (imageNotInDatabase.getImageInLocation().location().isPresent()) {
-            location = locationModelService.getByRemoteId(
-                SlashEncodedId.of(imageNotInDatabase.getImageInLocation().location().get().id())
-                    .cloudId());
-            if (location == null) {
-                throw new SolutionException(String
-                    .format("Could not import image %s as location %s is not (yet) imported.",
-                        imageNotInDatabase.getImageInLocation(),
-                        imageNotInDatabase.getImageInLocation().location().get()));
+        final Map<String, Cloud> clouds = new HashMap<>();
+        final Map<String, CloudCredential> credentials = new HashMap<>();
+        final Set<String> importedIds = new HashSet<>();
+        final List<OperatingSystem> newOperatingSystems = new ArrayList<>();
+        final List<Image> newImages = new ArrayList<>();
+        final Map<Problem, SolutionException> failures = new LinkedHashMap<>();
+
+        for (Problem problem : problems) {
+            final ImageInLocation imageInLocation =
+                ((ImageProblems.ImageNotInDatabase) problem).getImageInLocation();
+
+            Image existingImage = existingImages.get(imageInLocation.cloudId());
+            if (existingImage != null) {
+                existingImage.addCloudCredential(credentials
+                    .computeIfAbsent(imageInLocation.credentialUuid(),
+                        uuid -> imageInLocation.credential()));
+                continue;
             }
+            if (!importedIds.add(imageInLocation.cloudId())) {
+                //already imported by this batch, the credential is added on the next sync
+                continue;
+            }
+
+            Cloud cloud = clouds
+                .computeIfAbsent(imageInLocation.cloudUuid(), uuid -> imageInLocation.cloud());
+            if (cloud == null) {
+                failures.put(problem, new SolutionException());
+                continue;
+            }
+            Location location = null;
+            if (imageInLocation.location().isPresent()) {
+                location = locations
+                    .get(SlashEncodedId.of(imageInLocation.location().get().id()).cloudId());
+                if (location == null) {
+                    failures.put(problem, new SolutionException(String
+                        .format("Could not import image %s as location %s is not (yet) imported.",
+                            imageInLocation, imageInLocation.location().get())));
+                    continue;
+                }
+            }
+
+            //todo: what to do with images that do not have an operating system?
+            OperatingSystem operatingSystem =
+                new OperatingSystem(imageInLocation.operatingSystem());
+            newOperatingSystems.add(operatingSystem);
+
+            //todo check this
+            newImages.add(new Image(imageInLocation.cloudId(), imageInLocation.providerId(),
+                imageInLocation.swordId(), cloud, location, imageInLocation.name(),
+                operatingSystem, null, null));
         }
 
-        //todo: what to do with images that do not have an operating system?
-        OperatingSystem operatingSystem =
-            new OperatingSystem(imageNotInDatabase.getImageInLocation().operatingSystem());
-        operatingSystemService.save(operatingSystem);
-
-        //todo check this
-        Image image = new Image(imageNotInDatabase.getImageInLocation().cloudId(),
-            imageNotInDatabase.getImageInLocation().providerId(),
-            imageNotInDatabase.getImageInLocation().swordId(), cloud, location,
-            imageNotInDatabase.getImageInLocation().name(), operatingSystem, null, null);
-        imageModelService.save(image);
+        operatingSystemService.saveAll(newOperatingSystems);
+        imageModelService.saveAll(newImages);
+        return failures;
     }
 }
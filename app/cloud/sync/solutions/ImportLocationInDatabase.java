@@ -18,15 +18,28 @@
 
 package cloud.sync.solutions;
 
-import com.google.common.base.Optional;
 import com.google.inject.Inject;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import cloud.SlashEncodedId;
+import cloud.resources.LocationInCloud;
 import cloud.sync.Problem;
 import cloud.sync.Solution;
 import cloud.sync.SolutionException;
 import cloud.sync.problems.LocationProblems;
 import models.Cloud;
+import models.CloudCredential;
 import models.Location;
 import models.service.LocationModelService;
 
@@ -49,42 +62,79 @@ public class ImportLocationInDatabase implements Solution {
 
     @Override public void applyTo(Problem problem) throws SolutionException {
         checkArgument(isSolutionFor(problem));
-        LocationProblems.LocationNotInDatabase locationNotInDatabase =
-            (LocationProblems.LocationNotInDatabase) problem;
-
-        Location existingLocation = locationModelService.getByRemoteId(
-            SlashEncodedId.of(locationNotInDatabase.getLocationInCloud().id()).cloudId());
-        if (existingLocation != null) {
-            existingLocation
-                .addCloudCredential(locationNotInDatabase.getLocationInCloud().credential());
-            return;
+        SolutionException failure =
+            applyToAll(Collections.singletonList(problem)).get(problem);
+        if (failure != null) {
+            throw failure;
         }
+    }
 
-        Cloud cloud = locationNotInDatabase.getLocationInCloud().cloud();
-        Optional<Location> parent;
-        if (locationNotInDatabase.getLocationInCloud().parent().isPresent()) {
-            parent = Optional.fromNullable(locationModelService.getByRemoteId(
-                SlashEncodedId.of(locationNotInDatabase.getLocationInCloud().parent().get().id())
-                    .cloudId()));
-            if (!parent.isPresent()) {
-                throw new SolutionException(String
-                    .format("Could not import %s as parent %s was not found.",
-                        locationNotInDatabase.getLocationInCloud(),
-                        locationNotInDatabase.getLocationInCloud().parent().get()));
-            }
-        } else {
-            parent = Optional.absent();
+    @Override public Map<Problem, SolutionException> applyToAll(Collection<Problem> problems) {
+        problems.forEach(problem -> checkArgument(isSolutionFor(problem)));
+
+        //parents need to be imported before their children
+        final List<LocationProblems.LocationNotInDatabase> sorted =
+            problems.stream().map(problem -> (LocationProblems.LocationNotInDatabase) problem)
+                .sorted(Comparator.comparingInt(problem -> depth(problem.getLocationInCloud())))
+                .collect(Collectors.toList());
+
+        final Set<String> remoteIds = new HashSet<>();
+        for (LocationProblems.LocationNotInDatabase problem : sorted) {
+            remoteIds.add(problem.getLocationInCloud().cloudId());
+            problem.getLocationInCloud().parent()
+                .ifPresent(parent -> remoteIds.add(SlashEncodedId.of(parent.id()).cloudId()));
         }
+        final Map<String, Location> existingLocations =
+            locationModelService.getByRemoteIds(remoteIds);
+        final Map<String, Location> knownLocations = new HashMap<>(existingLocations);
 
-        Location location = new Location(locationNotInDatabase.getLocationInCloud().cloudId(),
-            locationNotInDatabase.getLocationInCloud().providerId(),
-            locationNotInDatabase.getLocationInCloud().swordId(), cloud,
-            locationNotInDatabase.getLocationInCloud().name(), null, parent.orNull(),
-            locationNotInDatabase.getLocationInCloud().locationScope(),
-            locationNotInDatabase.getLocationInCloud().isAssignable());
+        final Map<String, Cloud> clouds = new HashMap<>();
+        final Map<String, CloudCredential> credentials = new HashMap<>();
+        final List<Location> newLocations = new ArrayList<>();
+        final Map<Problem, SolutionException> failures = new LinkedHashMap<>();
 
-        this.locationModelService.save(location);
-    }
+        for (LocationProblems.LocationNotInDatabase problem : sorted) {
+            final LocationInCloud locationInCloud = problem.getLocationInCloud();
 
+            Location existingLocation = existingLocations.get(locationInCloud.cloudId());
+            if (existingLocation != null) {
+                existingLocation.addCloudCredential(credentials
+                    .computeIfAbsent(locationInCloud.credentialUuid(),
+                        uuid -> locationInCloud.credential()));
+                continue;
+            }
+            if (knownLocations.containsKey(locationInCloud.cloudId())) {
+                //already imported by this batch, the credential is added on the next sync
+                continue;
+            }
 
+            Location parent = null;
+            if (locationInCloud.parent().isPresent()) {
+                parent = knownLocations
+                    .get(SlashEncodedId.of(locationInCloud.parent().get().id()).cloudId());
+                if (parent == null) {
+                    failures.put(problem, new SolutionException(String
+                        .format("Could not import %s as parent %s was not found.",
+                            locationInCloud, locationInCloud.parent().get())));
+                    continue;
+                }
+            }
+
+            Location location =
+                new Location(locationInCloud.cloudId(), locationInCloud.providerId(),
+                    locationInCloud.swordId(), clouds
+                    .computeIfAbsent(locationInCloud.cloudUuid(), uuid -> locationInCloud.cloud()),
+                    locationInCloud.name(), null, parent, locationInCloud.locationScope(),
+                    locationInCloud.isAssignable());
+            knownLocations.put(locationInCloud.cloudId(), location);
+            newLocations.add(location);
+        }
+
+        this.locationModelService.saveAll(newLocations);
+        return failures;
+    }
+
+    private static int depth(LocationInCloud location) {
+        return location.parent().map(parent -> 1 + depth((LocationInCloud) parent)).orElse(0);
+    }
 }
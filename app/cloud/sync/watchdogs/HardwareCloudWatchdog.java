@@ -18,9 +18,13 @@
 
 package cloud.sync.watchdogs;
 
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hashing;
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
 
+import de.uniulm.omi.cloudiator.sword.api.domain.Location;
+
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -52,6 +56,16 @@ import components.execution.Stable;
         return cloudService().discoveryService().listHardwareFlavors();
     }
 
+    @Override protected long fingerprint(HardwareInLocation hardwareInLocation) {
+        return Hashing.murmur3_128().newHasher()
+            .putString(hardwareInLocation.id(), Charsets.UTF_8)
+            .putString(String.valueOf(hardwareInLocation.name()), Charsets.UTF_8)
+            .putInt(hardwareInLocation.numberOfCores()).putLong(hardwareInLocation.mbRam())
+            .putString(String.valueOf(hardwareInLocation.gbDisk()), Charsets.UTF_8)
+            .putString(hardwareInLocation.location().map(Location::id).orElse(""), Charsets.UTF_8)
+            .hash().asLong();
+    }
+
     @Override public long period() {
         return 20;
     }
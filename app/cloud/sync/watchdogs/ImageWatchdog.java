@@ -18,9 +18,13 @@
 
 package cloud.sync.watchdogs;
 
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hashing;
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
 
+import de.uniulm.omi.cloudiator.sword.api.domain.Location;
+
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -51,6 +55,14 @@ import components.execution.Stable;
         return cloudService().discoveryService().listImages();
     }
 
+    @Override protected long fingerprint(ImageInLocation imageInLocation) {
+        return Hashing.murmur3_128().newHasher().putString(imageInLocation.id(), Charsets.UTF_8)
+            .putString(String.valueOf(imageInLocation.name()), Charsets.UTF_8)
+            .putString(String.valueOf(imageInLocation.operatingSystem()), Charsets.UTF_8)
+            .putString(imageInLocation.location().map(Location::id).orElse(""), Charsets.UTF_8)
+            .hash().asLong();
+    }
+
     @Override public long period() {
         return 20;
     }
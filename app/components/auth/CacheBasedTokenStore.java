@@ -23,4 +23,8 @@ import java.util.concurrent.TimeUnit;
         return Optional.ofNullable(cache.getIfPresent(token));
     }
 
+    @Override public void remove(String token) {
+        cache.invalidate(token);
+    }
+
 }
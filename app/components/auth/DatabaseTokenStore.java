@@ -41,4 +41,11 @@ public class DatabaseTokenStore implements TokenStore {
             .expiresAt(apiAccessToken.getExpiresAt()).token(apiAccessToken.getToken())
             .userId(apiAccessToken.getFrontendUser().getId()).build());
     }
+
+    @Override public void remove(String token) {
+        final ApiAccessToken apiAccessToken = this.apiAccessTokenService.findByToken(token);
+        if (apiAccessToken != null) {
+            this.apiAccessTokenService.delete(apiAccessToken);
+        }
+    }
 }
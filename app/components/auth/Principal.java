@@ -0,0 +1,51 @@
+package components.auth;
+
+import com.google.common.base.MoreObjects;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A principal authenticated by a token.
+ * <p>
+ * Holds the mail of the frontend user, the tenant the user requested
+ * access to, if the user is a member of it, and the expiry of the token.
+ */
+public class Principal {
+
+    private final String mail;
+    @Nullable private final String tenant;
+    private final long expiresAt;
+
+    public Principal(String mail, @Nullable String tenant, long expiresAt) {
+        checkNotNull(mail);
+        checkArgument(expiresAt > 0);
+
+        this.mail = mail;
+        this.tenant = tenant;
+        this.expiresAt = expiresAt;
+    }
+
+    public String mail() {
+        return mail;
+    }
+
+    @Nullable public String tenant() {
+        return tenant;
+    }
+
+    public long expiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired() {
+        return System.currentTimeMillis() > expiresAt;
+    }
+
+    @Override public String toString() {
+        return MoreObjects.toStringHelper(this).add("mail", mail).add("tenant", tenant)
+            .add("expiresAt", expiresAt).toString();
+    }
+}
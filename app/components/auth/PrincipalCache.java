@@ -0,0 +1,102 @@
+package components.auth;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.inject.Singleton;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Caches the principals resolved for a token.
+ * <p>
+ * The principals are keyed by the token, the user id and the requested tenant,
+ * so that authenticated requests do not need to load the user and validate the
+ * token in the database again. Entries never outlive the validity of the token
+ * and are removed when the token is revoked.
+ * <p>
+ * Only successful authentications are cached. Changes to the tenants of a
+ * user are noticed after {@link Token#VALIDITY} at the latest.
+ */
+@Singleton public class PrincipalCache {
+
+    private static final long MAXIMUM_SIZE = 10000;
+
+    private final Cache<Key, Principal> cache = CacheBuilder.newBuilder()
+        .expireAfterWrite(Token.VALIDITY, TimeUnit.MILLISECONDS).maximumSize(MAXIMUM_SIZE)
+        .build();
+
+    /**
+     * Returns the cached principal.
+     *
+     * @param token  the token.
+     * @param userId the id of the user the token was sent for.
+     * @param tenant the requested tenant.
+     * @return the principal or null if none is cached or the token expired.
+     */
+    @Nullable public Principal get(String token, long userId, @Nullable String tenant) {
+        final Key key = new Key(token, userId, tenant);
+        final Principal principal = cache.getIfPresent(key);
+        if (principal != null && principal.isExpired()) {
+            cache.invalidate(key);
+            return null;
+        }
+        return principal;
+    }
+
+    public void put(String token, long userId, @Nullable String tenant, Principal principal) {
+        checkNotNull(principal);
+        cache.put(new Key(token, userId, tenant), principal);
+    }
+
+    /**
+     * Removes all principals resolved for the given token.
+     *
+     * @param token the revoked token.
+     */
+    public void revoke(String token) {
+        checkNotNull(token);
+        cache.asMap().keySet().removeIf(key -> key.token.equals(token));
+    }
+
+    private static class Key {
+
+        private final String token;
+        private final long userId;
+        @Nullable private final String tenant;
+
+        private Key(String token, long userId, @Nullable String tenant) {
+            checkNotNull(token);
+
+            this.token = token;
+            this.userId = userId;
+            this.tenant = tenant;
+        }
+
+        @Override public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return userId == key.userId && token.equals(key.token) && Objects
+                .equals(tenant, key.tenant);
+        }
+
+        @Override public int hashCode() {
+            return Objects.hash(token, userId, tenant);
+        }
+
+        @Override public String toString() {
+            return MoreObjects.toStringHelper(this).add("userId", userId).add("tenant", tenant)
+                .toString();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package components.auth;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import play.Configuration;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A write through token store, caching the tokens of the {@link DatabaseTokenStore}
+ * in memory.
+ * <p>
+ * Tokens are cached at most for {@link Token#VALIDITY}. Tokens unknown to the
+ * database are remembered for a short time, so that invalid tokens do not cause
+ * a database lookup on every request.
+ */
+@Singleton public class TieredTokenStore implements TokenStore {
+
+    private final DatabaseTokenStore databaseTokenStore;
+    private final Cache<String, Token> tokens;
+    private final Cache<String, Boolean> unknownTokens;
+
+    @Inject TieredTokenStore(DatabaseTokenStore databaseTokenStore) {
+        checkNotNull(databaseTokenStore);
+        this.databaseTokenStore = databaseTokenStore;
+
+        final long size = Configuration.root().getLong("colosseum.auth.token.cache.size", 10000L);
+        final long negativeExpiry =
+            Configuration.root().getLong("colosseum.auth.token.cache.negativeExpiry", 30L);
+
+        this.tokens =
+            CacheBuilder.newBuilder().expireAfterWrite(Token.VALIDITY, TimeUnit.MILLISECONDS)
+                .maximumSize(size).build();
+        this.unknownTokens =
+            CacheBuilder.newBuilder().expireAfterWrite(negativeExpiry, TimeUnit.SECONDS)
+                .maximumSize(size).build();
+    }
+
+    @Override public void store(Token token) {
+        databaseTokenStore.store(token);
+        tokens.put(token.token(), token);
+        unknownTokens.invalidate(token.token());
+    }
+
+    @Override public Optional<Token> retrieve(String token) {
+        final Token cached = tokens.getIfPresent(token);
+        if (cached != null) {
+            if (cached.isExpired()) {
+                tokens.invalidate(token);
+                return Optional.empty();
+            }
+            return Optional.of(cached);
+        }
+        if (unknownTokens.getIfPresent(token) != null) {
+            return Optional.empty();
+        }
+
+        final Optional<Token> retrieved = databaseTokenStore.retrieve(token);
+        if (retrieved.isPresent()) {
+            if (!retrieved.get().isExpired()) {
+                tokens.put(token, retrieved.get());
+            }
+        } else {
+            unknownTokens.put(token, true);
+        }
+        return retrieved;
+    }
+
+    @Override public void remove(String token) {
+        databaseTokenStore.remove(token);
+        tokens.invalidate(token);
+        unknownTokens.put(token, true);
+    }
+}
@@ -2,6 +2,8 @@ package components.auth;
 
 import com.google.inject.ImplementedBy;
 
+import java.util.Optional;
+
 import models.FrontendUser;
 
 /**
@@ -12,4 +14,20 @@ import models.FrontendUser;
     Token newToken(FrontendUser frontendUser);
 
     boolean isTokenValidForUser(String token, FrontendUser frontendUser);
+
+    /**
+     * Retrieves the token, if it is valid for the given user.
+     *
+     * @param token        the token string.
+     * @param frontendUser the user the token was sent for.
+     * @return the token or empty if it does not exist, is expired or belongs to another user.
+     */
+    Optional<Token> validTokenForUser(String token, FrontendUser frontendUser);
+
+    /**
+     * Revokes the token, it is not valid for any further request.
+     *
+     * @param token the token string.
+     */
+    void revoke(String token);
 }
@@ -16,10 +16,13 @@ import static com.google.common.base.Preconditions.checkState;
 @Singleton public class TokenServiceImpl implements TokenService {
 
     private final TokenStore tokenStore;
+    private final PrincipalCache principalCache;
 
-    @Inject TokenServiceImpl(TokenStore tokenStore) {
+    @Inject TokenServiceImpl(TokenStore tokenStore, PrincipalCache principalCache) {
         checkNotNull(tokenStore);
+        checkNotNull(principalCache);
         this.tokenStore = tokenStore;
+        this.principalCache = principalCache;
     }
 
     private static Token newForUser(FrontendUser frontendUser) {
@@ -38,14 +41,26 @@ import static com.google.common.base.Preconditions.checkState;
     }
 
     @Override public boolean isTokenValidForUser(String token, FrontendUser frontendUser) {
+        return validTokenForUser(token, frontendUser).isPresent();
+    }
+
+    @Override public Optional<Token> validTokenForUser(String token, FrontendUser frontendUser) {
         checkNotNull(token);
         checkNotNull(frontendUser);
         Optional<Token> optional = getToken(token);
         if (!optional.isPresent()) {
-            return false;
+            return Optional.empty();
         }
         checkState(optional.get().token().equals(token));
-        return optional.get().userId() == frontendUser.getId() && !optional.get().isExpired();
+        if (optional.get().userId() == frontendUser.getId() && !optional.get().isExpired()) {
+            return optional;
+        }
+        return Optional.empty();
+    }
 
+    @Override public void revoke(String token) {
+        checkNotNull(token);
+        tokenStore.remove(token);
+        principalCache.revoke(token);
     }
 }
@@ -7,8 +7,10 @@ import java.util.Optional;
 /**
  * Created by daniel on 24.05.16.
  */
-@ImplementedBy(DatabaseTokenStore.class) public interface TokenStore {
+@ImplementedBy(TieredTokenStore.class) public interface TokenStore {
     void store(Token token);
 
     Optional<Token> retrieve(String token);
+
+    void remove(String token);
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package components.execution;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import javax.annotation.Nullable;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+
+import play.db.jpa.JPA;
+
+/**
+ * Defers work until the transaction bound to the current thread committed, so
+ * that workers running in other threads see its changes.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+        // no instantiation
+    }
+
+    /**
+     * @return true if a transaction is active on the current thread.
+     */
+    public static boolean inTransaction() {
+        return activeTransaction() != null;
+    }
+
+    /**
+     * Runs the given runnable once the transaction bound to the current thread
+     * committed, or immediately if there is none. The runnable is discarded if
+     * the transaction is rolled back.
+     *
+     * @param runnable the runnable to run.
+     */
+    public static void run(Runnable runnable) {
+        final Transaction transaction = activeTransaction();
+        if (transaction == null) {
+            runnable.run();
+            return;
+        }
+        transaction.registerSynchronization(new Synchronization() {
+            @Override public void beforeCompletion() {
+            }
+
+            @Override public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    runnable.run();
+                }
+            }
+        });
+    }
+
+    @Nullable private static Transaction activeTransaction() {
+        final Session session;
+        try {
+            session = JPA.em().unwrap(Session.class);
+        } catch (RuntimeException e) {
+            //no entity manager bound to the current thread
+            return null;
+        }
+        return session.getTransaction().isActive() ? session.getTransaction() : null;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package components.execution;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link SimpleBlockingQueue} holding at most one element per key.
+ * <p>
+ * Like the {@link UniqueBlockingQueue}, but an element added while another
+ * one with the same key is queued replaces it by the result of the merge
+ * function (last writer wins if it returns the added element). If the merge
+ * function returns null, both elements cancel each other out. The merged
+ * element keeps the position of the queued one, unless the requeue predicate
+ * moves it to the end of the queue.
+ *
+ * @param <K> the type of the keys.
+ * @param <T> the type of the elements.
+ */
+public class CoalescingBlockingQueue<K, T> implements SimpleBlockingQueue<T> {
+
+    private final SimpleBlockingQueue<T> queue;
+    private final Function<? super T, ? extends K> keyFunction;
+    private final BinaryOperator<T> mergeFunction;
+    private final BiPredicate<? super T, ? super T> requeue;
+    //the element holding the position in the queue by its key, guarded by pending.
+    //Other elements in the queue were merged or cancelled and are skipped.
+    private final Map<K, T> positions = new HashMap<>();
+    //the element to return for the position by its key
+    private final Map<K, T> pending = new HashMap<>();
+    private final LongAdder collapsed = new LongAdder();
+
+    /**
+     * @param queue         the queue ordering the elements.
+     * @param keyFunction   returns the key of an element.
+     * @param mergeFunction merges the queued element (first argument) and an added
+     *                      element with the same key (second argument), returns null
+     *                      if they cancel each other out.
+     * @param requeue       whether the merged element (second argument) of the queued
+     *                      element (first argument) is moved to the end of the queue.
+     */
+    public CoalescingBlockingQueue(SimpleBlockingQueue<T> queue,
+        Function<? super T, ? extends K> keyFunction, BinaryOperator<T> mergeFunction,
+        BiPredicate<? super T, ? super T> requeue) {
+        checkNotNull(queue);
+        checkNotNull(keyFunction);
+        checkNotNull(mergeFunction);
+        checkNotNull(requeue);
+        this.queue = queue;
+        this.keyFunction = keyFunction;
+        this.mergeFunction = mergeFunction;
+        this.requeue = requeue;
+    }
+
+    @Override public void add(T t) {
+        final K key = checkNotNull(keyFunction.apply(t));
+        synchronized (pending) {
+            final T queued = pending.get(key);
+            if (queued == null) {
+                enqueue(key, t);
+                return;
+            }
+            collapsed.increment();
+            final T merged = mergeFunction.apply(queued, t);
+            if (merged == null) {
+                positions.remove(key);
+                pending.remove(key);
+            } else if (requeue.test(queued, merged)) {
+                enqueue(key, merged);
+            } else {
+                pending.put(key, merged);
+            }
+        }
+    }
+
+    private void enqueue(K key, T t) {
+        positions.put(key, t);
+        pending.put(key, t);
+        queue.add(t);
+    }
+
+    @Override public T take() throws InterruptedException {
+        while (true) {
+            final T t = pending(queue.take());
+            if (t != null) {
+                return t;
+            }
+        }
+    }
+
+    @Override public int drainTo(Collection<? super T> collection, int maxElements) {
+        List<T> drained = new ArrayList<>();
+        this.queue.drainTo(drained, maxElements);
+        int count = 0;
+        for (T t : drained) {
+            final T pendingElement = pending(t);
+            if (pendingElement != null) {
+                collection.add(pendingElement);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return the element to return for the given element taken from the queue,
+     * null if it no longer holds a position.
+     */
+    @Nullable private T pending(T t) {
+        final K key = keyFunction.apply(t);
+        synchronized (pending) {
+            if (positions.get(key) != t) {
+                return null;
+            }
+            positions.remove(key);
+            return pending.remove(key);
+        }
+    }
+
+    /**
+     * @return the number of elements merged into or cancelled with a queued element.
+     */
+    public long collapsed() {
+        return collapsed.sum();
+    }
+
+    /**
+     * @return the number of queued elements.
+     */
+    public int size() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package components.execution;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation for {@link Runnable}s, stating the {@link ExecutorPool} executing them.
+ * <p>
+ * Runnables without this annotation are executed in the {@link ExecutorPool#DISPATCH}
+ * pool. {@link Schedulable}s are always executed in the {@link ExecutorPool#SYNC} pool.
+ * <p>
+ * The annotation is inherited as "workaround", since otherwise the annotation is not present
+ * in the Guice AOP Proxies {@see https://github.com/google/guice/issues/201}.
+ */
+@Retention(RetentionPolicy.RUNTIME) @Target(ElementType.TYPE) @Inherited
+public @interface ExecutedIn {
+
+    ExecutorPool value();
+}
@@ -47,12 +47,15 @@ public class ExecutionModule extends AbstractModule {
             Matchers.annotatedWith(Transactional.class),
             new TransactionalRunnableInterceptor(getProvider(JPAApi.class)));
 
-        bind(ExecutionService.class).toInstance(new StableScheduledThreadExecutor(
-            new ScheduledThreadPoolExecutorExecutionService(new LoggingScheduledThreadPoolExecutor(
-                configuration.getInt("colosseum.execution.thread", 10)))));
+        final PooledExecutionService pooledExecutionService =
+            new PooledExecutionService(configuration);
+        bind(PooledExecutionService.class).toInstance(pooledExecutionService);
+        bind(ExecutionService.class)
+            .toInstance(new StableScheduledThreadExecutor(pooledExecutionService));
         bind(ExecutionSystemInitialization.class).asEagerSingleton();
 
         Multibinder.newSetBinder(binder(), Runnable.class);
-        Multibinder.newSetBinder(binder(), Schedulable.class);
+        Multibinder.newSetBinder(binder(), Schedulable.class).addBinding()
+            .to(ExecutorPoolStatisticsLogger.class);
     }
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package components.execution;
+
+/**
+ * The isolated thread pools of the {@link PooledExecutionService}.
+ * <p>
+ * Each pool is sized by colosseum.execution.[name].thread and, if it queues
+ * tasks, bounded by colosseum.execution.[name].queue.
+ */
+public enum ExecutorPool {
+
+    /**
+     * Endless dispatch loops, each occupying one thread. Does not queue loops,
+     * a loop exceeding the pool size is rejected.
+     */
+    DISPATCH("dispatch"),
+
+    /**
+     * Jobs doing remote I/O, like creating virtual machines or installing tools.
+     * If the queue is full, the submitting thread waits until it has room.
+     */
+    REMOTE("remote"),
+
+    /**
+     * Scheduled tasks, like the cloud synchronisation.
+     */
+    SYNC("sync"),
+
+    /**
+     * Aggregation of monitors. If the queue is full, the submitting thread
+     * waits until it has room.
+     */
+    AGGREGATION("aggregation"),
+
+    /**
+     * Installation steps of virtual machines, see the installer pipeline. If the
+     * queue is full, the submitting thread waits until it has room.
+     */
+    INSTALLER("installer"),
+
+    /**
+     * Deployment of monitors to the visor agents. If the queue is full, the
+     * submitting thread waits until it has room.
+     */
+    ROLLOUT("rollout"),
+
+    /**
+     * Reconciliation of the monitors of the visor agents. If the queue is full,
+     * the submitting thread waits until it has room.
+     */
+    RECONCILE("reconcile");
+
+    private final String poolName;
+
+    ExecutorPool(String poolName) {
+        this.poolName = poolName;
+    }
+
+    public String poolName() {
+        return poolName;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package components.execution;
+
+import com.google.inject.Inject;
+
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import play.Configuration;
+import play.Logger;
+import util.logging.Loggers;
+
+/**
+ * Periodically logs the utilization of each {@link ExecutorPool}.
+ */
+public class ExecutorPoolStatisticsLogger implements Schedulable {
+
+    private static final Logger.ALogger LOGGER = Loggers.of(Loggers.EXECUTION);
+    private final PooledExecutionService pooledExecutionService;
+    private final long period;
+
+    @Inject public ExecutorPoolStatisticsLogger(PooledExecutionService pooledExecutionService,
+        Configuration configuration) {
+        this.pooledExecutionService = pooledExecutionService;
+        this.period =
+            Math.max(1, configuration.getLong("colosseum.execution.statistics.period", 10L));
+    }
+
+    @Override public void run() {
+        for (Map.Entry<ExecutorPool, ThreadPoolExecutor> entry : pooledExecutionService
+            .executors().entrySet()) {
+            final ThreadPoolExecutor executor = entry.getValue();
+            LOGGER.info(String.format(
+                "Pool %s: %s of %s threads active, %s queued, %s completed, %s rejected",
+                entry.getKey().poolName(), executor.getActiveCount(),
+                executor.getMaximumPoolSize(), executor.getQueue().size(),
+                executor.getCompletedTaskCount(),
+                pooledExecutionService.rejected(entry.getKey())));
+        }
+        if (pooledExecutionService.virtualRemoteExecutor().isPresent()) {
+            final ThrottlingExecutor executor =
+                pooledExecutionService.virtualRemoteExecutor().get();
+            LOGGER.info(String
+                .format("Virtual threads of pool %s: %s running, %s waiting for their cloud",
+                    ExecutorPool.REMOTE.poolName(), executor.running(), executor.waiting()));
+        }
+    }
+
+    @Override public long period() {
+        return period;
+    }
+
+    @Override public long delay() {
+        return period;
+    }
+
+    @Override public TimeUnit timeUnit() {
+        return TimeUnit.MINUTES;
+    }
+
+    @Override public String toString() {
+        return "ExecutorPoolStatisticsLogger";
+    }
+}
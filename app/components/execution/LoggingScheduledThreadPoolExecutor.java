@@ -18,14 +18,10 @@
 
 package components.execution;
 
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 
-import play.Logger;
-
 /**
  * An extension of the ScheduledThreadPoolExecutor, that logs any errors occurring during
  * the execution of tasks, instead of silently ignoring them.
@@ -50,20 +46,6 @@ public class LoggingScheduledThreadPoolExecutor extends ScheduledThreadPoolExecu
 
     @Override protected void afterExecute(final Runnable r, final Throwable t) {
         super.afterExecute(r, t);
-        Throwable tToLog = t;
-        if (tToLog == null && r instanceof Future<?>) {
-            try {
-                if (((Future) r).isDone() && !((Future) r).isCancelled()) {
-                    ((Future) r).get();
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            } catch (ExecutionException e) {
-                tToLog = e.getCause();
-            }
-        }
-        if (tToLog != null) {
-            Logger.error("Uncaught exception occurred during the execution of task.", tToLog);
-        }
+        LoggingThreadPoolExecutor.logUncaught(r, t);
     }
 }
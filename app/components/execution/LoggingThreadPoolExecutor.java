@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package components.execution;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import play.Logger;
+
+/**
+ * An extension of the ThreadPoolExecutor, that logs any errors occurring during
+ * the execution of tasks, instead of silently ignoring them.
+ */
+public class LoggingThreadPoolExecutor extends ThreadPoolExecutor {
+
+    public LoggingThreadPoolExecutor(int corePoolSize, int maximumPoolSize, long keepAliveTime,
+        TimeUnit unit, BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory,
+        RejectedExecutionHandler handler) {
+        super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory,
+            handler);
+    }
+
+    @Override protected void afterExecute(final Runnable r, final Throwable t) {
+        super.afterExecute(r, t);
+        logUncaught(r, t);
+    }
+
+    static void logUncaught(final Runnable r, final Throwable t) {
+        Throwable tToLog = t;
+        if (tToLog == null && r instanceof Future<?>) {
+            try {
+                if (((Future) r).isDone() && !((Future) r).isCancelled()) {
+                    ((Future) r).get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                tToLog = e.getCause();
+            }
+        }
+        if (tToLog != null) {
+            Logger.error("Uncaught exception occurred during the execution of task.", tToLog);
+        }
+    }
+}
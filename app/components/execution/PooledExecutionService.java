@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package components.execution;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import play.Configuration;
+import play.Logger;
+import util.logging.Loggers;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An execution service running each workload in its own, separately sized
+ * {@link ExecutorPool}, so that e.g. long running remote jobs can not starve
+ * the cloud synchronisation.
+ * <p>
+ * Runnables are executed in the pool given by their {@link ExecutedIn} annotation,
+ * schedulables in the {@link ExecutorPool#SYNC} pool.
+ * <p>
+ * If colosseum.execution.remote.virtual is enabled and the runtime supports virtual
+ * threads, the {@link ExecutorPool#REMOTE} runnables are executed on virtual threads
+ * instead, limited to colosseum.execution.remote.limitPerCloud concurrent executions
+ * per {@link Throttled#throttleKey()}.
+ */
+public class PooledExecutionService implements ExecutionService {
+
+    private static final Logger.ALogger LOGGER = Loggers.of(Loggers.EXECUTION);
+
+    private final Map<ExecutorPool, ThreadPoolExecutor> executors;
+    private final Map<ExecutorPool, AtomicLong> rejections;
+    private final ExecutionService scheduler;
+    @Nullable private final ExecutorService virtualThreads;
+    @Nullable private final ThrottlingExecutor virtualRemoteExecutor;
+
+    public PooledExecutionService(Configuration configuration) {
+        checkNotNull(configuration);
+
+        final int defaultThreads = configuration.getInt("colosseum.execution.thread", 10);
+        final Map<ExecutorPool, ThreadPoolExecutor> executorMap =
+            new EnumMap<>(ExecutorPool.class);
+        final Map<ExecutorPool, AtomicLong> rejectionMap = new EnumMap<>(ExecutorPool.class);
+
+        for (ExecutorPool pool : ExecutorPool.values()) {
+            final int threads = Math.max(1, configuration
+                .getInt("colosseum.execution." + pool.poolName() + ".thread", defaultThreads));
+            final int queue =
+                configuration.getInt("colosseum.execution." + pool.poolName() + ".queue", 1000);
+            final AtomicLong rejected = new AtomicLong();
+            final ThreadFactory threadFactory =
+                new ThreadFactoryBuilder().setNameFormat("colosseum-" + pool.poolName() + "-%d")
+                    .build();
+
+            final ThreadPoolExecutor executor;
+            switch (pool) {
+                case SYNC:
+                    executor = new LoggingScheduledThreadPoolExecutor(threads, threadFactory,
+                        countingHandler(new ThreadPoolExecutor.AbortPolicy(), rejected));
+                    break;
+                case DISPATCH:
+                    executor = new LoggingThreadPoolExecutor(threads, threads, 0L,
+                        TimeUnit.MILLISECONDS, new SynchronousQueue<>(), threadFactory,
+                        countingHandler(new ThreadPoolExecutor.AbortPolicy(), rejected));
+                    break;
+                default:
+                    executor = new LoggingThreadPoolExecutor(threads, threads, 0L,
+                        TimeUnit.MILLISECONDS, workQueue(queue), threadFactory,
+                        countingHandler(PooledExecutionService::waitForQueue, rejected));
+            }
+            executorMap.put(pool, executor);
+            rejectionMap.put(pool, rejected);
+        }
+
+        this.executors = ImmutableMap.copyOf(executorMap);
+        this.rejections = ImmutableMap.copyOf(rejectionMap);
+        this.scheduler = new ScheduledThreadPoolExecutorExecutionService(
+            (LoggingScheduledThreadPoolExecutor) executors.get(ExecutorPool.SYNC));
+
+        if (configuration.getBoolean("colosseum.execution.remote.virtual", false)) {
+            this.virtualThreads = virtualThreadExecutor().orElse(null);
+            if (virtualThreads == null) {
+                LOGGER.warn(
+                    "Virtual threads are not supported by this runtime, executing remote jobs in "
+                        + "the remote pool.");
+            }
+        } else {
+            this.virtualThreads = null;
+        }
+        if (virtualThreads != null) {
+            LOGGER.info("Executing remote jobs on virtual threads.");
+            this.virtualRemoteExecutor = new ThrottlingExecutor(virtualThreads,
+                Math.max(1, configuration.getInt("colosseum.execution.remote.limitPerCloud", 20)));
+        } else {
+            this.virtualRemoteExecutor = null;
+        }
+    }
+
+    /**
+     * Creates an executor starting a new virtual thread per task, if the runtime
+     * supports virtual threads.
+     *
+     * @return the executor or empty if virtual threads are not supported.
+     */
+    private static Optional<ExecutorService> virtualThreadExecutor() {
+        try {
+            return Optional.of((ExecutorService) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor").invoke(null));
+        } catch (ReflectiveOperationException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static BlockingQueue<Runnable> workQueue(int size) {
+        if (size <= 0) {
+            return new SynchronousQueue<>();
+        }
+        return new ArrayBlockingQueue<>(size);
+    }
+
+    /**
+     * Blocks the submitting thread until the queue of the executor has room for the
+     * runnable, instead of running it in the submitting thread, which would e.g.
+     * stop the job dispatcher for the duration of a remote job.
+     */
+    private static void waitForQueue(Runnable runnable, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException(
+                String.format("%s was shut down, rejecting %s", executor, runnable));
+        }
+        try {
+            executor.getQueue().put(runnable);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException(
+                String.format("Interrupted while queueing %s", runnable), e);
+        }
+    }
+
+    private static RejectedExecutionHandler countingHandler(RejectedExecutionHandler delegate,
+        AtomicLong rejected) {
+        return (runnable, executor) -> {
+            rejected.incrementAndGet();
+            LOGGER.warn(String.format("Pool %s rejected %s", executor, runnable));
+            delegate.rejectedExecution(runnable, executor);
+        };
+    }
+
+    private static ExecutorPool poolOf(Runnable runnable) {
+        final ExecutedIn executedIn = runnable.getClass().getAnnotation(ExecutedIn.class);
+        if (executedIn == null) {
+            return ExecutorPool.DISPATCH;
+        }
+        return executedIn.value();
+    }
+
+    @Override public void schedule(Schedulable schedulable) {
+        scheduler.schedule(schedulable);
+    }
+
+    @Override public void execute(Runnable runnable) {
+        final ExecutorPool pool = poolOf(runnable);
+        LOGGER.debug(String.format("%s is executing %s in pool %s", this, runnable, pool));
+        if (pool == ExecutorPool.REMOTE && virtualRemoteExecutor != null) {
+            virtualRemoteExecutor.execute(runnable);
+            return;
+        }
+        executors.get(pool).execute(runnable);
+    }
+
+    @Override public void shutdown() {
+        executors.values().forEach(ThreadPoolExecutor::shutdown);
+        if (virtualThreads != null) {
+            virtualThreads.shutdown();
+        }
+    }
+
+    /**
+     * Returns the executor of the given pool, for components running their tasks
+     * directly instead of as {@link ExecutedIn} runnables.
+     *
+     * @param pool the pool.
+     * @return the executor of the pool.
+     */
+    public Executor executor(ExecutorPool pool) {
+        return executors.get(pool);
+    }
+
+    /**
+     * @return the executors of the pools, for monitoring purposes only.
+     */
+    public Map<ExecutorPool, ThreadPoolExecutor> executors() {
+        return executors;
+    }
+
+    /**
+     * @return the executor running the remote runnables on virtual threads, if enabled.
+     */
+    public Optional<ThrottlingExecutor> virtualRemoteExecutor() {
+        return Optional.ofNullable(virtualRemoteExecutor);
+    }
+
+    /**
+     * @param pool the pool.
+     * @return the number of tasks rejected by the pool.
+     */
+    public long rejected(ExecutorPool pool) {
+        return rejections.get(pool).get();
+    }
+}
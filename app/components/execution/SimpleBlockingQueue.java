@@ -18,6 +18,8 @@
 
 package components.execution;
 
+import java.util.Collection;
+
 /**
  * Created by daniel on 08.05.15.
  */
@@ -26,4 +28,14 @@ public interface SimpleBlockingQueue<T> {
     void add(T t);
 
     T take() throws InterruptedException;
+
+    /**
+     * Removes at most the given number of available elements from the queue
+     * without blocking and adds them to the given collection.
+     *
+     * @param collection  the collection to transfer the elements into.
+     * @param maxElements the maximum number of elements to transfer.
+     * @return the number of elements transferred.
+     */
+    int drainTo(Collection<? super T> collection, int maxElements);
 }
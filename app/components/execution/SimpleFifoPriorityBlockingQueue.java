@@ -18,6 +18,9 @@
 
 package components.execution;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.PriorityBlockingQueue;
 
@@ -51,4 +54,13 @@ public class SimpleFifoPriorityBlockingQueue<T extends Comparable<? super T>>
     @Override public T take() throws InterruptedException {
         return this.queue.take().getEntry();
     }
+
+    @Override public int drainTo(Collection<? super T> collection, int maxElements) {
+        List<FiFoEntry<T>> entries = new ArrayList<>();
+        final int drained = this.queue.drainTo(entries, maxElements);
+        for (FiFoEntry<T> entry : entries) {
+            collection.add(entry.getEntry());
+        }
+        return drained;
+    }
 }
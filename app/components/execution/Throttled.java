@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package components.execution;
+
+import javax.annotation.Nullable;
+
+/**
+ * A runnable whose concurrent executions are limited per key, e.g. per cloud.
+ *
+ * @see ThrottlingExecutor
+ */
+public interface Throttled extends Runnable {
+
+    /**
+     * @return the key limiting the concurrent executions, null for an unlimited execution.
+     */
+    @Nullable String throttleKey();
+}
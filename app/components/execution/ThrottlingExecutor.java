@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package components.execution;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An executor limiting the concurrent executions of {@link Throttled} runnables
+ * sharing a key.
+ * <p>
+ * Runnables waiting for a permit block their thread, so this executor should only
+ * wrap executors whose threads are cheap to block, e.g. virtual threads.
+ */
+public class ThrottlingExecutor implements Executor {
+
+    private final Executor delegate;
+    private final int limit;
+    private final ConcurrentMap<String, Semaphore> permits = new ConcurrentHashMap<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public ThrottlingExecutor(Executor delegate, int limit) {
+        checkNotNull(delegate);
+        checkArgument(limit > 0, "limit must be positive");
+        this.delegate = delegate;
+        this.limit = limit;
+    }
+
+    @Override public void execute(Runnable runnable) {
+        checkNotNull(runnable);
+        final String key =
+            runnable instanceof Throttled ? ((Throttled) runnable).throttleKey() : null;
+        delegate.execute(() -> {
+            final Semaphore semaphore =
+                key == null ? null : permits.computeIfAbsent(key, k -> new Semaphore(limit, true));
+            if (semaphore != null) {
+                waiting.incrementAndGet();
+                try {
+                    semaphore.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    waiting.decrementAndGet();
+                }
+            }
+            running.incrementAndGet();
+            try {
+                runnable.run();
+            } catch (Throwable t) {
+                LoggingThreadPoolExecutor.logUncaught(runnable, t);
+            } finally {
+                running.decrementAndGet();
+                if (semaphore != null) {
+                    semaphore.release();
+                }
+            }
+        });
+    }
+
+    /**
+     * @return the number of runnables currently running.
+     */
+    public int running() {
+        return running.get();
+    }
+
+    /**
+     * @return the number of runnables waiting for a permit of their key.
+     */
+    public int waiting() {
+        return waiting.get();
+    }
+
+    @Override public String toString() {
+        return String.format("ThrottlingExecutor(limit=%s, running=%s, waiting=%s)", limit,
+            running.get(), waiting.get());
+    }
+}
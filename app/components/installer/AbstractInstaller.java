@@ -18,15 +18,22 @@
 
 package components.installer;
 
+import cloud.strategies.RemoteConnectionStrategy;
 import de.uniulm.omi.cloudiator.sword.api.remote.RemoteConnection;
+import de.uniulm.omi.cloudiator.sword.api.remote.RemoteException;
 
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import javax.annotation.Nullable;
 
 import components.installer.api.InstallApi;
 import models.VirtualMachine;
@@ -45,28 +52,65 @@ abstract class AbstractInstaller implements InstallApi {
     protected final RemoteConnection remoteConnection;
     protected final VirtualMachine virtualMachine;
 
-
-    protected final List<String> sourcesList = new ArrayList<>();
-
-    //parallel download threads
-    private static final int NUMBER_OF_DOWNLOAD_THREADS =
-        Play.application().configuration().getInt("colosseum.installer.download.threads");
+    /**
+     * Concurrent installation steps each run on a remote connection of their own,
+     * the additional connections are opened when a pipeline is created.
+     *
+     * @see #pipeline(String)
+     */
+    private final RemoteConnectionStrategy remoteConnectionStrategy;
+    private final Executor executor;
+    private final List<RemoteConnection> additionalConnections = new ArrayList<>();
+    private final BlockingQueue<RemoteConnection> idleConnections = new LinkedBlockingQueue<>();
+    private final ThreadLocal<RemoteConnection> stepConnection = new ThreadLocal<>();
+
+    /**
+     * Attributes of the virtual machine, resolved when a pipeline is created, as the
+     * installation steps run on other threads than the one owning the entity manager.
+     *
+     * @see #pipeline(String)
+     */
+    protected final String virtualMachineUuid;
+    protected String cloudUuid;
+    protected String publicIp;
+    protected String privateIp;
+    @Nullable private String providerId;
+
+    /**
+     * The download commands by the artifact they download.
+     */
+    protected final Map<String, String> sources = new LinkedHashMap<>();
+
+    //Installation steps
+    protected static final String JAVA_STEP = "java";
+    protected static final String LANCE_STEP = "lance";
+    protected static final String KAIROSDB_STEP = "kairosdb";
+    protected static final String VISOR_STEP = "visor";
+
+    private static final int CONNECTIONS = Math.max(1,
+        Play.application().configuration().getInt("colosseum.installer.connections", 4));
+
+    //Artifact cache
+    private static final boolean CACHE_ENABLED = Play.application().configuration()
+        .getBoolean("colosseum.installer.cache.enabled", false);
+    private static final String CACHE_URL =
+        Play.application().configuration().getString("colosseum.installer.cache.url");
 
     //KairosDB
     protected static final String KAIROSDB_ARCHIVE = "kairosdb.tar.gz";
     protected static final String KAIRROSDB_DIR = "kairosdb";
-    protected static final String KAIROSDB_DOWNLOAD = Play.application().configuration()
-        .getString("colosseum.installer.abstract.kairosdb.download");
+    protected static final String KAIROSDB_DOWNLOAD = artifactUrl(Play.application()
+        .configuration().getString("colosseum.installer.abstract.kairosdb.download"));
 
     //Visor
     protected static final String VISOR_JAR = "visor.jar";
-    protected static final String VISOR_DOWNLOAD =
-        Play.application().configuration().getString("colosseum.installer.abstract.visor.download");
+    protected static final String VISOR_DOWNLOAD = artifactUrl(Play.application()
+        .configuration().getString("colosseum.installer.abstract.visor.download"));
 
     //Lance
     protected static final String LANCE_JAR = "lance.jar";
-    protected static final String LANCE_DOWNLOAD =
-        Play.application().configuration().getString("colosseum.installer.abstract.lance.download");
+    protected static final String LANCE_DOWNLOAD = artifactUrl(Play.application()
+        .configuration().getString("colosseum.installer.abstract.lance.download"));
 
     //Java
     protected static final String JAVA_DIR = "jre8";
@@ -74,45 +118,190 @@ abstract class AbstractInstaller implements InstallApi {
 
     protected static final String VISOR_PROPERTIES = "default.properties";
 
-    public AbstractInstaller(RemoteConnection remoteConnection, VirtualMachine virtualMachine) {
+    public AbstractInstaller(RemoteConnection remoteConnection,
+        RemoteConnectionStrategy remoteConnectionStrategy, Executor executor,
+        VirtualMachine virtualMachine) {
 
         checkNotNull(remoteConnection);
+        checkNotNull(remoteConnectionStrategy);
+        checkNotNull(executor);
         checkNotNull(virtualMachine);
         checkArgument(virtualMachine.publicIpAddress().isPresent(),
             "VirtualMachine has no public ip.");
 
         this.remoteConnection = remoteConnection;
+        this.remoteConnectionStrategy = remoteConnectionStrategy;
+        this.executor = executor;
         this.virtualMachine = virtualMachine;
+        this.virtualMachineUuid = virtualMachine.getUuid();
+        this.idleConnections.add(remoteConnection);
 
     }
 
-    @Override public void downloadSources() {
+    /**
+     * Creates a pipeline for the installation steps, resolving the attributes of the
+     * virtual machine used by the steps and opening up to colosseum.installer.connections
+     * remote connections first.
+     * <p>
+     * Needs to be called by the thread owning the entity manager.
+     *
+     * @param name the name of the pipeline.
+     * @return the new pipeline.
+     */
+    protected final InstallPipeline pipeline(String name) {
+        if (this.publicIp == null) {
+            this.cloudUuid = virtualMachine.cloud().getUuid();
+            this.publicIp = virtualMachine.publicIpAddress().get().getIp();
+            this.privateIp = virtualMachine.privateIpAddress(true).get().getIp();
+            this.providerId = virtualMachine.providerId().orElse(null);
+            openAdditionalConnections();
+        }
+        return new InstallPipeline(name, executor, this::runOnIdleConnection);
+    }
 
-        Logger.debug("Start downloading sources...");
-        ExecutorService executorService = Executors.newFixedThreadPool(NUMBER_OF_DOWNLOAD_THREADS);
+    private void openAdditionalConnections() {
+        try {
+            while (additionalConnections.size() < CONNECTIONS - 1) {
+                final RemoteConnection connection =
+                    remoteConnectionStrategy.connect(virtualMachine);
+                additionalConnections.add(connection);
+                idleConnections.add(connection);
+            }
+        } catch (RemoteException | RuntimeException e) {
+            Logger.warn(String
+                .format("Could not open additional remote connection to %s, using %s connections.",
+                    virtualMachineUuid, additionalConnections.size() + 1), e);
+        }
+    }
+
+    /**
+     * Runs the step on a remote connection no other step uses meanwhile, waiting
+     * for one if all are in use.
+     */
+    private void runOnIdleConnection(InstallPipeline.Step step) throws RemoteException {
+        final RemoteConnection connection;
+        try {
+            connection = idleConnections.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a remote connection.",
+                e);
+        }
+        stepConnection.set(connection);
+        try {
+            step.run();
+        } finally {
+            stepConnection.remove();
+            idleConnections.add(connection);
+        }
+    }
 
-        List<Callable<Integer>> tasks = new ArrayList<>();
+    /**
+     * @return the remote connection of the current installation step, or the remote
+     * connection of the installer outside of a step.
+     */
+    protected final RemoteConnection connection() {
+        final RemoteConnection connection = stepConnection.get();
+        return connection == null ? this.remoteConnection : connection;
+    }
 
-        for (final String downloadCommand : this.sourcesList) {
+    /**
+     * Executes the command on the virtual machine, using the connection of the
+     * current installation step.
+     *
+     * @param command the command.
+     * @throws RemoteException if the execution failed.
+     */
+    protected final void executeCommand(String command) throws RemoteException {
+        connection().executeCommand(command);
+    }
 
-            Callable<Integer> downloadTask =
-                new DownloadTask(this.remoteConnection, downloadCommand);
-            tasks.add(downloadTask);
+    /**
+     * Writes the file on the virtual machine, using the connection of the current
+     * installation step.
+     *
+     * @param path       the path of the file.
+     * @param content    the content of the file.
+     * @param executable if the file is made executable.
+     * @throws RemoteException if writing the file failed.
+     */
+    protected final void writeFile(String path, String content, boolean executable)
+        throws RemoteException {
+        connection().writeFile(path, content, executable);
+    }
+
+    /**
+     * Rewrites the download url of an artifact to the artifact cache, if enabled.
+     *
+     * @param download the url the artifact is downloaded from.
+     * @return the url the virtual machine downloads the artifact from.
+     * @see ArtifactCache
+     */
+    protected static String artifactUrl(String download) {
+        if (!CACHE_ENABLED) {
+            return download;
         }
         try {
-            List<Future<Integer>> results = executorService.invokeAll(tasks);
+            return CACHE_URL + "?source=" + URLEncoder.encode(download, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new AssertionError("UTF-8 is not supported", e);
+        }
+    }
+
+    /**
+     * @param artifact the artifact.
+     * @return the name of the installation step downloading the artifact.
+     */
+    protected static String downloadStep(String artifact) {
+        return "download " + artifact;
+    }
 
-            for (Future<Integer> exitCode : results) {
-                if (exitCode.get() != 0) {
-                    throw new RuntimeException("Downloading of one or more sources failed!");
+    /**
+     * Adds one step per source, downloading it.
+     *
+     * @param pipeline the pipeline to add the steps to.
+     */
+    protected final void addDownloadSteps(InstallPipeline pipeline) {
+        for (Map.Entry<String, String> source : this.sources.entrySet()) {
+            pipeline.step(downloadStep(source.getKey()), () -> {
+                final int exitStatus = new DownloadTask(connection(), source.getValue()).call();
+                if (exitStatus != 0) {
+                    throw new IllegalStateException(String
+                        .format("Downloading %s failed with exit status %s.", source.getKey(),
+                            exitStatus));
                 }
+            });
+        }
+    }
+
+    /**
+     * Collects the given steps and the download steps of the given artifacts,
+     * skipping artifacts without source.
+     */
+    protected final String[] dependencies(List<String> steps, String... artifacts) {
+        final List<String> dependencies = new ArrayList<>(steps);
+        for (String artifact : artifacts) {
+            if (this.sources.containsKey(artifact)) {
+                dependencies.add(downloadStep(artifact));
             }
+        }
+        return dependencies.toArray(new String[dependencies.size()]);
+    }
+
+    protected final String[] dependencies(String step, String... artifacts) {
+        return dependencies(Collections.singletonList(step), artifacts);
+    }
+
+    @Override public void downloadSources() {
+
+        Logger.debug("Start downloading sources...");
+        final InstallPipeline pipeline = this.pipeline(virtualMachineUuid + " downloads");
+        this.addDownloadSteps(pipeline);
+        try {
+            pipeline.execute();
             Logger.debug("All sources downloaded successfully!");
-            executorService.shutdown();
-        } catch (InterruptedException e) {
-            Logger.error("Installer: Interrupted Exception while downloading sources!", e);
-        } catch (ExecutionException e) {
-            Logger.error("Installer: Execution Exception while downloading sources!", e);
+        } catch (RemoteException | RuntimeException e) {
+            throw new RuntimeException("Downloading of one or more sources failed!", e);
         }
 
     }
@@ -133,7 +322,7 @@ abstract class AbstractInstaller implements InstallApi {
         String homeDomainIp = inetAddress.getHostAddress();
         */
 
-        checkState(virtualMachine.providerId().isPresent());
+        checkState(providerId != null);
 
 
         return "executionThreads = " + Play.application().configuration()
@@ -154,12 +343,13 @@ abstract class AbstractInstaller implements InstallApi {
             .getString("colosseum.installer.abstract.visor.config.reportingModule") +
             "\n" + "chukwaUrl = " + Play.application().configuration()
             .getString("colosseum.installer.abstract.visor.config.chukwaUrl") + "\n" +
-            "chukwaVmId = " + virtualMachine.providerId().get();
+            "chukwaVmId = " + providerId;
 
     }
 
     @Override public void close() {
         Logger.info("Installation of all tools finished, closing remote connection!");
+        additionalConnections.forEach(RemoteConnection::close);
         this.remoteConnection.close();
     }
 }
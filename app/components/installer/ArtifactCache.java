@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package components.installer;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.Striped;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.typesafe.config.ConfigValue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import play.Configuration;
+import play.Logger;
+import util.logging.Loggers;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Caches the artifacts downloaded by the installers on the colosseum host.
+ * <p>
+ * If enabled by colosseum.installer.cache.enabled, the installers let the virtual
+ * machines download their artifacts from colosseum instead of the internet. Each
+ * artifact is downloaded only once into colosseum.installer.cache.directory.
+ * Only the downloads configured for the installers
+ * (colosseum.installer.*.download) are served.
+ */
+@Singleton public class ArtifactCache {
+
+    private static final Logger.ALogger LOGGER = Loggers.of(Loggers.INSTALLATION);
+    private static final int MAX_REDIRECTS = 5;
+
+    private final boolean enabled;
+    private final File directory;
+    private final Set<String> sources;
+    private final Striped<Lock> locks = Striped.lazyWeakLock(16);
+
+    @Inject public ArtifactCache(Configuration configuration) {
+        this.enabled = configuration.getBoolean("colosseum.installer.cache.enabled", false);
+        this.directory = new File(configuration.getString("colosseum.installer.cache.directory"));
+        ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+        for (Map.Entry<String, ConfigValue> entry : configuration.getConfig("colosseum.installer")
+            .entrySet()) {
+            if (entry.getKey().endsWith(".download")) {
+                builder.add(entry.getValue().unwrapped().toString());
+            }
+        }
+        this.sources = builder.build();
+    }
+
+    /**
+     * Retrieves the cached artifact of the given source, downloading it if
+     * it is not yet cached.
+     *
+     * @param source the url the artifact is downloaded from.
+     * @return the cached artifact, or empty if the cache is disabled or the source
+     * is not a configured installer download.
+     * @throws IOException if the download failed.
+     */
+    public Optional<File> artifact(String source) throws IOException {
+        checkNotNull(source);
+        if (!enabled || !sources.contains(source)) {
+            return Optional.empty();
+        }
+        final File file =
+            new File(directory, Hashing.sha1().hashString(source, Charsets.UTF_8).toString());
+        if (file.exists()) {
+            return Optional.of(file);
+        }
+        final Lock lock = locks.get(source);
+        lock.lock();
+        try {
+            if (!file.exists()) {
+                download(source, file);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return Optional.of(file);
+    }
+
+    private void download(String source, File file) throws IOException {
+        LOGGER.info(String.format("Downloading %s into the installer cache.", source));
+        final long startTime = System.nanoTime();
+        Files.createDirectories(directory.toPath());
+        final File temp = File.createTempFile(file.getName(), ".part", directory);
+        try (InputStream inputStream = open(source)) {
+            Files.copy(inputStream, temp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+        LOGGER.info(String.format("Cached %s in %s ms.", source,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)));
+    }
+
+    /**
+     * Opens the given url, following redirects across protocols, which
+     * {@link HttpURLConnection} does not.
+     */
+    private InputStream open(String source) throws IOException {
+        URL url = new URL(source);
+        for (int i = 0; i <= MAX_REDIRECTS; i++) {
+            final URLConnection connection = url.openConnection();
+            if (!(connection instanceof HttpURLConnection)) {
+                return connection.getInputStream();
+            }
+            final HttpURLConnection httpConnection = (HttpURLConnection) connection;
+            httpConnection.setInstanceFollowRedirects(false);
+            final int status = httpConnection.getResponseCode();
+            if (status < 300 || status >= 400) {
+                return httpConnection.getInputStream();
+            }
+            final String location = httpConnection.getHeaderField("Location");
+            httpConnection.disconnect();
+            if (location == null) {
+                throw new IOException(
+                    String.format("Redirect of %s without location.", url));
+            }
+            url = new URL(url, location);
+        }
+        throw new IOException(String.format("Too many redirects for %s.", source));
+    }
+}
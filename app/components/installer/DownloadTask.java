@@ -19,6 +19,7 @@
 package components.installer;
 
 import de.uniulm.omi.cloudiator.sword.api.remote.RemoteConnection;
+import de.uniulm.omi.cloudiator.sword.api.remote.RemoteException;
 
 import java.util.concurrent.Callable;
 
@@ -36,7 +37,7 @@ public class DownloadTask implements Callable<Integer> {
 
     }
 
-    @Override public Integer call() throws Exception {
+    @Override public Integer call() throws RemoteException {
         return this.remoteConnection.executeCommand(this.command).getExitStatus();
     }
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package components.installer;
+
+import com.google.common.base.Throwables;
+import de.uniulm.omi.cloudiator.sword.api.remote.RemoteException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import components.execution.ExecutorPool;
+import play.Logger;
+import util.logging.Loggers;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Executes the installation steps of a virtual machine as a directed acyclic graph.
+ * <p>
+ * A step starts as soon as all steps it depends on finished, so independent steps
+ * run concurrently. The steps of all installations share the
+ * {@link ExecutorPool#INSTALLER} pool. Each step is run by the {@link StepRunner}
+ * of the pipeline, e.g. on a remote connection of its own. The duration of each
+ * step is logged.
+ * <p>
+ * If a step fails, the steps depending on it are skipped, the execution fails with
+ * the first error once all other steps finished.
+ */
+class InstallPipeline {
+
+    private static final Logger.ALogger LOGGER = Loggers.of(Loggers.INSTALLATION);
+
+    interface Step {
+        void run() throws RemoteException;
+    }
+
+    interface StepRunner {
+        void run(Step step) throws RemoteException;
+    }
+
+    private final String name;
+    private final Executor executor;
+    private final StepRunner runner;
+    private final CompletableFuture<Void> start = new CompletableFuture<>();
+    private final Map<String, CompletableFuture<Void>> steps = new LinkedHashMap<>();
+    private final Map<String, Long> durations = new ConcurrentHashMap<>();
+    private boolean executed = false;
+
+    /**
+     * @param name     the name of the installation, used for logging.
+     * @param executor the executor running the steps.
+     * @param runner   runs each step.
+     */
+    InstallPipeline(String name, Executor executor, StepRunner runner) {
+        checkNotNull(name);
+        checkNotNull(executor);
+        checkNotNull(runner);
+        this.name = name;
+        this.executor = executor;
+        this.runner = runner;
+    }
+
+    /**
+     * Adds a step to the pipeline.
+     *
+     * @param stepName     the unique name of the step.
+     * @param step         the step.
+     * @param dependencies the names of the previously added steps this step depends on.
+     * @return this pipeline.
+     * @throws IllegalArgumentException if the name is already used or a dependency is unknown.
+     */
+    InstallPipeline step(String stepName, Step step, String... dependencies) {
+        checkNotNull(stepName);
+        checkNotNull(step);
+        checkState(!executed, "Pipeline was already executed.");
+        checkArgument(!steps.containsKey(stepName), "Step %s already exists.", stepName);
+
+        List<CompletableFuture<Void>> required = new ArrayList<>(dependencies.length + 1);
+        required.add(start);
+        for (String dependency : dependencies) {
+            checkArgument(steps.containsKey(dependency), "Unknown dependency %s of step %s.",
+                dependency, stepName);
+            required.add(steps.get(dependency));
+        }
+        steps.put(stepName,
+            CompletableFuture.allOf(required.toArray(new CompletableFuture[required.size()]))
+                .thenRunAsync(() -> run(stepName, step), executor));
+        return this;
+    }
+
+    private void run(String stepName, Step step) {
+        LOGGER.debug(String.format("Starting step %s of installation %s.", stepName, name));
+        final long startTime = System.nanoTime();
+        try {
+            runner.run(step);
+        } catch (RemoteException e) {
+            throw new CompletionException(e);
+        } finally {
+            final long duration =
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            durations.put(stepName, duration);
+            LOGGER.debug(String
+                .format("Finished step %s of installation %s in %s ms.", stepName, name,
+                    duration));
+        }
+    }
+
+    /**
+     * Executes all steps and waits until they finished.
+     *
+     * @throws RemoteException if a step failed with a remote exception.
+     */
+    void execute() throws RemoteException {
+        checkState(!executed, "Pipeline was already executed.");
+        executed = true;
+
+        final long startTime = System.nanoTime();
+        start.complete(null);
+        try {
+            CompletableFuture
+                .allOf(steps.values().toArray(new CompletableFuture[steps.size()])).join();
+        } catch (CompletionException e) {
+            Throwables.propagateIfInstanceOf(e.getCause(), RemoteException.class);
+            throw Throwables.propagate(e.getCause());
+        } finally {
+            LOGGER.info(String.format("Installation %s took %s ms, step durations in ms: %s", name,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), stepDurations()));
+        }
+    }
+
+    private Map<String, Long> stepDurations() {
+        //in the order the steps were added, skipped steps are absent
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (String stepName : steps.keySet()) {
+            if (durations.containsKey(stepName)) {
+                result.put(stepName, durations.get(stepName));
+            }
+        }
+        return result;
+    }
+}
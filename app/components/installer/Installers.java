@@ -18,8 +18,12 @@
 
 package components.installer;
 
+import cloud.strategies.RemoteConnectionStrategy;
 import components.installer.api.InstallApi;
 import de.uniulm.omi.cloudiator.sword.api.remote.RemoteConnection;
+
+import java.util.concurrent.Executor;
+
 import models.Tenant;
 import models.VirtualMachine;
 
@@ -32,13 +36,24 @@ public class Installers {
 
     }
 
-    public static InstallApi of(RemoteConnection remoteConnection, VirtualMachine virtualMachine,
-        Tenant tenant) {
+    /**
+     * @param remoteConnection         the connection to the virtual machine.
+     * @param remoteConnectionStrategy opens further connections for concurrent steps.
+     * @param executor                 runs the installation steps.
+     * @param virtualMachine           the virtual machine.
+     * @param tenant                   the tenant.
+     * @return the installer for the operating system of the virtual machine.
+     */
+    public static InstallApi of(RemoteConnection remoteConnection,
+        RemoteConnectionStrategy remoteConnectionStrategy, Executor executor,
+        VirtualMachine virtualMachine, Tenant tenant) {
         switch (virtualMachine.operatingSystem().operatingSystemFamily().operatingSystemType()) {
             case LINUX:
-                return new UnixInstaller(remoteConnection, virtualMachine, tenant);
+                return new UnixInstaller(remoteConnection, remoteConnectionStrategy, executor,
+                    virtualMachine, tenant);
             case WINDOWS:
-                return new WindowsInstaller(remoteConnection, virtualMachine, tenant);
+                return new WindowsInstaller(remoteConnection, remoteConnectionStrategy, executor,
+                    virtualMachine, tenant);
             default:
                 throw new UnsupportedOperationException(String
                     .format("OperatingSystemType %s is not supported by the installation logic",
@@ -18,8 +18,13 @@
 
 package components.installer;
 
+import cloud.strategies.RemoteConnectionStrategy;
 import de.uniulm.omi.cloudiator.sword.api.remote.RemoteConnection;
 import de.uniulm.omi.cloudiator.sword.api.remote.RemoteException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.Executor;
+
 import models.Tenant;
 import models.VirtualMachine;
 import play.Logger;
@@ -37,24 +42,25 @@ public class UnixInstaller extends AbstractInstaller {
     protected final String homeDir;
     private final String JAVA_BINARY;
     private static final String JAVA_ARCHIVE = "jre8.tar.gz";
-    private static final String JAVA_DOWNLOAD =
-        Play.application().configuration().getString("colosseum.installer.linux.java.download");
-    private static final String DOCKER_RETRY_DOWNLOAD = Play.application().configuration()
-        .getString("colosseum.installer.linux.lance.docker_retry.download");
-    private static final String DOCKER_FIX_MTU_DOWNLOAD = Play.application().configuration()
-        .getString("colosseum.installer.linux.lance.docker.mtu.download");
+    private static final String JAVA_DOWNLOAD = artifactUrl(
+        Play.application().configuration().getString("colosseum.installer.linux.java.download"));
+    private static final String DOCKER_RETRY_DOWNLOAD = artifactUrl(Play.application()
+        .configuration().getString("colosseum.installer.linux.lance.docker_retry.download"));
+    private static final String DOCKER_FIX_MTU_DOWNLOAD = artifactUrl(Play.application()
+        .configuration().getString("colosseum.installer.linux.lance.docker.mtu.download"));
     private static final String DOCKER_RETRY_INSTALL = "docker_retry.sh";
     private static final boolean KAIROS_REQUIRED = Play.application().configuration()
         .getBoolean("colosseum.installer.linux.kairosdb.install.flag");
     private static final boolean DOCKER_REQUIRED = Play.application().configuration()
         .getBoolean("colosseum.installer.linux.lance.docker.install.flag");
-    private final Tenant tenant;
+    private final String tenantUuid;
 
-    public UnixInstaller(RemoteConnection remoteConnection, VirtualMachine virtualMachine,
-        Tenant tenant) {
-        super(remoteConnection, virtualMachine);
+    public UnixInstaller(RemoteConnection remoteConnection,
+        RemoteConnectionStrategy remoteConnectionStrategy, Executor executor,
+        VirtualMachine virtualMachine, Tenant tenant) {
+        super(remoteConnection, remoteConnectionStrategy, executor, virtualMachine);
         String user = virtualMachine.loginName();
-        this.tenant = tenant;
+        this.tenantUuid = tenant.getUuid();
         //TODO: maybe use a common installation directory, e.g. /opt/cloudiator
         this.homeDir =
             virtualMachine.operatingSystem().operatingSystemFamily().operatingSystemType()
@@ -65,29 +71,31 @@ public class UnixInstaller extends AbstractInstaller {
     @Override public void initSources() {
 
         //java
-        this.sourcesList
-            .add("wget " + UnixInstaller.JAVA_DOWNLOAD + "  -O " + UnixInstaller.JAVA_ARCHIVE);
+        this.sources.put(UnixInstaller.JAVA_ARCHIVE,
+            "wget " + UnixInstaller.JAVA_DOWNLOAD + "  -O " + UnixInstaller.JAVA_ARCHIVE);
         //lance
-        this.sourcesList
-            .add("wget " + UnixInstaller.LANCE_DOWNLOAD + "  -O " + UnixInstaller.LANCE_JAR);
+        this.sources.put(UnixInstaller.LANCE_JAR,
+            "wget " + UnixInstaller.LANCE_DOWNLOAD + "  -O " + UnixInstaller.LANCE_JAR);
 
         if (DOCKER_REQUIRED) {
             //docker
-            this.sourcesList.add("wget " + UnixInstaller.DOCKER_RETRY_DOWNLOAD + "  -O "
-                + UnixInstaller.DOCKER_RETRY_INSTALL);
-            this.sourcesList.add("wget " + UnixInstaller.DOCKER_FIX_MTU_DOWNLOAD + "  -O "
-                + UnixInstaller.DOCKER_FIX_MTU_INSTALL);
+            this.sources.put(UnixInstaller.DOCKER_RETRY_INSTALL,
+                "wget " + UnixInstaller.DOCKER_RETRY_DOWNLOAD + "  -O "
+                    + UnixInstaller.DOCKER_RETRY_INSTALL);
+            this.sources.put(UnixInstaller.DOCKER_FIX_MTU_INSTALL,
+                "wget " + UnixInstaller.DOCKER_FIX_MTU_DOWNLOAD + "  -O "
+                    + UnixInstaller.DOCKER_FIX_MTU_INSTALL);
         }
 
         if (KAIROS_REQUIRED) {
             //kairosDB
-            this.sourcesList.
-                add("wget " + UnixInstaller.KAIROSDB_DOWNLOAD + "  -O "
+            this.sources.put(UnixInstaller.KAIROSDB_ARCHIVE,
+                "wget " + UnixInstaller.KAIROSDB_DOWNLOAD + "  -O "
                     + UnixInstaller.KAIROSDB_ARCHIVE);
         }
         //visor
-        this.sourcesList
-            .add("wget " + UnixInstaller.VISOR_DOWNLOAD + "  -O " + UnixInstaller.VISOR_JAR);
+        this.sources.put(UnixInstaller.VISOR_JAR,
+            "wget " + UnixInstaller.VISOR_DOWNLOAD + "  -O " + UnixInstaller.VISOR_JAR);
 
     }
 
@@ -97,9 +105,9 @@ public class UnixInstaller extends AbstractInstaller {
 
         LOGGER.debug(String.format("Starting Java installation on vm %s", virtualMachine));
         //create directory
-        this.remoteConnection.executeCommand("mkdir " + UnixInstaller.JAVA_DIR);
+        this.executeCommand("mkdir " + UnixInstaller.JAVA_DIR);
         //extract java
-        this.remoteConnection.executeCommand(
+        this.executeCommand(
             "tar zxvf " + UnixInstaller.JAVA_ARCHIVE + " -C " + UnixInstaller.JAVA_DIR
                 + " --strip-components=1");
         // do not set symbolic link or PATH as there might be other Java versions on the VM
@@ -111,11 +119,11 @@ public class UnixInstaller extends AbstractInstaller {
 
         LOGGER.debug(String.format("Setting up Visor on vm %s", virtualMachine));
         //create properties file
-        this.remoteConnection.writeFile(this.homeDir + "/" + UnixInstaller.VISOR_PROPERTIES,
+        this.writeFile(this.homeDir + "/" + UnixInstaller.VISOR_PROPERTIES,
             this.buildDefaultVisorConfig(), false);
 
         //start visor
-        this.remoteConnection.executeCommand(
+        this.executeCommand(
             "sudo nohup bash -c '" + this.JAVA_BINARY + " -jar " + UnixInstaller.VISOR_JAR
                 + " -conf " + UnixInstaller.VISOR_PROPERTIES + " &> /dev/null &'");
         LOGGER.debug(String.format("Visor started successfully on vm %s", virtualMachine));
@@ -127,13 +135,13 @@ public class UnixInstaller extends AbstractInstaller {
 
             LOGGER
                 .debug(String.format("Installing and starting KairosDB on vm %s", virtualMachine));
-            this.remoteConnection.executeCommand("mkdir " + UnixInstaller.KAIRROSDB_DIR);
+            this.executeCommand("mkdir " + UnixInstaller.KAIRROSDB_DIR);
 
-            this.remoteConnection.executeCommand(
+            this.executeCommand(
                 "tar  zxvf " + UnixInstaller.KAIROSDB_ARCHIVE + " -C " + UnixInstaller.KAIRROSDB_DIR
                     + " --strip-components=1");
 
-            this.remoteConnection.executeCommand(
+            this.executeCommand(
                 " sudo su -c \"(export PATH=\"" + this.homeDir + "/jre8/bin/:\"$PATH;nohup "
                     + UnixInstaller.KAIRROSDB_DIR + "/bin/kairosdb.sh start)\"");
 
@@ -147,32 +155,29 @@ public class UnixInstaller extends AbstractInstaller {
             LOGGER.debug(
                 String.format("Installing and starting Lance: Docker on vm %s", virtualMachine));
 
-            this.remoteConnection
-                .executeCommand("sudo chmod +x " + UnixInstaller.DOCKER_RETRY_INSTALL);
+            this.executeCommand("sudo chmod +x " + UnixInstaller.DOCKER_RETRY_INSTALL);
             // Install docker via the retry script:
-            this.remoteConnection.executeCommand(
+            this.executeCommand(
                 "sudo nohup ./" + UnixInstaller.DOCKER_RETRY_INSTALL
                     + " > docker_retry_install.out 2>&1");
-            this.remoteConnection
-                .executeCommand("sudo chmod +x " + UnixInstaller.DOCKER_FIX_MTU_INSTALL);
-            this.remoteConnection.executeCommand(
+            this.executeCommand("sudo chmod +x " + UnixInstaller.DOCKER_FIX_MTU_INSTALL);
+            this.executeCommand(
                 "sudo nohup ./" + UnixInstaller.DOCKER_FIX_MTU_INSTALL
                     + " > docker_mtu_fix.out 2>&1");
-            this.remoteConnection.executeCommand(
+            this.executeCommand(
                 "sudo nohup bash -c 'service docker restart' > docker_start.out 2>&1 ");
 
         }
         LOGGER.debug(String.format("Installing and starting Lance on vm %s", virtualMachine));
 
         //start Lance
-        this.remoteConnection.executeCommand(
-            "nohup bash -c '" + this.JAVA_BINARY + " " + " -Dhost.ip.public=" + this.virtualMachine
-                .publicIpAddress().get().getIp() + " -Dhost.ip.private=" + this.virtualMachine
-                .privateIpAddress(true).get().getIp() + " -Djava.rmi.server.hostname="
-                + this.virtualMachine.publicIpAddress().get().getIp() + " -Dhost.vm.id="
-                + this.virtualMachine.getUuid() + " -Dhost.vm.cloud.tenant.id=" + this.tenant
-                .getUuid() + " -Dhost.vm.cloud.id=" + this.virtualMachine.cloud().getUuid()
-                + " -jar " + UnixInstaller.LANCE_JAR + " > lance.out 2>&1 &' > lance.out 2>&1");
+        this.executeCommand(
+            "nohup bash -c '" + this.JAVA_BINARY + " " + " -Dhost.ip.public=" + this.publicIp
+                + " -Dhost.ip.private=" + this.privateIp + " -Djava.rmi.server.hostname="
+                + this.publicIp + " -Dhost.vm.id=" + this.virtualMachineUuid
+                + " -Dhost.vm.cloud.tenant.id=" + this.tenantUuid + " -Dhost.vm.cloud.id="
+                + this.cloudUuid + " -jar " + UnixInstaller.LANCE_JAR
+                + " > lance.out 2>&1 &' > lance.out 2>&1");
 
         LOGGER.debug(
             String.format("Lance installed and started successfully on vm %s", virtualMachine));
@@ -184,15 +189,20 @@ public class UnixInstaller extends AbstractInstaller {
             String.format("Starting installation of all tools on UNIX on vm %s", virtualMachine));
 
         this.initSources();
-        this.downloadSources();
-
-        this.installJava();
-
-        this.installLance();
-
-        this.installKairosDb();
 
-        this.installVisor();
+        //lance and kairosDB only need java, visor reports to kairosDB
+        final InstallPipeline pipeline = this.pipeline(virtualMachineUuid);
+        this.addDownloadSteps(pipeline);
+        pipeline.step(JAVA_STEP, this::installJava,
+            dependencies(Collections.emptyList(), UnixInstaller.JAVA_ARCHIVE))
+            .step(LANCE_STEP, this::installLance,
+                dependencies(JAVA_STEP, UnixInstaller.LANCE_JAR,
+                    UnixInstaller.DOCKER_RETRY_INSTALL, UnixInstaller.DOCKER_FIX_MTU_INSTALL))
+            .step(KAIROSDB_STEP, this::installKairosDb,
+                dependencies(JAVA_STEP, UnixInstaller.KAIROSDB_ARCHIVE))
+            .step(VISOR_STEP, this::installVisor,
+                dependencies(Arrays.asList(JAVA_STEP, KAIROSDB_STEP), UnixInstaller.VISOR_JAR));
+        pipeline.execute();
     }
 }
 
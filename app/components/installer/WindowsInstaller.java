@@ -18,8 +18,13 @@
 
 package components.installer;
 
+import cloud.strategies.RemoteConnectionStrategy;
 import de.uniulm.omi.cloudiator.sword.api.remote.RemoteConnection;
 import de.uniulm.omi.cloudiator.sword.api.remote.RemoteException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.Executor;
+
 import models.Tenant;
 import models.VirtualMachine;
 import play.Logger;
@@ -44,19 +49,21 @@ public class WindowsInstaller extends AbstractInstaller {
     private static final String LANCE_BAT = "startLance.bat";
     private static final boolean KAIROS_REQUIRED = Play.application().configuration()
         .getBoolean("colosseum.installer.windows.kairosdb.install.flag");
-    private static final String JAVA_DOWNLOAD =
-        Play.application().configuration().getString("colosseum.installer.windows.java.download");
-    private static final String SEVEN_ZIP_DOWNLOAD =
-        Play.application().configuration().getString("colosseum.installer.windows.7zip.download");
+    private static final String JAVA_DOWNLOAD = artifactUrl(
+        Play.application().configuration().getString("colosseum.installer.windows.java.download"));
+    private static final String SEVEN_ZIP_DOWNLOAD = artifactUrl(
+        Play.application().configuration().getString("colosseum.installer.windows.7zip.download"));
+    private static final String SEVEN_ZIP_STEP = "7zip";
     private final String user;
     private final String password;
-    private final Tenant tenant;
+    private final String tenantUuid;
 
 
 
-    public WindowsInstaller(RemoteConnection remoteConnection, VirtualMachine virtualMachine,
-        Tenant tenant) {
-        super(remoteConnection, virtualMachine);
+    public WindowsInstaller(RemoteConnection remoteConnection,
+        RemoteConnectionStrategy remoteConnectionStrategy, Executor executor,
+        VirtualMachine virtualMachine, Tenant tenant) {
+        super(remoteConnection, remoteConnectionStrategy, executor, virtualMachine);
 
         this.user = virtualMachine.loginName();
         checkArgument(virtualMachine.loginPassword().isPresent(),
@@ -66,35 +73,39 @@ public class WindowsInstaller extends AbstractInstaller {
         this.homeDir =
             virtualMachine.operatingSystem().operatingSystemFamily().operatingSystemType()
                 .homeDirFunction().apply(this.user);
-        this.tenant = tenant;
+        this.tenantUuid = tenant.getUuid();
 
     }
 
     @Override public void initSources() {
 
         //java
-        this.sourcesList.add("powershell -command (new-object System.Net.WebClient).DownloadFile('"
-            + WindowsInstaller.JAVA_DOWNLOAD + "','" + this.homeDir + "\\"
-            + WindowsInstaller.JAVA_EXE + "')");
+        this.sources.put(WindowsInstaller.JAVA_EXE,
+            "powershell -command (new-object System.Net.WebClient).DownloadFile('"
+                + WindowsInstaller.JAVA_DOWNLOAD + "','" + this.homeDir + "\\"
+                + WindowsInstaller.JAVA_EXE + "')");
         //7zip
-        this.sourcesList.add("powershell -command (new-object System.Net.WebClient).DownloadFile('"
-            + WindowsInstaller.SEVEN_ZIP_DOWNLOAD + "','" + this.homeDir + "\\"
-            + WindowsInstaller.SEVEN_ZIP_ARCHIVE + "')");
+        this.sources.put(WindowsInstaller.SEVEN_ZIP_ARCHIVE,
+            "powershell -command (new-object System.Net.WebClient).DownloadFile('"
+                + WindowsInstaller.SEVEN_ZIP_DOWNLOAD + "','" + this.homeDir + "\\"
+                + WindowsInstaller.SEVEN_ZIP_ARCHIVE + "')");
         //download visor
-        this.sourcesList.add("powershell -command (new-object System.Net.WebClient).DownloadFile('"
-            + WindowsInstaller.VISOR_DOWNLOAD + "','" + this.homeDir + "\\"
-            + WindowsInstaller.VISOR_JAR + "')");
+        this.sources.put(WindowsInstaller.VISOR_JAR,
+            "powershell -command (new-object System.Net.WebClient).DownloadFile('"
+                + WindowsInstaller.VISOR_DOWNLOAD + "','" + this.homeDir + "\\"
+                + WindowsInstaller.VISOR_JAR + "')");
         if (KAIROS_REQUIRED) {
             //download kairosDB
-            this.sourcesList.add(
+            this.sources.put(WindowsInstaller.KAIROSDB_ARCHIVE,
                 "powershell -command (new-object System.Net.WebClient).DownloadFile('"
                     + WindowsInstaller.KAIROSDB_DOWNLOAD + "','" + this.homeDir + "\\"
                     + WindowsInstaller.KAIROSDB_ARCHIVE + "')");
         }
         //lance
-        this.sourcesList.add("powershell -command (new-object System.Net.WebClient).DownloadFile('"
-            + WindowsInstaller.LANCE_DOWNLOAD + "','" + this.homeDir + "\\"
-            + WindowsInstaller.LANCE_JAR + "')");
+        this.sources.put(WindowsInstaller.LANCE_JAR,
+            "powershell -command (new-object System.Net.WebClient).DownloadFile('"
+                + WindowsInstaller.LANCE_DOWNLOAD + "','" + this.homeDir + "\\"
+                + WindowsInstaller.LANCE_JAR + "')");
 
 
     }
@@ -102,14 +113,14 @@ public class WindowsInstaller extends AbstractInstaller {
     @Override public void installJava() throws RemoteException {
 
         LOGGER.debug("Installing Java...");
-        this.remoteConnection.executeCommand(
+        this.executeCommand(
             "powershell -command " + this.homeDir + "\\jre8.exe /s INSTALLDIR=" + this.homeDir
                 + "\\" + WindowsInstaller.JAVA_DIR);
 
         //Set JAVA envirnonment vars, use SETX for setting the vars for all future session use /m for machine scope
-        remoteConnection.executeCommand(
+        this.executeCommand(
             "SETX PATH %PATH%;" + this.homeDir + "\\" + WindowsInstaller.JAVA_DIR + "\\bin /m");
-        remoteConnection.executeCommand(
+        this.executeCommand(
             "SETX JAVA_HOME " + this.homeDir + "\\" + WindowsInstaller.JAVA_DIR + " /m");
 
         LOGGER.debug("Java successfully installed!");
@@ -119,7 +130,7 @@ public class WindowsInstaller extends AbstractInstaller {
 
     private void install7Zip() throws RemoteException {
         LOGGER.debug("Unzipping 7zip...");
-        this.remoteConnection.executeCommand(
+        this.executeCommand(
             "powershell -command & { Add-Type -A 'System.IO.Compression.FileSystem'; [IO.Compression.ZipFile]::ExtractToDirectory('"
                 + this.homeDir + "\\" + WindowsInstaller.SEVEN_ZIP_ARCHIVE + "', '" + this.homeDir
                 + "\\" + WindowsInstaller.SEVEN_ZIP_DIR + "'); }");
@@ -131,7 +142,7 @@ public class WindowsInstaller extends AbstractInstaller {
         LOGGER.debug("Setting up and starting Visor");
 
         //create properties file
-        this.remoteConnection.writeFile(this.homeDir + "\\" + WindowsInstaller.VISOR_PROPERTIES,
+        this.writeFile(this.homeDir + "\\" + WindowsInstaller.VISOR_PROPERTIES,
             this.buildDefaultVisorConfig(), false);
 
         //id of the visor schtasks
@@ -141,28 +152,27 @@ public class WindowsInstaller extends AbstractInstaller {
         String startCommand =
             "java -jar " + this.homeDir + "\\" + WindowsInstaller.VISOR_JAR + " -conf "
                 + this.homeDir + "\\" + WindowsInstaller.VISOR_PROPERTIES;
-        this.remoteConnection
-            .writeFile(this.homeDir + "\\" + WindowsInstaller.VISOR_BAT, startCommand, false);
+        this.writeFile(this.homeDir + "\\" + WindowsInstaller.VISOR_BAT, startCommand, false);
 
         //set firewall rules
-        this.remoteConnection.executeCommand(
+        this.executeCommand(
             "powershell -command netsh advfirewall firewall add rule name = 'Visor Rest Port' dir = in action = allow protocol=TCP localport="
                 + Play.application().configuration()
                 .getString("colosseum.installer.abstract.visor.config.restPort"));
-        this.remoteConnection.executeCommand(
+        this.executeCommand(
             "powershell -command netsh advfirewall firewall add rule name = 'Visor Telnet Port' dir = in action = allow protocol=TCP localport="
                 + Play.application().configuration()
                 .getString("colosseum.installer.abstract.visor.config.telnetPort"));
 
 
         //create schtaks
-        this.remoteConnection.executeCommand(
+        this.executeCommand(
             "schtasks.exe " + "/create " + "/st 00:00  " + "/sc ONCE " + "/ru " + this.user + " "
                 + "/rp " + this.password + " " + "/tn " + visorJobId + " /tr \"" + this.homeDir
                 + "\\" + WindowsInstaller.VISOR_BAT + "\"");
         this.waitForSchtaskCreation();
         //run schtask
-        this.remoteConnection.executeCommand("schtasks.exe /run /tn " + visorJobId);
+        this.executeCommand("schtasks.exe /run /tn " + visorJobId);
 
         LOGGER.debug("Visor started successfully!");
 
@@ -173,18 +183,18 @@ public class WindowsInstaller extends AbstractInstaller {
         if (KAIROS_REQUIRED) {
             LOGGER.debug("Extract, setup and start KairosDB...");
             //extract kairosdb
-            this.remoteConnection.executeCommand(
+            this.executeCommand(
                 "powershell -command " + this.homeDir + "\\" + WindowsInstaller.SEVEN_ZIP_DIR + "\\"
                     + WindowsInstaller.SEVEN_ZIP_EXE + " e " + this.homeDir + "\\"
                     + WindowsInstaller.KAIROSDB_ARCHIVE + " -o" + this.homeDir);
             String kairosDbTar = WindowsInstaller.KAIROSDB_ARCHIVE.replace(".gz", "");
-            this.remoteConnection.executeCommand(
+            this.executeCommand(
                 "powershell -command " + this.homeDir + "\\" + WindowsInstaller.SEVEN_ZIP_DIR + "\\"
                     + WindowsInstaller.SEVEN_ZIP_EXE + " x " + this.homeDir + "\\" + kairosDbTar
                     + " -o" + this.homeDir);
 
             //set firewall rule
-            this.remoteConnection.executeCommand(
+            this.executeCommand(
                 "powershell -command netsh advfirewall firewall add rule name = 'Kairos Port' dir = in action = allow protocol=TCP localport="
                     + Play.application().configuration()
                     .getString("colosseum.installer.abstract.visor.config.kairosPort"));
@@ -192,18 +202,17 @@ public class WindowsInstaller extends AbstractInstaller {
             //create a .bat file to start kairosDB, because it is not possible to pass schtasks paramters using overthere
             String startCommand =
                 this.homeDir + "\\" + WindowsInstaller.KAIRROSDB_DIR + "\\bin\\kairosdb.bat run ";
-            this.remoteConnection
-                .writeFile(this.homeDir + "\\" + WindowsInstaller.KAIROSDB_BAT, startCommand,
+            this.writeFile(this.homeDir + "\\" + WindowsInstaller.KAIROSDB_BAT, startCommand,
                     false);
 
             //start kairosdb in backround
             String kairosJobId = "kairosDB";
-            this.remoteConnection.executeCommand(
+            this.executeCommand(
                 "schtasks.exe /create " + "/st 00:00  " + "/sc ONCE " + "/ru " + this.user + " "
                     + "/rp " + this.password + " " + "/tn " + kairosJobId + " " + "/tr \""
                     + this.homeDir + "\\" + WindowsInstaller.KAIROSDB_BAT + "\"");
             this.waitForSchtaskCreation();
-            this.remoteConnection.executeCommand("schtasks.exe /run /tn " + kairosJobId);
+            this.executeCommand("schtasks.exe /run /tn " + kairosJobId);
             LOGGER.debug("KairosDB successfully started!");
         }
 
@@ -213,35 +222,32 @@ public class WindowsInstaller extends AbstractInstaller {
         LOGGER.error("Setting up Lance...");
 
         LOGGER.error("Opening Firewall ports for Lance...");
-        this.remoteConnection.executeCommand(
+        this.executeCommand(
             "powershell -command netsh advfirewall firewall add rule name = 'Lance RMI' dir = in action = allow protocol=TCP localport="
                 + Play.application().configuration()
                 .getString("colosseum.installer.abstract.lance.rmiPort"));
-        this.remoteConnection.executeCommand(
+        this.executeCommand(
             "powershell -command netsh advfirewall firewall add rule name = 'Lance Server' dir = in action = allow protocol=TCP localport="
                 + Play.application().configuration()
                 .getString("colosseum.installer.abstract.lance.serverPort"));
 
         //create a .bat file to start Lance, because it is not possible to pass schtasks paramters using overthere
         String startCommand =
-            " java " + " -Dhost.ip.public=" + this.virtualMachine.publicIpAddress().get().getIp()
-                + " -Dhost.ip.private=" + this.virtualMachine.privateIpAddress(true).get().getIp()
-                + " -Djava.rmi.server.hostname=" + this.virtualMachine.publicIpAddress().get()
-                .getIp() + " -Dhost.vm.id=" + this.virtualMachine.getUuid()
-                + " -Dhost.vm.cloud.tenant.id=" + this.tenant.getUuid() + " -Dhost.vm.cloud.id="
-                + this.virtualMachine.cloud().getUuid() + " -jar " + this.homeDir + "\\"
-                + WindowsInstaller.LANCE_JAR;
-        this.remoteConnection
-            .writeFile(this.homeDir + "\\" + WindowsInstaller.LANCE_BAT, startCommand, false);
+            " java " + " -Dhost.ip.public=" + this.publicIp + " -Dhost.ip.private="
+                + this.privateIp + " -Djava.rmi.server.hostname=" + this.publicIp
+                + " -Dhost.vm.id=" + this.virtualMachineUuid + " -Dhost.vm.cloud.tenant.id="
+                + this.tenantUuid + " -Dhost.vm.cloud.id=" + this.cloudUuid + " -jar "
+                + this.homeDir + "\\" + WindowsInstaller.LANCE_JAR;
+        this.writeFile(this.homeDir + "\\" + WindowsInstaller.LANCE_BAT, startCommand, false);
 
         //start lance in backround
         String lanceJobId = "lance";
-        this.remoteConnection.executeCommand(
+        this.executeCommand(
             "schtasks.exe " + "/create " + "/st 00:00  " + "/sc ONCE " + "/ru " + this.user + " "
                 + "/rp " + this.password + " " + "/tn " + lanceJobId + " " + "/tr \"" + this.homeDir
                 + "\\" + WindowsInstaller.LANCE_BAT + "\"");
         this.waitForSchtaskCreation();
-        this.remoteConnection.executeCommand("schtasks.exe /run /tn " + lanceJobId);
+        this.executeCommand("schtasks.exe /run /tn " + lanceJobId);
         LOGGER.debug("Lance successfully started!");
 
     }
@@ -251,16 +257,22 @@ public class WindowsInstaller extends AbstractInstaller {
         LOGGER.debug("Starting installation of all tools on WINDOWS...");
 
         this.initSources();
-        this.downloadSources();
-
-        this.installJava();
-
-        this.installLance();
-
-        this.install7Zip();
-        this.installKairosDb();
 
-        this.installVisor();
+        //lance and kairosDB only need java, visor reports to kairosDB
+        final InstallPipeline pipeline = this.pipeline(virtualMachineUuid);
+        this.addDownloadSteps(pipeline);
+        pipeline.step(JAVA_STEP, this::installJava,
+            dependencies(Collections.emptyList(), WindowsInstaller.JAVA_EXE))
+            .step(SEVEN_ZIP_STEP, this::install7Zip,
+                dependencies(Collections.emptyList(), WindowsInstaller.SEVEN_ZIP_ARCHIVE))
+            .step(LANCE_STEP, this::installLance,
+                dependencies(JAVA_STEP, WindowsInstaller.LANCE_JAR))
+            .step(KAIROSDB_STEP, this::installKairosDb,
+                dependencies(Arrays.asList(JAVA_STEP, SEVEN_ZIP_STEP),
+                    WindowsInstaller.KAIROSDB_ARCHIVE))
+            .step(VISOR_STEP, this::installVisor,
+                dependencies(Arrays.asList(JAVA_STEP, KAIROSDB_STEP), WindowsInstaller.VISOR_JAR));
+        pipeline.execute();
     }
 
     private void waitForSchtaskCreation() {
@@ -20,20 +20,30 @@ package components.job;
 
 import com.google.common.base.MoreObjects;
 
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
 import cloud.colosseum.ColosseumComputeService;
 import models.Tenant;
 import models.generic.RemoteResource;
+import models.generic.RemoteResourceInCloud;
 import models.generic.RemoteState;
 import models.service.ModelService;
 import models.service.RemoteModelService;
 import play.db.jpa.JPAApi;
 
+import static com.google.common.base.Preconditions.checkState;
+
 /**
  * Created by daniel on 08.05.15.
  */
 public abstract class AbstractRemoteResourceJob<T extends RemoteResource> implements Job {
 
     private final String resourceUuid;
+    @Nullable private final String cloudUuid;
     private final String tenantUuid;
     private final ModelService<T> modelService;
     private final ColosseumComputeService colosseumComputeService;
@@ -46,6 +56,11 @@ public abstract class AbstractRemoteResourceJob<T extends RemoteResource> implem
         Tenant tenant) {
         this.colosseumComputeService = colosseumComputeService;
         this.resourceUuid = t.getUuid();
+        if (t instanceof RemoteResourceInCloud) {
+            this.cloudUuid = ((RemoteResourceInCloud) t).cloud().getUuid();
+        } else {
+            this.cloudUuid = null;
+        }
         this.modelService = modelService;
         this.tenantModelService = tenantModelService;
         this.tenantUuid = tenant.getUuid();
@@ -73,23 +88,35 @@ public abstract class AbstractRemoteResourceJob<T extends RemoteResource> implem
         this.doWork(modelService, colosseumComputeService);
     }
 
+    /**
+     * Per default, a job waits for the previous job of its resource.
+     */
+    @Override public Set<String> dependencies() {
+        return Collections.singleton(resourceUuid);
+    }
+
+    @Override public Optional<String> cloudUuid() {
+        return Optional.ofNullable(cloudUuid);
+    }
+
     protected final JPAApi jpaApi() {
         return this.jpaApi;
     }
 
+    /**
+     * Loads the resource of this job.
+     * <p>
+     * Jobs are only submitted after the transaction creating the resource
+     * committed, so the resource is always present, unless it was deleted
+     * in the meantime.
+     *
+     * @return the resource.
+     * @throws IllegalStateException if the resource does not exist.
+     */
     protected final T getT() {
-        /**
-         * todo: find a better way for waiting for the database
-         */
-        T t = null;
-        while (t == null) {
-            try {
-                Thread.sleep(2000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-            t = this.modelService.getByUuid(resourceUuid);
-        }
+        T t = this.modelService.getByUuid(resourceUuid);
+        checkState(t != null, String.format("Resource %s of job %s does not exist.", resourceUuid,
+            this));
         return t;
     }
 
@@ -22,13 +22,21 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
 
+import java.util.concurrent.Executor;
+
+import javax.annotation.Nullable;
+
 import cloud.CloudService;
 import cloud.colosseum.ColosseumComputeService;
 import cloud.strategies.KeyPairStrategy;
 import cloud.strategies.RemoteConnectionStrategy;
+import components.execution.AfterCommit;
+import components.execution.ExecutorPool;
+import components.execution.PooledExecutionService;
 import components.execution.SimpleBlockingQueue;
 import components.model.ModelValidationService;
 import models.Instance;
+import models.QueuedJob;
 import models.Tenant;
 import models.VirtualMachine;
 import models.service.ModelService;
@@ -54,13 +62,17 @@ import play.db.jpa.JPAApi;
     private final ModelValidationService modelValidationService;
     private final Configuration configuration;
     private final JPAApi jpaApi;
+    private final ModelService<QueuedJob> queuedJobModelService;
+    private final Executor installerExecutor;
 
     @Inject public BaseJobService(JPAApi jpaApi, Configuration configuration,
         RemoteModelService<VirtualMachine> virtualMachineModelService, CloudService cloudService,
         ModelService<Tenant> tenantModelService, RemoteModelService<Instance> instanceModelService,
         @Named("jobQueue") SimpleBlockingQueue<Job> jobQueue, KeyPairStrategy keyPairStrategy,
         RemoteConnectionStrategy.RemoteConnectionStrategyFactory remoteConnectionStrategyFactory,
-        PortProvidedService portProvidedService, ModelValidationService modelValidationService) {
+        PortProvidedService portProvidedService, ModelValidationService modelValidationService,
+        ModelService<QueuedJob> queuedJobModelService,
+        PooledExecutionService pooledExecutionService) {
         this.virtualMachineModelService = virtualMachineModelService;
         this.tenantModelService = tenantModelService;
         this.instanceModelService = instanceModelService;
@@ -72,31 +84,124 @@ import play.db.jpa.JPAApi;
         this.jobQueue = jobQueue;
         this.configuration = configuration;
         this.jpaApi = jpaApi;
+        this.queuedJobModelService = queuedJobModelService;
+        this.installerExecutor = pooledExecutionService.executor(ExecutorPool.INSTALLER);
+    }
+
+    /**
+     * Journals the job and submits it to the job queue, once the current
+     * transaction committed.
+     * <p>
+     * The {@link QueuedJob} journal entry is written in the transaction creating
+     * or modifying the resource, so it is committed or rolled back together
+     * with the resource. Jobs load their resource in their own transactions, so
+     * the transaction has to be committed beforehand. Jobs of rolled back
+     * transactions are discarded.
+     * <p>
+     * Without an active transaction, the job is neither journaled nor delayed.
+     *
+     * @param type   the journal type of the job.
+     * @param job    the job to submit.
+     * @param tenant the tenant the job is executed for.
+     */
+    private void submitAfterCommit(QueuedJob.Type type, Job job, Tenant tenant) {
+        if (!AfterCommit.inTransaction()) {
+            this.jobQueue.add(job);
+            return;
+        }
+        final QueuedJob queuedJob = new QueuedJob(type, job.getResourceUuid(), tenant.getUuid());
+        this.queuedJobModelService.save(queuedJob);
+        final Job journaledJob = journaled(job, queuedJob);
+        AfterCommit.run(() -> jobQueue.add(journaledJob));
+    }
+
+    private Job journaled(Job job, QueuedJob queuedJob) {
+        return new JournaledJob(job, queuedJob.getId(), jpaApi, queuedJobModelService);
+    }
+
+    /**
+     * Recreates the job of the given journal entry.
+     * <p>
+     * Needs to be called within a transaction.
+     *
+     * @param queuedJob the journal entry.
+     * @return the journaled job or null if its resource or tenant no longer exists.
+     */
+    @Nullable Job recover(QueuedJob queuedJob) {
+        final Tenant tenant = tenantModelService.getByUuid(queuedJob.getTenantUuid());
+        if (tenant == null) {
+            return null;
+        }
+        final String resourceUuid = queuedJob.getResourceUuid();
+        final Job job;
+        switch (queuedJob.getType()) {
+            case CREATE_VIRTUAL_MACHINE:
+                final VirtualMachine createdVirtualMachine =
+                    virtualMachineModelService.getByUuid(resourceUuid);
+                job = createdVirtualMachine == null ?
+                    null :
+                    createVirtualMachineJob(createdVirtualMachine, tenant);
+                break;
+            case CREATE_INSTANCE:
+                final Instance createdInstance = instanceModelService.getByUuid(resourceUuid);
+                job = createdInstance == null ? null : createInstanceJob(createdInstance, tenant);
+                break;
+            case DELETE_VIRTUAL_MACHINE:
+                final VirtualMachine deletedVirtualMachine =
+                    virtualMachineModelService.getByUuid(resourceUuid);
+                job = deletedVirtualMachine == null ?
+                    null :
+                    deleteVirtualMachineJob(deletedVirtualMachine, tenant);
+                break;
+            case DELETE_INSTANCE:
+                final Instance deletedInstance = instanceModelService.getByUuid(resourceUuid);
+                job = deletedInstance == null ? null : deleteInstanceJob(deletedInstance, tenant);
+                break;
+            default:
+                throw new AssertionError("Unknown job type " + queuedJob.getType());
+        }
+        return job == null ? null : journaled(job, queuedJob);
+    }
+
+    private Job createVirtualMachineJob(VirtualMachine virtualMachine, Tenant tenant) {
+        return new CreateVirtualMachineJob(jpaApi, virtualMachine, virtualMachineModelService,
+            tenantModelService, colosseumComputeService, tenant, keyPairStrategy,
+            remoteConnectionStrategyFactory, portProvidedService, installerExecutor);
+    }
+
+    private Job createInstanceJob(Instance instance, Tenant tenant) {
+        return new CreateInstanceJob(configuration, jpaApi, instance, instanceModelService,
+            tenantModelService, colosseumComputeService, tenant, modelValidationService);
+    }
+
+    private Job deleteVirtualMachineJob(VirtualMachine virtualMachine, Tenant tenant) {
+        return new DeleteVirtualMachineJob(jpaApi, virtualMachine, virtualMachineModelService,
+            tenantModelService, colosseumComputeService, tenant);
+    }
+
+    private Job deleteInstanceJob(Instance instance, Tenant tenant) {
+        return new DeleteInstanceJob(configuration, jpaApi, instance, instanceModelService,
+            tenantModelService, colosseumComputeService, tenant);
     }
 
     @Override public void newVirtualMachineJob(VirtualMachine virtualMachine, Tenant tenant) {
-        this.jobQueue.add(
-            new CreateVirtualMachineJob(jpaApi, virtualMachine, virtualMachineModelService,
-                tenantModelService, colosseumComputeService, tenant, keyPairStrategy,
-                remoteConnectionStrategyFactory, portProvidedService));
+        this.submitAfterCommit(QueuedJob.Type.CREATE_VIRTUAL_MACHINE,
+            createVirtualMachineJob(virtualMachine, tenant), tenant);
     }
 
     @Override public void newInstanceJob(Instance instance, Tenant tenant) {
-        this.jobQueue.add(
-            new CreateInstanceJob(configuration, jpaApi, instance, instanceModelService,
-                tenantModelService, colosseumComputeService, tenant, modelValidationService));
+        this.submitAfterCommit(QueuedJob.Type.CREATE_INSTANCE, createInstanceJob(instance, tenant),
+            tenant);
     }
 
     @Override public void newDeleteVirtualMachineJob(VirtualMachine virtualMachine, Tenant tenant) {
-        this.jobQueue.add(
-            new DeleteVirtualMachineJob(jpaApi, virtualMachine, virtualMachineModelService,
-                tenantModelService, colosseumComputeService, tenant));
+        this.submitAfterCommit(QueuedJob.Type.DELETE_VIRTUAL_MACHINE,
+            deleteVirtualMachineJob(virtualMachine, tenant), tenant);
     }
 
     @Override public void newDeleteInstanceJob(Instance instance, Tenant tenant) {
-        this.jobQueue.add(
-            new DeleteInstanceJob(configuration, jpaApi, instance, instanceModelService,
-                tenantModelService, colosseumComputeService, tenant));
+        this.submitAfterCommit(QueuedJob.Type.DELETE_INSTANCE, deleteInstanceJob(instance, tenant),
+            tenant);
     }
 
 }
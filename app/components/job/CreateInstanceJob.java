@@ -20,6 +20,7 @@ package components.job;
 
 import cloud.colosseum.ColosseumComputeService;
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.Striped;
 import components.model.ModelValidationService;
 import de.uniulm.omi.cloudiator.common.OneWayConverter;
 import de.uniulm.omi.cloudiator.lance.application.ApplicationId;
@@ -50,7 +51,11 @@ import play.db.jpa.JPAApi;
 import util.logging.Loggers;
 
 import javax.annotation.Nullable;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
@@ -60,10 +65,18 @@ import static com.google.common.base.Preconditions.checkState;
  */
 public class CreateInstanceJob extends AbstractRemoteResourceJob<Instance> {
 
+    /**
+     * Locks per application instance, serializing the registration of an
+     * application instance at lance.
+     */
+    private static final Striped<Lock> APPLICATION_INSTANCE_LOCKS = Striped.lazyWeakLock(64);
+
     private Logger.ALogger LOGGER = Loggers.of(Loggers.CLOUD_JOB);
 
     private final ModelValidationService modelValidationService;
     private final Configuration configuration;
+    private final String virtualMachineUuid;
+    private final String cloudUuid;
 
     public CreateInstanceJob(Configuration configuration, JPAApi jpaApi, Instance instance,
         RemoteModelService<Instance> modelService, ModelService<Tenant> tenantModelService,
@@ -76,6 +89,8 @@ public class CreateInstanceJob extends AbstractRemoteResourceJob<Instance> {
 
         this.modelValidationService = modelValidationService;
         this.configuration = configuration;
+        this.virtualMachineUuid = instance.getVirtualMachine().getUuid();
+        this.cloudUuid = instance.getVirtualMachine().cloud().getUuid();
     }
 
     @Override protected void doWork(ModelService<Instance> modelService,
@@ -101,8 +116,10 @@ public class CreateInstanceJob extends AbstractRemoteResourceJob<Instance> {
                 LifecycleClient client;
                 DeploymentContext deploymentContext;
                 DeployableComponent deployableComponent;
-                synchronized (CreateInstanceJob.class) {
-
+                final Lock applicationInstanceLock = APPLICATION_INSTANCE_LOCKS
+                    .get(instance.getApplicationInstance().getUuid());
+                applicationInstanceLock.lock();
+                try {
 
 
                     client = LifecycleClient.getClient();
@@ -132,6 +149,8 @@ public class CreateInstanceJob extends AbstractRemoteResourceJob<Instance> {
                     checkState(instance.getVirtualMachine().publicIpAddress().isPresent());
                     deployableComponent = buildDeployableComponent(instance);
 
+                } finally {
+                    applicationInstanceLock.unlock();
                 }
                 try {
 
@@ -249,6 +268,14 @@ public class CreateInstanceJob extends AbstractRemoteResourceJob<Instance> {
         return deploymentContext;
     }
 
+    @Override public Set<String> dependencies() {
+        return Collections.singleton(virtualMachineUuid);
+    }
+
+    @Override public Optional<String> cloudUuid() {
+        return Optional.of(cloudUuid);
+    }
+
     @Override public boolean canStart() throws JobException {
         try {
             return jpaApi().withTransaction(() -> {
@@ -25,6 +25,7 @@ import cloud.resources.VirtualMachineInLocation;
 import cloud.strategies.KeyPairStrategy;
 import cloud.strategies.RemoteConnectionStrategy;
 import com.google.common.base.Optional;
+import com.google.common.util.concurrent.Striped;
 import components.installer.Installers;
 import components.installer.ToolPorts;
 import components.installer.api.InstallApi;
@@ -40,6 +41,9 @@ import models.service.PortProvidedService;
 import models.service.RemoteModelService;
 import play.db.jpa.JPAApi;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Lock;
+
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
@@ -47,25 +51,34 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 public class CreateVirtualMachineJob extends AbstractRemoteResourceJob<VirtualMachine> {
 
+    /**
+     * Locks per cloud credential, serializing the creation of key pairs and
+     * security groups of virtual machines sharing a credential.
+     */
+    private static final Striped<Lock> CREDENTIAL_LOCKS = Striped.lazyWeakLock(64);
+
     private final KeyPairStrategy keyPairStrategy;
     private final RemoteConnectionStrategy.RemoteConnectionStrategyFactory remoteConnectionFactory;
     private final PortProvidedService portProvidedService;
+    private final Executor installerExecutor;
 
     public CreateVirtualMachineJob(JPAApi jpaApi, VirtualMachine virtualMachine,
         RemoteModelService<VirtualMachine> modelService, ModelService<Tenant> tenantModelService,
         ColosseumComputeService colosseumComputeService, Tenant tenant,
         KeyPairStrategy keyPairStrategy,
         RemoteConnectionStrategy.RemoteConnectionStrategyFactory remoteConnectionFactory,
-        PortProvidedService portProvidedService) {
+        PortProvidedService portProvidedService, Executor installerExecutor) {
         super(jpaApi, virtualMachine, modelService, tenantModelService, colosseumComputeService,
             tenant);
 
         checkNotNull(keyPairStrategy);
         checkNotNull(remoteConnectionFactory);
+        checkNotNull(installerExecutor);
 
         this.keyPairStrategy = keyPairStrategy;
         this.remoteConnectionFactory = remoteConnectionFactory;
         this.portProvidedService = portProvidedService;
+        this.installerExecutor = installerExecutor;
     }
 
     @Override public boolean canStart() {
@@ -75,19 +88,37 @@ public class CreateVirtualMachineJob extends AbstractRemoteResourceJob<VirtualMa
     @Override protected void doWork(ModelService<VirtualMachine> modelService,
         ColosseumComputeService computeService) throws JobException {
 
+        final Lock credentialLock;
+        try {
+            credentialLock = CREDENTIAL_LOCKS.get(jpaApi().withTransaction("default", true, () -> {
+                VirtualMachine virtualMachine = getT();
+                if (virtualMachine.owner().isPresent()) {
+                    return virtualMachine.owner().get().getUuid();
+                }
+                return virtualMachine.cloud().getUuid();
+            }));
+        } catch (Throwable throwable) {
+            throw new JobException(throwable);
+        }
+
         java.util.Optional<KeyPair> keyPairOptional;
-        synchronized (CreateVirtualMachineJob.class) {
-            try {
-                keyPairOptional = jpaApi().withTransaction(() -> {
-                    VirtualMachine virtualMachine = getT();
-                    return keyPairStrategy.create(virtualMachine);
-                });
-            } catch (Throwable throwable) {
-                throw new JobException(throwable);
-            }
+        credentialLock.lock();
+        try {
+            keyPairOptional = jpaApi().withTransaction(() -> {
+                VirtualMachine virtualMachine = getT();
+                return keyPairStrategy.create(virtualMachine);
+            });
+        } catch (Throwable throwable) {
+            throw new JobException(throwable);
+        } finally {
+            credentialLock.unlock();
         }
 
+        // sword creates the security groups within createVirtualMachine, so the credential
+        // stays locked for the whole call. The lock is taken outside of the transaction,
+        // so jobs waiting for it do not hold a database connection.
         VirtualMachineInLocation cloudVirtualMachine;
+        credentialLock.lock();
         try {
             cloudVirtualMachine = jpaApi().withTransaction("default", true, () -> {
                 VirtualMachine virtualMachine = getT();
@@ -107,15 +138,13 @@ public class CreateVirtualMachineJob extends AbstractRemoteResourceJob<VirtualMa
                 }
                 builder.templateOptions(templateOptionsBuilder.build());
 
-                // create the virtual machine (we use synchronized to avoid problems
-                // with multiple created security groups)
-                synchronized (CreateVirtualMachineJob.class) {
-                    return computeService
-                        .createVirtualMachine(builder.virtualMachineModel(virtualMachine).build());
-                }
+                return computeService
+                    .createVirtualMachine(builder.virtualMachineModel(virtualMachine).build());
             });
         } catch (Throwable throwable) {
             throw new JobException(throwable);
+        } finally {
+            credentialLock.unlock();
         }
 
 
@@ -167,11 +196,14 @@ public class CreateVirtualMachineJob extends AbstractRemoteResourceJob<VirtualMa
             jpaApi().withTransaction("default", true, () -> {
                 VirtualMachine virtualMachine = getT();
                 Tenant tenant = getTenant();
+                final RemoteConnectionStrategy remoteConnectionStrategy =
+                    remoteConnectionFactory.create();
                 final RemoteConnection remoteConnection =
-                    remoteConnectionFactory.create().connect(virtualMachine);
+                    remoteConnectionStrategy.connect(virtualMachine);
 
                 try (InstallApi installApi = Installers
-                    .of(remoteConnection, virtualMachine, tenant)) {
+                    .of(remoteConnection, remoteConnectionStrategy, installerExecutor,
+                        virtualMachine, tenant)) {
                     installApi.installAll();
                 } catch (RemoteException e) {
                     throw new JobException(e);
@@ -32,6 +32,8 @@ import models.service.RemoteModelService;
 import play.Configuration;
 import play.db.jpa.JPAApi;
 
+import java.util.Optional;
+
 import static com.google.common.base.Preconditions.checkState;
 
 /**
@@ -41,6 +43,7 @@ public class DeleteInstanceJob extends AbstractRemoteResourceJob<Instance> {
 
     private final RemoteModelService<Instance> instanceRemoteModelService;
     private final Configuration configuration;
+    private final String cloudUuid;
 
     @Inject public DeleteInstanceJob(Configuration configuration, JPAApi jpaApi, Instance instance,
         RemoteModelService<Instance> modelService, ModelService<Tenant> tenantModelService,
@@ -48,6 +51,11 @@ public class DeleteInstanceJob extends AbstractRemoteResourceJob<Instance> {
         super(jpaApi, instance, modelService, tenantModelService, colosseumComputeService, tenant);
         this.instanceRemoteModelService = modelService;
         this.configuration = configuration;
+        this.cloudUuid = instance.getVirtualMachine().cloud().getUuid();
+    }
+
+    @Override public Optional<String> cloudUuid() {
+        return Optional.of(cloudUuid);
     }
 
     @Override public boolean canStart() throws JobException {
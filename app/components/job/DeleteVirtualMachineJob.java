@@ -19,7 +19,11 @@
 package components.job;
 
 import cloud.colosseum.ColosseumComputeService;
+import com.google.common.collect.ImmutableSet;
 import com.google.inject.Inject;
+import components.scalability.AgentCommunicatorRegistry;
+import models.Instance;
+import models.IpAddress;
 import models.Tenant;
 import models.VirtualMachine;
 import models.generic.RemoteState;
@@ -27,12 +31,16 @@ import models.service.ModelService;
 import models.service.RemoteModelService;
 import play.db.jpa.JPAApi;
 
+import java.util.Optional;
+import java.util.Set;
+
 /**
  * Created by daniel on 14.10.15.
  */
 public class DeleteVirtualMachineJob extends AbstractRemoteResourceJob<VirtualMachine> {
 
     private final RemoteModelService<VirtualMachine> virtualMachineRemoteModelService;
+    private final Set<String> dependencies;
 
     @Inject public DeleteVirtualMachineJob(JPAApi jpaApi, VirtualMachine virtualMachine,
         RemoteModelService<VirtualMachine> modelService, ModelService<Tenant> tenantModelService,
@@ -40,6 +48,17 @@ public class DeleteVirtualMachineJob extends AbstractRemoteResourceJob<VirtualMa
         super(jpaApi, virtualMachine, modelService, tenantModelService, colosseumComputeService,
             tenant);
         this.virtualMachineRemoteModelService = modelService;
+        // waits for the creation of the virtual machine and the deletion of its instances
+        final ImmutableSet.Builder<String> builder = ImmutableSet.builder();
+        builder.add(virtualMachine.getUuid());
+        for (Instance instance : virtualMachine.instances()) {
+            builder.add(instance.getUuid());
+        }
+        this.dependencies = builder.build();
+    }
+
+    @Override public Set<String> dependencies() {
+        return dependencies;
     }
 
     @Override protected void doWork(ModelService<VirtualMachine> modelService,
@@ -75,9 +94,17 @@ public class DeleteVirtualMachineJob extends AbstractRemoteResourceJob<VirtualMa
     }
 
     @Override public void onSuccess() throws JobException {
-        jpaApi().withTransaction(() -> {
-            VirtualMachine t = getT();
-            virtualMachineRemoteModelService.delete(t);
-        });
+        final Optional<String> publicIp;
+        try {
+            publicIp = jpaApi().withTransaction(() -> {
+                VirtualMachine t = getT();
+                final Optional<String> ip = t.publicIpAddress().map(IpAddress::getIp);
+                virtualMachineRemoteModelService.delete(t);
+                return ip;
+            });
+        } catch (Throwable t) {
+            throw new JobException(t);
+        }
+        publicIp.ifPresent(AgentCommunicatorRegistry::evict);
     }
 }
@@ -18,6 +18,9 @@
 
 package components.job;
 
+import java.util.Optional;
+import java.util.Set;
+
 import components.execution.Prioritized;
 
 /**
@@ -35,6 +38,21 @@ public interface Job extends Prioritized {
 
     boolean canStart() throws JobException;
 
+    /**
+     * The uuids of the resources this job waits for, if it can not start yet.
+     * <p>
+     * A job that can not start is checked again, once a job for one of these
+     * resources completed.
+     *
+     * @return the uuids of the resources this job depends on.
+     */
+    Set<String> dependencies();
+
+    /**
+     * @return the uuid of the cloud this job works on, if any.
+     */
+    Optional<String> cloudUuid();
+
     void onSuccess() throws JobException;
 
     void onError() throws JobException;
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package components.job;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import components.execution.Schedulable;
+import components.execution.SimpleBlockingQueue;
+import play.Configuration;
+import play.Logger;
+import util.logging.Loggers;
+
+/**
+ * Parks jobs that can not start yet, until a job for one of their
+ * {@link Job#dependencies()} completed.
+ * <p>
+ * Parked jobs are added to the job queue again, as soon as a dependency completed. As
+ * a fallback for dependencies not completed by a job, e.g. resources changed by the
+ * synchronisation, jobs parked longer than colosseum.job.dependency.recheck seconds
+ * are added to the queue again, too.
+ */
+@Singleton public class JobDependencies implements Schedulable {
+
+    private final static Logger.ALogger LOGGER = Loggers.of(Loggers.CLOUD_JOB);
+
+    private final SimpleBlockingQueue<Job> jobQueue;
+    private final long recheck;
+    private final SetMultimap<String, Job> waiting = HashMultimap.create();
+    private final Map<Job, Long> parkedSince = new HashMap<>();
+    private final Cache<String, Long> recentlyCompleted;
+    private long completions = 0;
+
+    @Inject public JobDependencies(@Named("jobQueue") SimpleBlockingQueue<Job> jobQueue,
+        Configuration configuration) {
+        this.jobQueue = jobQueue;
+        this.recheck =
+            Math.max(1, configuration.getLong("colosseum.job.dependency.recheck", 30L));
+        // covers dependencies completing while the dispatcher checks the job, see park
+        this.recentlyCompleted =
+            CacheBuilder.newBuilder().expireAfterWrite(recheck, TimeUnit.SECONDS).build();
+    }
+
+    /**
+     * The current completion sequence, to be passed to {@link #park(Job, long)}.
+     * <p>
+     * Needs to be retrieved before checking whether the job can start.
+     *
+     * @return the number of completions so far.
+     */
+    public synchronized long sequence() {
+        return completions;
+    }
+
+    /**
+     * Parks the job until one of its dependencies completed.
+     * <p>
+     * If a dependency completed after the given sequence was retrieved, the
+     * check of the job may have missed it, so the job is queued again instead.
+     *
+     * @param job      the job that can not start yet.
+     * @param sequence the {@link #sequence()} retrieved before checking the job.
+     */
+    public synchronized void park(Job job, long sequence) {
+        for (String dependency : job.dependencies()) {
+            final Long completion = recentlyCompleted.getIfPresent(dependency);
+            if (completion != null && completion > sequence) {
+                LOGGER.debug(String
+                    .format("Dependency %s of job %s completed meanwhile, queueing job.",
+                        dependency, job));
+                jobQueue.add(job);
+                return;
+            }
+        }
+        for (String dependency : job.dependencies()) {
+            waiting.put(dependency, job);
+        }
+        parkedSince.put(job, System.nanoTime());
+        LOGGER.debug(String.format("Parked job %s waiting for %s.", job, job.dependencies()));
+    }
+
+    /**
+     * Notifies the jobs waiting for the given resource.
+     *
+     * @param resourceUuid the uuid of the resource whose job completed.
+     */
+    public synchronized void completed(String resourceUuid) {
+        recentlyCompleted.put(resourceUuid, ++completions);
+        for (Job job : new ArrayList<>(waiting.get(resourceUuid))) {
+            LOGGER.debug(String
+                .format("Dependency %s of job %s completed, queueing job.", resourceUuid, job));
+            unpark(job);
+        }
+    }
+
+    private void unpark(Job job) {
+        for (String dependency : job.dependencies()) {
+            waiting.remove(dependency, job);
+        }
+        parkedSince.remove(job);
+        jobQueue.add(job);
+    }
+
+    @Override public synchronized void run() {
+        final long now = System.nanoTime();
+        final List<Job> due = new ArrayList<>();
+        for (Map.Entry<Job, Long> entry : parkedSince.entrySet()) {
+            if (now - entry.getValue() >= TimeUnit.SECONDS.toNanos(recheck)) {
+                due.add(entry.getKey());
+            }
+        }
+        for (Job job : due) {
+            LOGGER.debug(String.format("Job %s parked for %s seconds, rechecking.", job, recheck));
+            unpark(job);
+        }
+    }
+
+    @Override public long period() {
+        return recheck;
+    }
+
+    @Override public long delay() {
+        return recheck;
+    }
+
+    @Override public TimeUnit timeUnit() {
+        return TimeUnit.SECONDS;
+    }
+
+    @Override public String toString() {
+        return "JobDependencies";
+    }
+}
@@ -38,11 +38,13 @@ public class JobDispatcher implements Runnable {
 
     private final SimpleBlockingQueue<Job> jobQueue;
     private final ExecutionService executionService;
+    private final JobDependencies jobDependencies;
 
     @Inject public JobDispatcher(@Named("jobQueue") SimpleBlockingQueue<Job> jobQueue,
-        ExecutionService executionService) {
+        ExecutionService executionService, JobDependencies jobDependencies) {
         this.jobQueue = jobQueue;
         this.executionService = executionService;
+        this.jobDependencies = jobDependencies;
     }
 
     @Loop @Override public void run() {
@@ -57,20 +59,15 @@ public class JobDispatcher implements Runnable {
 
         if (job != null) {
             try {
+                final long sequence = jobDependencies.sequence();
                 if (job.canStart()) {
                     LOGGER.debug(String.format("Job %s can start, dispatching to worker", job));
-                    this.executionService.execute(new JobWorker(job));
+                    this.executionService.execute(new JobWorker(job, jobDependencies));
                 } else {
-                    LOGGER
-                        .debug(String.format("Job %s can not start yet, delaying execution", job));
-                    try {
-                        //todo find better way for waiting here
-                        Thread.sleep(2000);
-                    } catch (InterruptedException e) {
-                        LOGGER.error("Job Execution got interrupted", e);
-                        Thread.currentThread().interrupt();
-                    }
-                    jobQueue.add(job);
+                    LOGGER.debug(
+                        String.format("Job %s can not start yet, parking it until %s completed",
+                            job, job.dependencies()));
+                    jobDependencies.park(job, sequence);
                 }
             } catch (JobException e) {
                 LOGGER.error(String
@@ -82,6 +79,7 @@ public class JobDispatcher implements Runnable {
                         String.format("Error handler of job %s returned error. Ignoring.", job),
                         ignored);
                 }
+                jobDependencies.completed(job.getResourceUuid());
             }
         }
     }
@@ -20,6 +20,8 @@ package components.job;
 
 import com.google.inject.Singleton;
 
+import java.util.Collection;
+
 import components.execution.SimpleBlockingQueue;
 import components.execution.SimpleFifoPriorityBlockingQueue;
 
@@ -41,4 +43,8 @@ import components.execution.SimpleFifoPriorityBlockingQueue;
     @Override public Job take() throws InterruptedException {
         return jobSimpleBlockingQueue.take();
     }
+
+    @Override public int drainTo(Collection<? super Job> collection, int maxElements) {
+        return this.jobSimpleBlockingQueue.drainTo(collection, maxElements);
+    }
 }
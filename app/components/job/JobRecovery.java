@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package components.job;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import components.execution.SimpleBlockingQueue;
+import models.Instance;
+import models.QueuedJob;
+import models.VirtualMachine;
+import models.generic.RemoteResource;
+import models.generic.RemoteState;
+import models.service.ModelService;
+import models.service.RemoteModelService;
+import play.Logger;
+import play.db.jpa.JPAApi;
+import util.logging.Loggers;
+
+/**
+ * Recovers the jobs of the {@link QueuedJob} journal on startup.
+ * <p>
+ * Every journaled job was either queued or running when the application
+ * stopped, so it is submitted again in the order it was journaled. Journal
+ * entries of resources which no longer exist are removed.
+ * <p>
+ * Virtual machines and instances remaining in progress without a journaled
+ * job will never be processed, their remote state is therefore set to error.
+ */
+public class JobRecovery {
+
+    private final static Logger.ALogger LOGGER = Loggers.of(Loggers.CLOUD_JOB);
+
+    private final JPAApi jpaApi;
+    private final BaseJobService baseJobService;
+    private final ModelService<QueuedJob> queuedJobModelService;
+    private final RemoteModelService<VirtualMachine> virtualMachineModelService;
+    private final RemoteModelService<Instance> instanceModelService;
+    private final SimpleBlockingQueue<Job> jobQueue;
+
+    @Inject public JobRecovery(JPAApi jpaApi, BaseJobService baseJobService,
+        ModelService<QueuedJob> queuedJobModelService,
+        RemoteModelService<VirtualMachine> virtualMachineModelService,
+        RemoteModelService<Instance> instanceModelService,
+        @Named("jobQueue") SimpleBlockingQueue<Job> jobQueue) {
+        this.jpaApi = jpaApi;
+        this.baseJobService = baseJobService;
+        this.queuedJobModelService = queuedJobModelService;
+        this.virtualMachineModelService = virtualMachineModelService;
+        this.instanceModelService = instanceModelService;
+        this.jobQueue = jobQueue;
+    }
+
+    public void recover() {
+        LOGGER.info("Starting to recover journaled jobs.");
+        final List<Job> recovered = new ArrayList<>();
+        jpaApi.withTransaction(() -> {
+            recovered.addAll(recoverJournal());
+        });
+        //submit after the transaction committed, jobs use their own transactions
+        recovered.forEach(jobQueue::add);
+        LOGGER.info(String.format("Finished to recover %s journaled jobs.", recovered.size()));
+    }
+
+    private List<Job> recoverJournal() {
+        final List<QueuedJob> queuedJobs = queuedJobModelService.getAll();
+        queuedJobs.sort(Comparator.comparing(QueuedJob::getId));
+
+        final List<Job> jobs = new ArrayList<>(queuedJobs.size());
+        final Set<String> journaledResources = new HashSet<>();
+        for (QueuedJob queuedJob : queuedJobs) {
+            final Job job = baseJobService.recover(queuedJob);
+            if (job == null) {
+                LOGGER.warn(String
+                    .format("Resource or tenant of journaled job %s no longer exists, removing it.",
+                        queuedJob));
+                queuedJobModelService.delete(queuedJob);
+                continue;
+            }
+            LOGGER.info(String.format("Recovered journaled job %s.", job));
+            jobs.add(job);
+            journaledResources.add(queuedJob.getResourceUuid());
+        }
+
+        failUnjournaled(virtualMachineModelService, journaledResources);
+        failUnjournaled(instanceModelService, journaledResources);
+        return jobs;
+    }
+
+    private <T extends RemoteResource> void failUnjournaled(RemoteModelService<T> modelService,
+        Set<String> journaledResources) {
+        final List<T> failed = new ArrayList<>();
+        for (T t : modelService.getByRemoteState(RemoteState.INPROGRESS)) {
+            if (!journaledResources.contains(t.getUuid())) {
+                LOGGER.warn(String
+                    .format("%s is in progress without a journaled job, setting it to error.",
+                        t));
+                t.setRemoteState(RemoteState.ERROR);
+                failed.add(t);
+            }
+        }
+        modelService.saveAll(failed);
+    }
+}
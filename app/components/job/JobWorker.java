@@ -18,20 +18,32 @@
 
 package components.job;
 
+import components.execution.ExecutedIn;
+import components.execution.ExecutorPool;
+import components.execution.Throttled;
 import play.Logger;
 import util.logging.Loggers;
 
 /**
  * Created by daniel on 26.11.15.
  */
-class JobWorker implements Runnable {
+@ExecutedIn(ExecutorPool.REMOTE) class JobWorker implements Runnable, Throttled {
 
     private final static Logger.ALogger LOGGER = Loggers.of(Loggers.CLOUD_JOB);
 
     private final Job job;
+    private final JobDependencies jobDependencies;
 
-    public JobWorker(Job job) {
+    public JobWorker(Job job, JobDependencies jobDependencies) {
         this.job = job;
+        this.jobDependencies = jobDependencies;
+    }
+
+    /**
+     * Jobs are throttled per cloud.
+     */
+    @Override public String throttleKey() {
+        return job.cloudUuid().orElse(null);
     }
 
     @Override public void run() {
@@ -50,6 +62,8 @@ class JobWorker implements Runnable {
             } catch (JobException ignored) {
                 LOGGER.error("Error in onError handler. Ignoring", ignored);
             }
+        } finally {
+            jobDependencies.completed(job.getResourceUuid());
         }
 
 
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package components.job;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.Optional;
+import java.util.Set;
+
+import models.QueuedJob;
+import models.service.ModelService;
+import play.db.jpa.JPAApi;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A job whose {@link QueuedJob} journal entry is removed once it completed.
+ * <p>
+ * The entry is removed after the success or error handler of the job ran,
+ * so a job interrupted by a shutdown is executed again after the restart
+ * (at-least-once execution).
+ */
+class JournaledJob implements Job {
+
+    private final Job delegate;
+    private final long queuedJobId;
+    private final JPAApi jpaApi;
+    private final ModelService<QueuedJob> queuedJobModelService;
+
+    JournaledJob(Job delegate, long queuedJobId, JPAApi jpaApi,
+        ModelService<QueuedJob> queuedJobModelService) {
+        checkNotNull(delegate);
+        checkNotNull(jpaApi);
+        checkNotNull(queuedJobModelService);
+        this.delegate = delegate;
+        this.queuedJobId = queuedJobId;
+        this.jpaApi = jpaApi;
+        this.queuedJobModelService = queuedJobModelService;
+    }
+
+    @Override public String getResourceUuid() {
+        return delegate.getResourceUuid();
+    }
+
+    @Override public JobState state() {
+        return delegate.state();
+    }
+
+    @Override public void state(JobState jobState) {
+        delegate.state(jobState);
+    }
+
+    @Override public void execute() throws JobException {
+        delegate.execute();
+    }
+
+    @Override public boolean canStart() throws JobException {
+        return delegate.canStart();
+    }
+
+    @Override public Set<String> dependencies() {
+        return delegate.dependencies();
+    }
+
+    @Override public Optional<String> cloudUuid() {
+        return delegate.cloudUuid();
+    }
+
+    @Override public int getPriority() {
+        return delegate.getPriority();
+    }
+
+    @Override public void onSuccess() throws JobException {
+        try {
+            delegate.onSuccess();
+        } finally {
+            removeFromJournal();
+        }
+    }
+
+    @Override public void onError() throws JobException {
+        try {
+            delegate.onError();
+        } finally {
+            removeFromJournal();
+        }
+    }
+
+    private void removeFromJournal() {
+        jpaApi.withTransaction(() -> {
+            QueuedJob queuedJob = queuedJobModelService.getById(queuedJobId);
+            if (queuedJob != null) {
+                queuedJobModelService.delete(queuedJob);
+            }
+        });
+    }
+
+    @Override public String toString() {
+        return MoreObjects.toStringHelper(this).add("job", delegate).add("queuedJob", queuedJobId)
+            .toString();
+    }
+}
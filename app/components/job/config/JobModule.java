@@ -23,9 +23,11 @@ import com.google.inject.TypeLiteral;
 import com.google.inject.multibindings.Multibinder;
 import com.google.inject.name.Names;
 
+import components.execution.Schedulable;
 import components.execution.SimpleBlockingQueue;
 import components.job.BaseJobService;
 import components.job.Job;
+import components.job.JobDependencies;
 import components.job.JobDispatcher;
 import components.job.JobQueue;
 import components.job.JobService;
@@ -41,5 +43,7 @@ public class JobModule extends AbstractModule {
         bind(JobService.class).to(BaseJobService.class);
         Multibinder<Runnable> runnables = Multibinder.newSetBinder(binder(), Runnable.class);
         runnables.addBinding().to(JobDispatcher.class);
+        Multibinder.newSetBinder(binder(), Schedulable.class).addBinding()
+            .to(JobDependencies.class);
     }
 }
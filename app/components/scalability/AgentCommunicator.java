@@ -62,6 +62,12 @@ public interface AgentCommunicator {
 
     void updateMonitor(MonitorInstance mi);
 
+    List<Monitor> getMonitors();
+
+    Monitor addMonitor(Monitor monitor);
+
+    void removeMonitor(Monitor monitor);
+
     boolean hasSameContext(Monitor mon, String contextKey, String contextValue);
 
     SensorMonitor copyValueFromMonitorInstance(SensorMonitor m, MonitorInstance mi);
@@ -204,6 +204,18 @@ public class AgentCommunicatorImpl implements AgentCommunicator {
         }
     }
 
+    @Override public List<Monitor> getMonitors() {
+        return controller.getList();
+    }
+
+    @Override public Monitor addMonitor(Monitor monitor) {
+        return controller.create(monitor);
+    }
+
+    @Override public void removeMonitor(Monitor monitor) {
+        controller.delete(monitor);
+    }
+
     @Override public boolean hasSameContext(Monitor mon, String contextKey, String contextValue){
         for(Map.Entry entry : mon.getMonitorContext().entrySet()){
             if(entry.getKey().equals(contextKey) && entry.getValue().equals(contextValue)){
@@ -15,29 +15,48 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-
 package components.scalability;
 
-import io.netty.util.internal.ConcurrentSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Created by Frank on 01.09.2015.
+ * <p>
+ * Holds one {@link GuardedAgentCommunicator} per agent, keyed by protocol, ip
+ * and port. The communicators of an agent are evicted once its virtual machine
+ * was deleted.
  */
 public class AgentCommunicatorRegistry {
-    private static ConcurrentSet<AgentCommunicator> agentCommunicators = new ConcurrentSet<>();
+    private static final ConcurrentMap<String, GuardedAgentCommunicator> agentCommunicators =
+        new ConcurrentHashMap<>();
 
     private AgentCommunicatorRegistry(){
         // no instantiation
     }
 
-    public synchronized static AgentCommunicator getAgentCommunicator(String protocol, String ip, int port){
-        for(AgentCommunicator agent : agentCommunicators){
-            if (agent.getProtocol().equals(protocol) && agent.getIp().equals(ip) && agent.getPort() == port){
-                return agent;
-            }
-        }
-        AgentCommunicator agent = new AgentCommunicatorImpl(protocol, ip, port);
-        agentCommunicators.add(agent);
-        return agent;
+    public static AgentCommunicator getAgentCommunicator(String protocol, String ip, int port){
+        checkNotNull(protocol);
+        checkNotNull(ip);
+        return agentCommunicators.computeIfAbsent(protocol + "://" + ip + ":" + port,
+            key -> new GuardedAgentCommunicator(new AgentCommunicatorImpl(protocol, ip, port)));
+    }
+
+    /**
+     * Evicts the communicators of the agents running at the given ip.
+     *
+     * @param ip the ip of the agents.
+     */
+    public static void evict(String ip) {
+        checkNotNull(ip);
+        agentCommunicators.values().removeIf(agent -> agent.getIp().equals(ip));
+    }
+
+    static Collection<GuardedAgentCommunicator> agentCommunicators() {
+        return Collections.unmodifiableCollection(agentCommunicators.values());
     }
 }
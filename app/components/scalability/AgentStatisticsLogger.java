@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package components.scalability;
+
+import com.google.inject.Inject;
+
+import java.util.concurrent.TimeUnit;
+
+import components.execution.Schedulable;
+import play.Configuration;
+import play.Logger;
+
+/**
+ * Periodically logs the latency and errors of the calls to the visor agents.
+ */
+public class AgentStatisticsLogger implements Schedulable {
+
+    private final static Logger.ALogger LOGGER = play.Logger.of("colosseum.scalability");
+    private final long period;
+
+    @Inject public AgentStatisticsLogger(Configuration configuration) {
+        this.period = Math.max(1,
+            configuration.getLong("colosseum.scalability.visor.statistics.period", 10L));
+    }
+
+    @Override public void run() {
+        int agents = 0;
+        int open = 0;
+        for (GuardedAgentCommunicator agent : AgentCommunicatorRegistry.agentCommunicators()) {
+            agents++;
+            if (agent.isOpen()) {
+                open++;
+            }
+            LOGGER.debug(String.format(
+                "Agent %s:%s: %s calls, %s failed, %s rejected, %s ms average latency%s",
+                agent.getIp(), agent.getPort(), agent.calls(), agent.failures(),
+                agent.rejected(), agent.averageLatency(), agent.isOpen() ? ", circuit open" : ""));
+        }
+        LOGGER.info(String.format("%s visor agents known, circuit of %s open.", agents, open));
+    }
+
+    @Override public long period() {
+        return period;
+    }
+
+    @Override public long delay() {
+        return period;
+    }
+
+    @Override public TimeUnit timeUnit() {
+        return TimeUnit.MINUTES;
+    }
+
+    @Override public String toString() {
+        return "AgentStatisticsLogger";
+    }
+}
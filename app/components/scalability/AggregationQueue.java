@@ -20,31 +20,131 @@ package components.scalability;
 
 import com.google.inject.Singleton;
 
+import java.util.Collection;
+
+import javax.annotation.Nullable;
+
+import components.execution.AfterCommit;
+import components.execution.CoalescingBlockingQueue;
 import components.execution.SimpleBlockingQueue;
 import components.execution.SimpleFifoPriorityBlockingQueue;
+import components.scalability.aggregation.AddAggregation;
 import components.scalability.aggregation.Aggregation;
+import components.scalability.aggregation.MonitorAggregation;
+import components.scalability.aggregation.RemoveAggregation;
+import components.scalability.aggregation.ResubscribeAggregation;
+import components.scalability.aggregation.SubscribeAggregation;
+import components.scalability.aggregation.UnsubscribeAggregation;
+import components.scalability.aggregation.UpdateAggregation;
 import models.Monitor;
 
 /**
  * Created by Frank on 30.07.2015.
+ * <p>
+ * Aggregations added within a transaction are only queued once it committed,
+ * so the aggregator finds the monitors in the database.
+ * <p>
+ * Only the net effect of the queued aggregations of a monitor or subscription
+ * is kept, e.g. the removal and addition of a monitor on an update are queued
+ * as a single {@link UpdateAggregation}, while an addition followed by a removal
+ * is dropped.
  */
 @Singleton
 public class AggregationQueue implements SimpleBlockingQueue<Aggregation<Monitor>> {
 
-    private SimpleBlockingQueue<Aggregation<Monitor>> aggregationSimpleBlockingQueue;
+    private CoalescingBlockingQueue<Object, Aggregation<Monitor>> aggregationSimpleBlockingQueue;
 
     public AggregationQueue() {
-        this.aggregationSimpleBlockingQueue = new SimpleFifoPriorityBlockingQueue<>();
+        this.aggregationSimpleBlockingQueue =
+            new CoalescingBlockingQueue<Object, Aggregation<Monitor>>(
+                new SimpleFifoPriorityBlockingQueue<Aggregation<Monitor>>(), AggregationQueue::key,
+                AggregationQueue::merge, AggregationQueue::requeue);
+    }
+
+    private static Object key(Aggregation<Monitor> aggregation) {
+        if (aggregation instanceof MonitorAggregation && aggregation.getObject() != null) {
+            return "monitor:" + aggregation.getObject().getId();
+        }
+        if (aggregation instanceof SubscribeAggregation) {
+            return "subscription:" + ((SubscribeAggregation) aggregation).getSubscription()
+                .getId();
+        }
+        if (aggregation instanceof UnsubscribeAggregation) {
+            return "subscription:" + ((UnsubscribeAggregation) aggregation)
+                .getIdMonitorSubscription();
+        }
+        return aggregation;
+    }
+
+    /**
+     * Merges the queued aggregation and the added aggregation of the same monitor
+     * or subscription. The added aggregation wins, but a queued addition stays an
+     * addition, and an addition or subscription following a queued removal becomes
+     * an update or resubscription, as the aggregator still runs the old one. A
+     * removal following a queued addition cancels it, as the aggregator never
+     * knew the monitor or subscription.
+     */
+    @Nullable private static Aggregation<Monitor> merge(Aggregation<Monitor> queued,
+        Aggregation<Monitor> added) {
+        if (added instanceof RemoveAggregation && queued instanceof AddAggregation) {
+            return null;
+        }
+        if (added instanceof UnsubscribeAggregation && queued instanceof SubscribeAggregation
+            && !(queued instanceof ResubscribeAggregation)) {
+            return null;
+        }
+        if (added instanceof AddAggregation || added instanceof UpdateAggregation) {
+            if (queued instanceof AddAggregation) {
+                return new AddAggregation(added.getObject());
+            }
+            if (queued instanceof RemoveAggregation || queued instanceof UpdateAggregation) {
+                return new UpdateAggregation(added.getObject());
+            }
+        }
+        if (added instanceof SubscribeAggregation && (queued instanceof UnsubscribeAggregation
+            || queued instanceof ResubscribeAggregation)) {
+            return new ResubscribeAggregation(added.getObject(),
+                ((SubscribeAggregation) added).getSubscription());
+        }
+        return added;
+    }
+
+    /**
+     * Subscriptions are moved to the end of the queue, as they may depend on the
+     * addition of their monitor queued after the queued subscription. Aggregations
+     * of monitors keep their position, as subscriptions queued after them may
+     * depend on them.
+     */
+    private static boolean requeue(Aggregation<Monitor> queued, Aggregation<Monitor> merged) {
+        return merged instanceof SubscribeAggregation;
     }
 
     @Override
     public void add(Aggregation<Monitor> t) {
-        aggregationSimpleBlockingQueue.add(t);
+        AfterCommit.run(() -> aggregationSimpleBlockingQueue.add(t));
     }
 
     @Override
     public Aggregation<Monitor> take() throws InterruptedException {
         return aggregationSimpleBlockingQueue.take();
     }
-}
 
+    @Override
+    public int drainTo(Collection<? super Aggregation<Monitor>> collection, int maxElements) {
+        return aggregationSimpleBlockingQueue.drainTo(collection, maxElements);
+    }
+
+    /**
+     * @return the number of aggregations merged into or cancelled with a queued aggregation.
+     */
+    public long collapsed() {
+        return aggregationSimpleBlockingQueue.collapsed();
+    }
+
+    /**
+     * @return the number of queued aggregations.
+     */
+    public int size() {
+        return aggregationSimpleBlockingQueue.size();
+    }
+}
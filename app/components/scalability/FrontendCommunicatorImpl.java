@@ -28,14 +28,16 @@ import models.Component;
 import models.ComposedMonitor;
 import models.Instance;
 import models.IpAddress;
-import models.IpType;
 import models.Monitor;
 import models.MonitorInstance;
 import models.RawMonitor;
 import models.Schedule;
 import models.SensorDescription;
 import models.VirtualMachine;
+import models.service.InstanceModelService;
 import models.service.ModelService;
+import models.service.MonitorInstanceModelService;
+import models.service.VirtualMachineModelService;
 import play.Logger;
 
 /**
@@ -50,11 +52,11 @@ public class FrontendCommunicatorImpl implements FrontendCommunicator {
     private ModelService<RawMonitor> rawMonitorModelService;
     private ModelService<ComposedMonitor> composedMonitorModelService;
     private ModelService<Monitor> monitorModelService;
-    private ModelService<MonitorInstance> monitorInstanceModelService;
-    private ModelService<VirtualMachine> virtualMachineModelService;
+    private MonitorInstanceModelService monitorInstanceModelService;
+    private VirtualMachineModelService virtualMachineModelService;
     private ModelService<IpAddress> ipAddressModelService;
     private ModelService<ApplicationComponent> applicationComponentModelService;
-    private ModelService<Instance> instanceModelService;
+    private InstanceModelService instanceModelService;
 
 
     @Inject
@@ -64,11 +66,11 @@ public class FrontendCommunicatorImpl implements FrontendCommunicator {
         ModelService<RawMonitor> rawMonitorModelService,
         ModelService<ComposedMonitor> composedMonitorModelService,
         ModelService<Monitor> monitorModelService,
-        ModelService<MonitorInstance> monitorInstanceModelService,
-        ModelService<VirtualMachine> virtualMachineModelService,
+        MonitorInstanceModelService monitorInstanceModelService,
+        VirtualMachineModelService virtualMachineModelService,
         ModelService<IpAddress> ipAddressModelService,
         ModelService<ApplicationComponent> applicationComponentModelService,
-        ModelService<Instance> instanceModelService) {
+        InstanceModelService instanceModelService) {
         this.componentModelService = componentModelService;
         this.sensorDescriptionModelService = sensorDescriptionModelService;
         this.scheduleModelService = scheduleModelService;
@@ -84,114 +86,15 @@ public class FrontendCommunicatorImpl implements FrontendCommunicator {
 
     @Override public List<VirtualMachine> getVirtualMachines(Long applicationId, Long componentId,
         Long instanceId, Long cloudId) {
-        List<VirtualMachine> vms;
-        List<VirtualMachine> result = new ArrayList<VirtualMachine>();
-
-        vms = virtualMachineModelService.getAll();
-
-        for(VirtualMachine vm : vms) {
-            boolean suitable = true;
-            List<Instance> instances = null;
-            List<ApplicationComponent> appComps = null;
-
-
-            // Filter for application id
-            if (applicationId != null) {
-                instances = this.getInstances(vm.getId());
-                appComps = new ArrayList<>();
-                for(Instance instance : instances){
-                    if (instance.getVirtualMachine().getId().equals(vm.getId())){
-                        LOGGER.info("Instance " + instance.getId() + " belongs to VM " + vm.getId());
-                        appComps.add(getApplicationComponentForInstance(instance.getApplicationComponent().getId()));
-                    }
-                }
-
-                boolean oneInstanceFit = false;
-
-                for(ApplicationComponent ac : appComps){
-                    if(ac.getApplication().getId() == applicationId){
-                        oneInstanceFit = true;
-                    }
-                }
-
-                suitable = oneInstanceFit;
-            }
-
-            // Filter for component id
-            if (suitable && componentId != null) {
-                if (instances == null){
-                    instances = this.getInstances(vm.getId());
-                    appComps = new ArrayList<ApplicationComponent>();
-                    for(Instance instance : instances){
-                        appComps.add(getApplicationComponentForInstance(instance.getApplicationComponent().getId()));
-                    }
-                }
-
-                boolean oneInstanceFit = false;
-
-                for(ApplicationComponent ac : appComps){
-                    if(ac.getComponent().getId() == componentId){
-                        oneInstanceFit = true;
-                    }
-                }
-
-                suitable = oneInstanceFit;
-            }
-
-            // Filter for instance id
-            if (suitable && instanceId != null) {
-                if (instances == null){
-                    instances = this.getInstances(vm.getId());
-                }
-
-                boolean oneInstanceFit = false;
-                for(Instance instance : instances){
-                    if(instance.getId() == instanceId){
-                        oneInstanceFit = true;
-                    }
-                }
-
-                suitable = oneInstanceFit;
-            }
-
-            // Filter for cloud id
-            if (suitable && cloudId != null) {
-                if(vm.cloud().getId() != cloudId){
-                    suitable = false;
-                }
-            }
-
-            // Add to result
-            if (suitable){
-                result.add(vm);
-            }
-        }
-
-        return result;
+        return virtualMachineModelService
+            .getVirtualMachines(applicationId, componentId, instanceId, cloudId);
     }
 
     @Override public List<Instance> getInstances(Long vm) {
-        List<Instance> instances;
-        List<Instance> result = new ArrayList<Instance>();
-
-        instances = instanceModelService.getAll();
-
-
-        for(Instance instance : instances) {
-            boolean suitable = true;
-
-
-            // Filter for application id
-            if (vm > 0 && !instance.getVirtualMachine().getId().equals(vm)) {
-                suitable = false;
-            }
-
-            if (suitable){
-                result.add(instance);
-            }
+        if (vm > 0) {
+            return instanceModelService.getByVirtualMachine(vm);
         }
-
-        return result;
+        return instanceModelService.getAll();
     }
 
     @Override public ApplicationComponent getApplicationComponentForInstance(Long appCompId) {
@@ -199,16 +102,8 @@ public class FrontendCommunicatorImpl implements FrontendCommunicator {
     }
 
     @Override public String getPublicAddressOfVM(VirtualMachine vm) {
-        List<IpAddress> addresses = ipAddressModelService.getAll();
-
-        for(IpAddress ip : addresses){
-            /*TODO Not only return ONE, but EACH address */
-            if(ip.getVirtualMachine().equals(vm) && ip.getIpType().equals(IpType.PUBLIC)){
-                return ip.getIp();
-            }
-        }
-
-        return null;
+        /*TODO Not only return ONE, but EACH address */
+        return vm.publicIpAddress().map(IpAddress::getIp).orElse(null);
     }
 
     @Override public List<Component> getComponents(
@@ -339,15 +234,7 @@ public class FrontendCommunicatorImpl implements FrontendCommunicator {
     }
 
     @Override public List<MonitorInstance> getMonitorInstances(Long monitorId) {
-        List<MonitorInstance> result = new ArrayList<>();
-
-        for(MonitorInstance mi : monitorInstanceModelService.getAll()){
-            if(mi.getMonitor().getId().equals(monitorId)){
-                result.add(mi);
-            }
-        }
-
-        return result;
+        return monitorInstanceModelService.getByMonitor(monitorId);
     }
 
     @Override
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package components.scalability;
+
+import de.uniulm.omi.cloudiator.visor.client.entities.Monitor;
+import de.uniulm.omi.cloudiator.visor.client.entities.PushMonitor;
+import de.uniulm.omi.cloudiator.visor.client.entities.SensorMonitor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import models.MonitorInstance;
+import play.Play;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Records the latency and errors of the calls to a visor agent and guards
+ * them by a circuit breaker.
+ * <p>
+ * After colosseum.scalability.visor.circuit.failures consecutive failures the
+ * circuit opens and calls fail fast with an {@link AgentUnavailableException}
+ * for colosseum.scalability.visor.circuit.open seconds. Afterwards a single
+ * call probes the agent, closing the circuit on success and opening it again
+ * on failure.
+ */
+class GuardedAgentCommunicator implements AgentCommunicator {
+
+    private static final int FAILURE_THRESHOLD = Play.application().configuration()
+        .getInt("colosseum.scalability.visor.circuit.failures", 5);
+    private static final long OPEN_NANOS = TimeUnit.SECONDS.toNanos(Play.application()
+        .configuration().getLong("colosseum.scalability.visor.circuit.open", 30L));
+
+    private final AgentCommunicator delegate;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean probing = new AtomicBoolean();
+    private volatile boolean open = false;
+    private volatile long openedAt;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+
+    GuardedAgentCommunicator(AgentCommunicator delegate) {
+        checkNotNull(delegate);
+        this.delegate = delegate;
+    }
+
+    private void acquire() {
+        if (!open) {
+            return;
+        }
+        if (System.nanoTime() - openedAt < OPEN_NANOS || !probing.compareAndSet(false, true)) {
+            rejected.increment();
+            throw new AgentUnavailableException(
+                String.format("Circuit of agent %s://%s:%s is open.", getProtocol(), getIp(),
+                    getPort()));
+        }
+    }
+
+    private <T> T call(Supplier<T> remoteCall) {
+        acquire();
+        final long start = System.nanoTime();
+        try {
+            final T result = remoteCall.get();
+            succeeded();
+            return result;
+        } catch (RuntimeException e) {
+            failed();
+            throw e;
+        } finally {
+            calls.increment();
+            latencyNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private void run(Runnable remoteCall) {
+        call(() -> {
+            remoteCall.run();
+            return null;
+        });
+    }
+
+    private void succeeded() {
+        consecutiveFailures.set(0);
+        open = false;
+        probing.set(false);
+    }
+
+    private void failed() {
+        failures.increment();
+        if (consecutiveFailures.incrementAndGet() >= FAILURE_THRESHOLD || probing.get()) {
+            openedAt = System.nanoTime();
+            open = true;
+        }
+        probing.set(false);
+    }
+
+    boolean isOpen() {
+        return open;
+    }
+
+    long calls() {
+        return calls.sum();
+    }
+
+    long failures() {
+        return failures.sum();
+    }
+
+    long rejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return the average latency of the calls in milliseconds.
+     */
+    long averageLatency() {
+        final long calls = this.calls.sum();
+        return calls == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(latencyNanos.sum() / calls);
+    }
+
+    @Override public void addSensorMonitor(String idMonitorInstance, String className,
+        String metricName, long interval, TimeUnit unit, Map<String, String> configs) {
+        run(() -> delegate
+            .addSensorMonitor(idMonitorInstance, className, metricName, interval, unit, configs));
+    }
+
+    @Override public Integer addPushMonitor(String idMonitorInstance, String metricName) {
+        return call(() -> delegate.addPushMonitor(idMonitorInstance, metricName));
+    }
+
+    @Override public void removeSensorMonitor(String className, String metricName, long interval,
+        TimeUnit unit) {
+        run(() -> delegate.removeSensorMonitor(className, metricName, interval, unit));
+    }
+
+    @Override public void removeSensorMonitorForComponent(String className, String metricName,
+        long interval, TimeUnit unit, String componentId) {
+        run(() -> delegate
+            .removeSensorMonitorForComponent(className, metricName, interval, unit, componentId));
+    }
+
+    @Override public void removeSensorMonitor(SensorMonitor monitor) {
+        run(() -> delegate.removeSensorMonitor(monitor));
+    }
+
+    @Override public void removePushMonitor(PushMonitor monitor) {
+        run(() -> delegate.removePushMonitor(monitor));
+    }
+
+    @Override public void addSensorMonitorForComponent(String idMonitorInstance, String className,
+        String metricName, long interval, TimeUnit unit, String componentId,
+        Map<String, String> configs) {
+        run(() -> delegate
+            .addSensorMonitorForComponent(idMonitorInstance, className, metricName, interval,
+                unit, componentId, configs));
+    }
+
+    @Override public Integer addPushMonitorForComponent(String idMonitorInstance,
+        String metricName, String componentId) {
+        return call(
+            () -> delegate.addPushMonitorForComponent(idMonitorInstance, metricName, componentId));
+    }
+
+    @Override public List<SensorMonitor> getSensorMonitorWithSameValues(String className,
+        String metricName, String componentName) {
+        return call(() -> delegate
+            .getSensorMonitorWithSameValues(className, metricName, componentName));
+    }
+
+    @Override public List<PushMonitor> getPushMonitorWithSameValues(String metricName,
+        String componentName) {
+        return call(() -> delegate.getPushMonitorWithSameValues(metricName, componentName));
+    }
+
+    @Override public void updateMonitor(MonitorInstance mi) {
+        run(() -> delegate.updateMonitor(mi));
+    }
+
+    @Override public List<Monitor> getMonitors() {
+        return call(delegate::getMonitors);
+    }
+
+    @Override public Monitor addMonitor(Monitor monitor) {
+        return call(() -> delegate.addMonitor(monitor));
+    }
+
+    @Override public void removeMonitor(Monitor monitor) {
+        run(() -> delegate.removeMonitor(monitor));
+    }
+
+    @Override public boolean hasSameContext(Monitor mon, String contextKey, String contextValue) {
+        return delegate.hasSameContext(mon, contextKey, contextValue);
+    }
+
+    @Override public SensorMonitor copyValueFromMonitorInstance(SensorMonitor m,
+        MonitorInstance mi) {
+        return delegate.copyValueFromMonitorInstance(m, mi);
+    }
+
+    @Override public PushMonitor copyValueFromMonitorInstance(PushMonitor m, MonitorInstance mi) {
+        return delegate.copyValueFromMonitorInstance(m, mi);
+    }
+
+    @Override public int getPort() {
+        return delegate.getPort();
+    }
+
+    @Override public String getIp() {
+        return delegate.getIp();
+    }
+
+    @Override public String getProtocol() {
+        return delegate.getProtocol();
+    }
+}
@@ -0,0 +1,410 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package components.scalability;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import de.uniulm.omi.cloudiator.visor.client.entities.Monitor;
+import de.uniulm.omi.cloudiator.visor.client.entities.PushMonitor;
+import de.uniulm.omi.cloudiator.visor.client.entities.PushMonitorBuilder;
+import de.uniulm.omi.cloudiator.visor.client.entities.SensorMonitorBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.Nullable;
+
+import components.execution.AfterCommit;
+import components.execution.ExecutorPool;
+import components.execution.PooledExecutionService;
+import components.execution.Schedulable;
+import models.MonitorInstance;
+import models.RawMonitor;
+import models.SensorConfigurations;
+import models.service.MonitorInstanceModelService;
+import play.Configuration;
+import play.Logger;
+import play.db.jpa.JPAApi;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Reconciles the monitors running on the visor agents with the
+ * {@link MonitorInstance}s of the raw monitors.
+ * <p>
+ * For every agent the monitors last observed on it are kept, keyed by the
+ * monitor instance they were deployed for. A reconciliation compares them
+ * with the monitor instances bound to the ip address of the agent and only
+ * removes and adds the difference, so the monitor list of an agent is only
+ * fetched if it is unknown. Concurrent reconciliations of an agent are
+ * batched into a single pass, a reconciliation waits at most
+ * colosseum.scalability.visor.reconcile.timeout seconds for the pass of another
+ * one, so an agent hanging in a call does not block further threads. Every
+ * colosseum.scalability.visor.reconcile.period
+ * minutes the observed monitors of all agents are fetched again to repair
+ * changes made behind our back.
+ */
+@Singleton public class MonitorReconciler implements Schedulable {
+
+    private final static Logger.ALogger LOGGER = play.Logger.of("colosseum.scalability");
+    private static final String MONITOR_INSTANCE_CONTEXT = "monitorinstance";
+    private static final String COMPONENT_CONTEXT = "component";
+
+    private final JPAApi jpaApi;
+    private final MonitorInstanceModelService monitorInstanceModelService;
+    private final int agentPort;
+    private final long period;
+    private final long lockTimeout;
+    private final Executor executor;
+    private final ConcurrentMap<String, Agent> agents = new ConcurrentHashMap<>();
+
+    @Inject public MonitorReconciler(JPAApi jpaApi, Configuration configuration,
+        MonitorInstanceModelService monitorInstanceModelService,
+        PooledExecutionService pooledExecutionService) {
+        this.jpaApi = jpaApi;
+        this.monitorInstanceModelService = monitorInstanceModelService;
+        this.agentPort = configuration.getInt("colosseum.scalability.visor.port");
+        this.period = Math.max(1,
+            configuration.getLong("colosseum.scalability.visor.reconcile.period", 5L));
+        this.lockTimeout =
+            configuration.getLong("colosseum.scalability.visor.reconcile.timeout", 30L);
+        this.executor = pooledExecutionService.executor(ExecutorPool.RECONCILE);
+    }
+
+    /**
+     * Reconciles the agents at the given ip addresses in the background, once the
+     * current transaction committed.
+     *
+     * @param ips the ip addresses of the agents.
+     */
+    public void reconcileAfterCommit(Collection<String> ips) {
+        final Set<String> targets = new HashSet<>(ips);
+        AfterCommit.run(
+            () -> targets.forEach(ip -> executor.execute(() -> reconcileQuietly(ip, false))));
+    }
+
+    /**
+     * Reconciles the agent at the given ip address.
+     * <p>
+     * Must not be called within a transaction, as the monitor instances are
+     * loaded in a transaction of their own.
+     *
+     * @param ip the ip address of the agent.
+     * @return the monitors running on the agent by the id of their monitor instance.
+     * @throws RuntimeException if the agent could not be reconciled, e.g. as another
+     *                          reconciliation of the agent did not finish in time or
+     *                          the thread was interrupted while waiting for it.
+     */
+    public Map<Long, Monitor> reconcile(String ip) {
+        return reconcile(ip, false);
+    }
+
+    /**
+     * Fetches the monitors of all agents again and reconciles them.
+     */
+    @Override public void run() {
+        final List<String> ips;
+        try {
+            ips = jpaApi.withTransaction("default", true, monitorInstanceModelService::getIps);
+        } catch (Throwable t) {
+            LOGGER.error("Could not load the agents to reconcile.", t);
+            return;
+        }
+        evictAgentsExcept(ips);
+        LOGGER.info(String.format("Resynchronizing the monitors of %s agents.", ips.size()));
+        ips.forEach(ip -> executor.execute(() -> reconcileQuietly(ip, true)));
+    }
+
+    private void reconcileQuietly(String ip, boolean refresh) {
+        try {
+            reconcile(ip, refresh);
+        } catch (RuntimeException e) {
+            LOGGER.warn(String.format("Could not reconcile the monitors of agent %s.", ip), e);
+        }
+    }
+
+    /**
+     * Forgets the agents without monitor instances, they were reconciled when their
+     * last instance was removed. Agents being reconciled are kept until the next run.
+     */
+    private void evictAgentsExcept(Collection<String> ips) {
+        final Set<String> keep = new HashSet<>(ips);
+        agents.forEach((ip, agent) -> {
+            if (keep.contains(ip) || !agent.lock.tryLock()) {
+                return;
+            }
+            try {
+                agent.evicted = true;
+                agents.remove(ip, agent);
+            } finally {
+                agent.lock.unlock();
+            }
+        });
+    }
+
+    private Map<Long, Monitor> reconcile(String ip, boolean refresh) {
+        checkNotNull(ip);
+        Agent agent;
+        long ticket;
+        while (true) {
+            agent = agents.computeIfAbsent(ip, key -> new Agent());
+            ticket = agent.requested.incrementAndGet();
+            lock(ip, agent);
+            if (!agent.evicted) {
+                break;
+            }
+            //evicted while waiting for the lock, continue with the agent replacing it
+            agent.lock.unlock();
+        }
+        try {
+            if (!refresh && agent.reconciled >= ticket && agent.observed != null) {
+                //a pass started after this request already covered it
+                return ImmutableMap.copyOf(agent.observed);
+            }
+            final long covered = agent.requested.get();
+
+            final AgentCommunicator ac =
+                AgentCommunicatorRegistry.getAgentCommunicator("http", ip, agentPort);
+            if (ac != agent.communicator) {
+                //the agent was evicted, e.g. as its virtual machine was deleted
+                agent.communicator = ac;
+                agent.observed = null;
+            }
+            if (refresh || agent.observed == null) {
+                agent.observed = observe(ac);
+            }
+
+            final Map<Long, DesiredMonitor> desired = loadDesired(ip);
+            final Map<Long, Integer> ports = new HashMap<>();
+            int removed = 0;
+            for (Long instanceId : new ArrayList<>(agent.observed.keySet())) {
+                if (!desired.containsKey(instanceId)) {
+                    ac.removeMonitor(agent.observed.get(instanceId));
+                    agent.observed.remove(instanceId);
+                    removed++;
+                }
+            }
+            for (DesiredMonitor desiredMonitor : desired.values()) {
+                if (!agent.observed.containsKey(desiredMonitor.instanceId)) {
+                    final Monitor monitor = ac.addMonitor(desiredMonitor.build());
+                    agent.observed.put(desiredMonitor.instanceId, monitor);
+                    if (monitor instanceof PushMonitor) {
+                        ports.put(desiredMonitor.instanceId, ((PushMonitor) monitor).getPort());
+                    }
+                }
+            }
+            savePorts(ports);
+            agent.reconciled = covered;
+
+            if (removed > 0 || !ports.isEmpty() || refresh) {
+                LOGGER.debug(String
+                    .format("Reconciled agent %s: %s monitors removed, %s monitors running.", ip,
+                        removed, agent.observed.size()));
+            }
+            return ImmutableMap.copyOf(agent.observed);
+        } catch (RuntimeException e) {
+            //the state of the agent is unknown after a failed call
+            agent.observed = null;
+            throw e;
+        } finally {
+            agent.lock.unlock();
+        }
+    }
+
+    private void lock(String ip, Agent agent) {
+        try {
+            if (!agent.lock.tryLock(lockTimeout, TimeUnit.SECONDS)) {
+                throw new IllegalStateException(String
+                    .format("Agent %s is still being reconciled after %s seconds.", ip,
+                        lockTimeout));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                String.format("Interrupted while waiting to reconcile agent %s.", ip), e);
+        }
+    }
+
+    /**
+     * Fetches the monitors of the agent, removing duplicates deployed for the
+     * same monitor instance. Monitors not deployed for a monitor instance are
+     * ignored.
+     */
+    private Map<Long, Monitor> observe(AgentCommunicator ac) {
+        final Map<Long, Monitor> observed = new HashMap<>();
+        for (Monitor monitor : ac.getMonitors()) {
+            final Long instanceId = instanceId(monitor);
+            if (instanceId == null) {
+                continue;
+            }
+            if (observed.containsKey(instanceId)) {
+                ac.removeMonitor(monitor);
+            } else {
+                observed.put(instanceId, monitor);
+            }
+        }
+        return observed;
+    }
+
+    @Nullable private static Long instanceId(Monitor monitor) {
+        if (monitor.getMonitorContext() == null) {
+            return null;
+        }
+        final String instanceId = monitor.getMonitorContext().get(MONITOR_INSTANCE_CONTEXT);
+        if (instanceId == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(instanceId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Map<Long, DesiredMonitor> loadDesired(String ip) {
+        try {
+            return jpaApi.withTransaction("default", true, () -> {
+                final Map<Long, DesiredMonitor> desired = new HashMap<>();
+                for (MonitorInstance monitorInstance : monitorInstanceModelService.getByIp(ip)) {
+                    if (monitorInstance.getMonitor() instanceof RawMonitor) {
+                        desired.put(monitorInstance.getId(), new DesiredMonitor(monitorInstance,
+                            (RawMonitor) monitorInstance.getMonitor()));
+                    }
+                }
+                return desired;
+            });
+        } catch (Throwable t) {
+            throw Throwables.propagate(t);
+        }
+    }
+
+    private void savePorts(Map<Long, Integer> ports) {
+        if (ports.isEmpty()) {
+            return;
+        }
+        jpaApi.withTransaction(() -> {
+            ports.forEach((instanceId, port) -> {
+                final MonitorInstance monitorInstance =
+                    monitorInstanceModelService.getById(instanceId);
+                if (monitorInstance != null) {
+                    monitorInstance.setPort(port);
+                    monitorInstanceModelService.save(monitorInstance);
+                }
+            });
+        });
+    }
+
+    @Override public long period() {
+        return period;
+    }
+
+    @Override public long delay() {
+        return period;
+    }
+
+    @Override public TimeUnit timeUnit() {
+        return TimeUnit.MINUTES;
+    }
+
+    @Override public String toString() {
+        return "MonitorReconciler";
+    }
+
+    /**
+     * The reconciliation state of an agent.
+     */
+    private static final class Agent {
+
+        private final Lock lock = new ReentrantLock();
+        private final AtomicLong requested = new AtomicLong();
+        //guarded by the lock
+        private long reconciled;
+        private boolean evicted;
+        @Nullable private AgentCommunicator communicator;
+        @Nullable private Map<Long, Monitor> observed;
+    }
+
+    /**
+     * The monitor a monitor instance requires on its agent, resolved within the
+     * transaction loading the monitor instances.
+     */
+    private static final class DesiredMonitor {
+
+        private final long instanceId;
+        private final boolean push;
+        private final String className;
+        private final String metricName;
+        private final long interval;
+        @Nullable private final TimeUnit timeUnit;
+        @Nullable private final Map<String, String> configs;
+        @Nullable private final String componentId;
+
+        private DesiredMonitor(MonitorInstance monitorInstance, RawMonitor monitor) {
+            this.instanceId = monitorInstance.getId();
+            this.push = monitor.getSensorDescription().isPush();
+            this.className = monitor.getSensorDescription().getClassName();
+            this.metricName = monitor.getSensorDescription().getMetricName();
+            //push monitors do not need a schedule
+            this.interval =
+                monitor.getSchedule() == null ? 0 : monitor.getSchedule().getInterval();
+            this.timeUnit =
+                monitor.getSchedule() == null ? null : monitor.getSchedule().getTimeUnit();
+            this.configs =
+                monitor.getSensorConfigurations().map(SensorConfigurations::configs).orElse(null);
+            this.componentId =
+                monitor.getSensorDescription().isVmSensor() || monitor.getComponent() == null ?
+                    null :
+                    String.valueOf(monitor.getComponent().getId());
+        }
+
+        private Monitor build() {
+            final String sInstanceId = String.valueOf(instanceId);
+            if (push) {
+                PushMonitorBuilder builder = new PushMonitorBuilder().metricName(metricName);
+                if (componentId != null) {
+                    builder = builder.componentId(componentId)
+                        .addMonitorContext(COMPONENT_CONTEXT, componentId);
+                }
+                return builder.addMonitorContext(MONITOR_INSTANCE_CONTEXT, sInstanceId).build();
+            }
+            SensorMonitorBuilder builder =
+                new SensorMonitorBuilder().sensorClassName(className).metricName(metricName)
+                    .interval(interval, timeUnit).sensorConfiguration(configs);
+            if (componentId != null) {
+                builder = builder.componentId(componentId)
+                    .addMonitorContext(COMPONENT_CONTEXT, componentId);
+            }
+            return builder.addMonitorContext(MONITOR_INSTANCE_CONTEXT, sInstanceId).build();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package components.scalability;
+
+import com.google.common.util.concurrent.Striped;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+
+import javax.annotation.Nullable;
+
+import components.execution.AfterCommit;
+import components.execution.ExecutorPool;
+import components.execution.PooledExecutionService;
+import models.RawMonitor;
+import models.service.ModelService;
+import play.Configuration;
+import play.Logger;
+import play.db.jpa.JPAApi;
+
+/**
+ * Deploys raw monitors to the visor agents of their virtual machines.
+ * <p>
+ * The rollout starts once the transaction creating the monitor instances
+ * committed and reconciles all agents concurrently using the
+ * {@link MonitorReconciler}, so a slow or dead agent does not delay the others.
+ * Each agent is given colosseum.scalability.visor.rollout.timeout seconds and
+ * colosseum.scalability.visor.rollout.retries retries. The attempts run in the
+ * {@link ExecutorPool#ROLLOUT} pool, the progress is recorded on the
+ * {@link RawMonitor} by the thread completing the rollout to an agent.
+ */
+@Singleton public class MonitorRollout {
+
+    private final static Logger.ALogger LOGGER = play.Logger.of("colosseum.scalability");
+
+    private final JPAApi jpaApi;
+    private final ModelService<RawMonitor> rawMonitorModelService;
+    private final MonitorReconciler monitorReconciler;
+    private final long timeout;
+    private final int retries;
+    private final Executor agentExecutor;
+    private final ScheduledExecutorService timer;
+    private final Striped<Lock> progressLocks = Striped.lazyWeakLock(64);
+
+    @Inject public MonitorRollout(JPAApi jpaApi, Configuration configuration,
+        ModelService<RawMonitor> rawMonitorModelService, MonitorReconciler monitorReconciler,
+        PooledExecutionService pooledExecutionService) {
+        this.jpaApi = jpaApi;
+        this.rawMonitorModelService = rawMonitorModelService;
+        this.monitorReconciler = monitorReconciler;
+        this.timeout = configuration.getLong("colosseum.scalability.visor.rollout.timeout", 30L);
+        this.retries = configuration.getInt("colosseum.scalability.visor.rollout.retries", 2);
+        this.agentExecutor = pooledExecutionService.executor(ExecutorPool.ROLLOUT);
+        this.timer = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("colosseum-monitor-rollout-timer")
+                .setDaemon(true).build());
+    }
+
+    /**
+     * Starts the rollout of the monitor to the agents of the given monitor instances,
+     * once the current transaction committed.
+     *
+     * @param monitor the monitor to deploy.
+     * @param agents  the ip address of the agent by the id of the monitor instance
+     *                deployed there.
+     */
+    public void start(RawMonitor monitor, Map<Long, String> agents) {
+        if (agents.isEmpty()) {
+            return;
+        }
+        monitor.startRollout(agents.size());
+        rawMonitorModelService.save(monitor);
+
+        final long monitorId = monitor.getId();
+        final Map<Long, String> targets = Collections.unmodifiableMap(new HashMap<>(agents));
+        AfterCommit.run(() -> {
+            LOGGER.info(String
+                .format("Starting rollout of monitor %s to %s agents.", monitorId,
+                    targets.size()));
+            targets.forEach(
+                (instanceId, ip) -> deploy(monitorId, instanceId, ip, 0)
+                    .whenComplete((ignored, throwable) -> record(monitorId, ip, throwable)));
+        });
+    }
+
+    /**
+     * Deploys the monitor to the agent, retrying failed or timed out attempts.
+     */
+    private CompletableFuture<Void> deploy(long monitorId, long instanceId, String ip,
+        int attempt) {
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+        attempt(monitorId, instanceId, ip).whenComplete((ignored, throwable) -> {
+            if (throwable == null) {
+                result.complete(null);
+            } else if (attempt < retries) {
+                LOGGER.warn(String
+                    .format("Attempt %s to deploy monitor %s to agent %s failed, retrying.",
+                        attempt + 1, monitorId, ip), throwable);
+                //linear backoff
+                timer.schedule(() -> deploy(monitorId, instanceId, ip, attempt + 1)
+                    .whenComplete((retried, retriedThrowable) -> {
+                        if (retriedThrowable == null) {
+                            result.complete(null);
+                        } else {
+                            result.completeExceptionally(retriedThrowable);
+                        }
+                    }), attempt + 1, TimeUnit.SECONDS);
+            } else {
+                result.completeExceptionally(throwable);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Attempts to deploy the monitor to the agent.
+     * <p>
+     * The timeout starts once the attempt runs, so attempts waiting for a thread
+     * do not time out. On timeout the attempt fails and its thread is interrupted,
+     * releasing it if it waits for the agent lock of the reconciler. A call blocked
+     * on the agent can not be interrupted, so it keeps its thread until the call
+     * returns, but the attempt fails regardless.
+     */
+    private CompletableFuture<Void> attempt(long monitorId, long instanceId, String ip) {
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+        agentExecutor.execute(() -> {
+            final AtomicReference<Thread> worker = new AtomicReference<>(Thread.currentThread());
+            final ScheduledFuture<?> timeoutFuture = timer.schedule(() -> {
+                result.completeExceptionally(new TimeoutException(String
+                    .format("Agent %s did not respond within %s seconds.", ip, timeout)));
+                final Thread thread = worker.getAndSet(null);
+                if (thread != null) {
+                    thread.interrupt();
+                }
+            }, timeout, TimeUnit.SECONDS);
+            try {
+                deployToAgent(monitorId, instanceId, ip);
+                result.complete(null);
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            } finally {
+                timeoutFuture.cancel(false);
+                if (worker.getAndSet(null) == null) {
+                    //interrupted by the timeout, do not pass it on to the next task
+                    Thread.interrupted();
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Reconciles the agent and checks that the monitor instance is running there.
+     * Rollouts to the same agent are batched by the reconciler.
+     */
+    private void deployToAgent(long monitorId, long instanceId, String ip) {
+        if (!monitorReconciler.reconcile(ip).containsKey(instanceId)) {
+            throw new IllegalStateException(String
+                .format("Monitor %s is not running on agent %s after reconciliation.", monitorId,
+                    ip));
+        }
+    }
+
+    private void record(long monitorId, String ip, @Nullable Throwable throwable) {
+        if (throwable != null) {
+            LOGGER.error(String.format("Could not deploy monitor %s to agent %s.", monitorId, ip),
+                throwable);
+        }
+        //serialize the progress updates of a monitor
+        final Lock lock = progressLocks.get(monitorId);
+        lock.lock();
+        try {
+            jpaApi.withTransaction(() -> {
+                final RawMonitor monitor = rawMonitorModelService.getById(monitorId);
+                if (monitor == null) {
+                    return;
+                }
+                if (throwable == null) {
+                    monitor.rolloutSucceeded();
+                } else {
+                    monitor.rolloutFailed();
+                }
+                rawMonitorModelService.save(monitor);
+                if (monitor.isRolloutFinished()) {
+                    LOGGER.info(String.format(
+                        "Finished rollout of monitor %s, %s of %s agents succeeded.", monitorId,
+                        monitor.getRolloutSucceeded(), monitor.getRolloutTotal()));
+                }
+            });
+        } catch (RuntimeException e) {
+            LOGGER.error(
+                String.format("Could not record rollout progress of monitor %s.", monitorId), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
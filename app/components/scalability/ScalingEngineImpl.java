@@ -27,8 +27,11 @@ import models.*;
 import models.scalability.FlowOperator;
 import play.Logger;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -39,14 +42,18 @@ import java.util.UUID;
     private final SimpleBlockingQueue<Aggregation<Monitor>> aggregationQueue;
     private final FrontendCommunicator fc;
     private final int agentPort;
+    private final MonitorRollout monitorRollout;
+    private final MonitorReconciler monitorReconciler;
     private final static Logger.ALogger LOGGER = play.Logger.of("colosseum.scalability");
 
     @Inject public ScalingEngineImpl(FrontendCommunicator fc,
         @Named("aggregationQueue") SimpleBlockingQueue<Aggregation<Monitor>> aggregationQueue,
-        int agentPort) {
+        int agentPort, MonitorRollout monitorRollout, MonitorReconciler monitorReconciler) {
         this.fc = fc;
         this.aggregationQueue = aggregationQueue;
         this.agentPort = agentPort;
+        this.monitorRollout = monitorRollout;
+        this.monitorReconciler = monitorReconciler;
     }
 
 
@@ -151,47 +158,18 @@ import java.util.UUID;
     @Override public void removeMonitor(long monitorId) {
         RawMonitor rawMonitor = fc.getRawMonitor(monitorId);
         if (rawMonitor != null) {
-            SensorDescription desc = rawMonitor.getSensorDescription();
-
             List<MonitorInstance> monitorInstances = fc.getMonitorInstances(monitorId);
 
+            Set<String> agents = new HashSet<>();
             for (MonitorInstance monitorInstance : monitorInstances) {
                 /*TODO: dangerous, what happens if this vm changes the IP address? */
-                String ipAddress = fc.getIpAddress(monitorInstance.getIpAddress().getId());
-
-                AgentCommunicator ac =
-                    AgentCommunicatorRegistry.getAgentCommunicator("http", ipAddress, agentPort);
-
-                if(desc.isPush()) {
-                    List<de.uniulm.omi.cloudiator.visor.client.entities.PushMonitor> monitors =
-                            ac.getPushMonitorWithSameValues(desc.getMetricName(), null /*TODO*/);
-
-                    if (!monitors.isEmpty()) {
-                        for (de.uniulm.omi.cloudiator.visor.client.entities.PushMonitor agentMonitor : monitors) {
-                            LOGGER.info("Delete Raw Push Monitor: " + monitorId);
-
-                            ac.removePushMonitor(agentMonitor);
-                        }
-                    }
-
-                    fc.removeMonitorInstance(monitorInstance);
-                } else {
-                    List<de.uniulm.omi.cloudiator.visor.client.entities.SensorMonitor> monitors =
-                            ac.getSensorMonitorWithSameValues(desc.getClassName(), desc.getMetricName(),
-                                    null /*TODO*/);
-
-                    if (!monitors.isEmpty()) {
-                        /*TODO: check for interval: if(hertz(monitor.getInterval())... */
-                        for (de.uniulm.omi.cloudiator.visor.client.entities.SensorMonitor agentMonitor : monitors) {
-                            LOGGER.info("Delete Raw Sensor Monitor: " + monitorId);
-
-                            ac.removeSensorMonitor(agentMonitor);
-                        }
-                    }
+                agents.add(fc.getIpAddress(monitorInstance.getIpAddress().getId()));
 
-                    fc.removeMonitorInstance(monitorInstance);
-                }
+                LOGGER.info("Delete Raw Monitor Instance: " + monitorInstance.getId());
+                fc.removeMonitorInstance(monitorInstance);
             }
+            // the agents drop the monitors of the removed instances
+            monitorReconciler.reconcileAfterCommit(agents);
         } else {
             ComposedMonitor composedMonitor = fc.getComposedMonitor(monitorId);
             if (composedMonitor != null) {
@@ -285,6 +263,7 @@ import java.util.UUID;
                 monitor.getComponentInstance().getId()),
             (monitor.getCloud() == null ? null : monitor.getCloud().getId()));
 
+        Map<Long, String> agents = new HashMap<>();
         for (Component cid : components) {
 
             List<VirtualMachine> virtualMachines = fc.getVirtualMachines(
@@ -295,9 +274,9 @@ import java.util.UUID;
                 (monitor.getCloud() == null ? null : monitor.getCloud().getId()));
             //List<VirtualMachine> virtualMachines = fc.getVirtualMachines(null, comp, null, null);
 
-            addMonitorToVMs(monitor, virtualMachines);
+            agents.putAll(addMonitorToVMs(monitor, virtualMachines));
         }
-
+        monitorRollout.start(monitor, agents);
 
         return monitor;
     }
@@ -312,106 +291,36 @@ import java.util.UUID;
                 monitor.getComponentInstance().getId()),
             (monitor.getCloud() == null ? null : monitor.getCloud().getId()));
 
-        addMonitorToVMs(monitor, virtualMachines);
+        monitorRollout.start(monitor, addMonitorToVMs(monitor, virtualMachines));
 
         return monitor;
     }
 
-    private void addMonitorToVMs(RawMonitor monitor, List<VirtualMachine> virtualMachines) {
+    /**
+     * Creates the monitor instances of the monitor on the given virtual machines.
+     * The monitor is deployed to their agents by the {@link MonitorRollout}.
+     *
+     * @return the ip address of the agent by the id of the monitor instance.
+     */
+    private Map<Long, String> addMonitorToVMs(RawMonitor monitor,
+        List<VirtualMachine> virtualMachines) {
+        Map<Long, String> agents = new HashMap<>(virtualMachines.size());
         for (VirtualMachine vm : virtualMachines) {
             LOGGER.info("Create VM-Monitor-Instance for: " + fc.getPublicAddressOfVM(vm) + " "
                 + " to this application " + monitor.getApplication());
 
-            /* TODO not magical static values : monitoring agent config (at least port) has to be saved in db */
-            AgentCommunicator ac = AgentCommunicatorRegistry
-                .getAgentCommunicator("http", fc.getPublicAddressOfVM(vm), agentPort);
-
-            if(monitor.getSensorDescription().isPush()){
-                List<de.uniulm.omi.cloudiator.visor.client.entities.PushMonitor> monitors =
-                        ac.getPushMonitorWithSameValues(
-                                monitor.getSensorDescription().getMetricName(), null);
-
-                if (!monitors.isEmpty()) {
-                    for (de.uniulm.omi.cloudiator.visor.client.entities.PushMonitor _monitor : monitors) {
-                        ac.removePushMonitor(_monitor);
-                    }
-                }
-
-                /* TODO create monitor instance not by frontend communicator... */
-                String apiEndpoint = fc.getIpAddress(fc.getIdPublicAddressOfVM(vm));
+            /* TODO create monitor instance not by frontend communicator... */
+            String apiEndpoint = fc.getIpAddress(fc.getIdPublicAddressOfVM(vm));
 
-                MonitorInstance instance =
-                        fc.saveMonitorInstance(monitor.getId(), apiEndpoint, fc.getIdPublicAddressOfVM(vm),
-                                vm.getId(),
-                                (monitor.getComponent() == null ? null : monitor.getComponent().getId()));
+            MonitorInstance instance =
+                fc.saveMonitorInstance(monitor.getId(), apiEndpoint, fc.getIdPublicAddressOfVM(vm),
+                    vm.getId(),
+                    (monitor.getComponent() == null ? null : monitor.getComponent().getId()));
 
-                addMonitorToAgent(ac, instance, monitor);
-            } else {
-                List<de.uniulm.omi.cloudiator.visor.client.entities.SensorMonitor> monitors =
-                        ac.getSensorMonitorWithSameValues(monitor.getSensorDescription().getClassName(),
-                                monitor.getSensorDescription().getMetricName(), null);
-
-                if (!monitors.isEmpty()) {
-                    /*TODO: check for interval: if(hertz(monitor.getInterval())... */
-                    for (de.uniulm.omi.cloudiator.visor.client.entities.SensorMonitor _monitor : monitors) {
-                        ac.removeSensorMonitor(_monitor);
-                    }
-                }
-
-                /* TODO create monitor instance not by frontend communicator... */
-                String apiEndpoint = fc.getIpAddress(fc.getIdPublicAddressOfVM(vm));
-
-                MonitorInstance instance =
-                        fc.saveMonitorInstance(monitor.getId(), apiEndpoint, fc.getIdPublicAddressOfVM(vm),
-                                vm.getId(),
-                                (monitor.getComponent() == null ? null : monitor.getComponent().getId()));
-
-                addMonitorToAgent(ac, instance, monitor);
-            }
-        }
-    }
-
-    private void addMonitorToAgent(AgentCommunicator ac, MonitorInstance instance,
-        RawMonitor monitor) {
-        String sMonitorInstanceId = String.valueOf(instance.getId());
-        Map<String, String> configs = null;
-        if (monitor.getSensorConfigurations().isPresent()) {
-            final SensorConfigurations sensorConfigurations =
-                monitor.getSensorConfigurations().get();
-            configs = sensorConfigurations.configs();
-        }
-
-
-        if(monitor.getSensorDescription().isPush()){
-            if (monitor.getSensorDescription().isVmSensor()) {
-                Integer port = ac.addPushMonitor(sMonitorInstanceId,
-                        monitor.getSensorDescription().getMetricName());
-
-                instance.setPort(port);
-                fc.saveMonitorInstance(instance);
-            } else {
-                String sComponentId = String.valueOf(monitor.getComponent().getId());
-
-                Integer port = ac.addPushMonitorForComponent(sMonitorInstanceId,
-                        monitor.getSensorDescription().getMetricName(), sComponentId);
-
-                instance.setPort(port);
-                fc.saveMonitorInstance(instance);
-            }
-        } else {
-            if (monitor.getSensorDescription().isVmSensor()) {
-                ac.addSensorMonitor(sMonitorInstanceId, monitor.getSensorDescription().getClassName(),
-                        monitor.getSensorDescription().getMetricName(), monitor.getSchedule().getInterval(),
-                        monitor.getSchedule().getTimeUnit(), configs);
-            } else {
-                String sComponentId = String.valueOf(monitor.getComponent().getId());
-
-                ac.addSensorMonitorForComponent(sMonitorInstanceId,
-                        monitor.getSensorDescription().getClassName(),
-                        monitor.getSensorDescription().getMetricName(), monitor.getSchedule().getInterval(),
-                        monitor.getSchedule().getTimeUnit(), sComponentId, configs);
-            }
+            /* TODO not magical static values : monitoring agent config (at least port) has to be saved in db */
+            agents.put(instance.getId(), fc.getPublicAddressOfVM(vm));
         }
+        return agents;
     }
 
     @Override public void updateMonitor(RawMonitor monitor) {
@@ -21,7 +21,9 @@ package components.scalability;
 import com.google.inject.AbstractModule;
 import com.google.inject.Injector;
 import com.google.inject.Provides;
+import com.google.inject.multibindings.Multibinder;
 import com.google.inject.name.Named;
+import components.execution.Schedulable;
 import components.execution.SimpleBlockingQueue;
 import components.scalability.aggregation.Aggregation;
 import models.Monitor;
@@ -44,13 +46,18 @@ public class ScalingEngineModule extends AbstractModule {
 
     @Override protected void configure() {
         bind(FrontendCommunicator.class).to(FrontendCommunicatorImpl.class);
+        Multibinder.newSetBinder(binder(), Schedulable.class).addBinding()
+            .to(AgentStatisticsLogger.class);
+        Multibinder.newSetBinder(binder(), Schedulable.class).addBinding()
+            .to(MonitorReconciler.class);
         //bind(ScalingEngine.class).to(ScalingEngineImpl.class);
     }
 
     @Singleton @Provides final ScalingEngine provideScalingEngine(FrontendCommunicator fc,
         @Named("aggregationQueue") SimpleBlockingQueue<Aggregation<Monitor>> aggregationQueue,
-        Injector injector) {
+        MonitorRollout monitorRollout, MonitorReconciler monitorReconciler, Injector injector) {
         return new ScalingEngineImpl(fc, aggregationQueue,
-            configuration.getInt("colosseum.scalability.visor.port"));
+            configuration.getInt("colosseum.scalability.visor.port"), monitorRollout,
+            monitorReconciler);
     }
 }
@@ -59,6 +59,10 @@ public class SubscribeAggregation implements Aggregation<Monitor> {
         return monitor;
     }
 
+    public MonitorSubscription getSubscription() {
+        return subscription;
+    }
+
     @Override public void execute(AggregatorServiceAccess service) {
         try {
             if(this.subscription.getType() == SubscriptionType.CDO) {
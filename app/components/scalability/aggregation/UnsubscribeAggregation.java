@@ -42,6 +42,10 @@ public class UnsubscribeAggregation implements Aggregation<Monitor> {
         return null; // no monitor needed, nor available when removing subscription
     }
 
+    public Long getIdMonitorSubscription() {
+        return idMonitorSubscription;
+    }
+
     @Override public void execute(AggregatorServiceAccess service) {
         try {
             service.removeObserver(idMonitorSubscription.toString());
@@ -19,71 +19,112 @@
 package components.scalability.worker;
 
 import com.google.inject.Inject;
-import com.google.inject.name.Named;
 
 import de.uniulm.omi.cloudiator.axe.aggregator.communication.rmi.AggregatorServiceAccess;
 import de.uniulm.omi.cloudiator.axe.aggregator.communication.rmi.ColosseumDetails;
 
 import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.List;
 
-import components.execution.SimpleBlockingQueue;
+import javax.annotation.Nullable;
+
+import components.execution.ExecutedIn;
+import components.execution.ExecutorPool;
+import components.execution.Loop;
 import components.scalability.AggregationAccessService;
+import components.scalability.AggregationQueue;
 import components.scalability.aggregation.Aggregation;
 import models.Monitor;
+import play.Configuration;
 import play.Logger;
-import play.Play;
 
 /**
  * Created by Frank on 30.07.2015.
+ * <p>
+ * Takes the queued aggregations in batches of at most
+ * colosseum.scalability.aggregator.batchSize and executes them against the
+ * aggregator. Repeated operations on the same monitor are already merged by the
+ * {@link AggregationQueue}. The colosseum credentials are only sent to the aggregator when
+ * the connection to it is (re-)established.
  */
-public class AggregationWorker implements Runnable {
+@ExecutedIn(ExecutorPool.AGGREGATION) public class AggregationWorker implements Runnable {
     protected final static Logger.ALogger LOGGER = play.Logger.of("colosseum.scalability");
 
-    private final SimpleBlockingQueue<Aggregation<Monitor>> aggregationQueue;
+    private final AggregationQueue aggregationQueue;
+    private final ColosseumDetails credentials;
+    private final int batchSize;
+    //the service the credentials were sent to, only accessed by the worker thread
+    @Nullable private AggregatorServiceAccess connectedService;
+    //the collapsed aggregations of the queue at the last batch, only accessed by the worker thread
+    private long lastCollapsed;
 
-    @Inject public AggregationWorker(@Named("aggregationQueue") SimpleBlockingQueue<Aggregation<Monitor>> aggregationQueue) {
+    @Inject public AggregationWorker(AggregationQueue aggregationQueue,
+        Configuration configuration) {
         this.aggregationQueue = aggregationQueue;
+        //TODO just for the moment only local service with hard-coded user details:
+        this.credentials = new ColosseumDetails(
+            configuration.getString("colosseum.scalability.aggregator.agent.local.protocol"),
+            configuration.getString("colosseum.scalability.aggregator.agent.local.ip"),
+            configuration.getInt("colosseum.scalability.aggregator.agent.local.port"),
+            configuration.getString("colosseum.scalability.aggregator.agent.local.username"),
+            configuration.getString("colosseum.scalability.aggregator.agent.local.tenant"),
+            configuration.getString("colosseum.scalability.aggregator.agent.local.password"));
+        this.batchSize =
+            Math.max(1, configuration.getInt("colosseum.scalability.aggregator.batchSize", 100));
     }
 
-    @Override public void run() {
+    @Loop @Override public void run() {
+        final List<Aggregation<Monitor>> batch = new ArrayList<>();
         try {
-            while(!Thread.currentThread().isInterrupted()){ /*TODO change with new version*/
-                Aggregation<Monitor> job = aggregationQueue.take();
-                Thread.sleep(2000); /* wait for transaction to be finished */
-
-                //TODO has to be done on basis of the monitor instances instead of the monitors
-                //TsdbHelper.getIpOfTSDB(job.getObject(), null /*TODO use this as filter if you only want to aggregate some */);
-                //job.execute(AggregationAccessService.getService(), monitorInstances);3
+            batch.add(aggregationQueue.take());
+            aggregationQueue.drainTo(batch, batchSize - 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
 
+        //TODO has to be done on basis of the monitor instances instead of the monitors
+        //TsdbHelper.getIpOfTSDB(job.getObject(), null /*TODO use this as filter if you only want to aggregate some */);
+        //job.execute(AggregationAccessService.getService(), monitorInstances);3
 
-                //TODO just for the moment only local service with hard-coded user details:
-                final AggregatorServiceAccess localService = AggregationAccessService.getLocalService();
+        final AggregatorServiceAccess service = connect();
+        if (service == null) {
+            LOGGER.error(String
+                .format("Could not connect to RMI registry or object, dropping %s aggregations.",
+                    batch.size()));
+            return;
+        }
 
-                if(localService == null){
-                    LOGGER.error("Could not connect to RMI registry or object.");
-                    continue;
-                }
+        final long collapsed = aggregationQueue.collapsed();
+        LOGGER.debug(String
+            .format("Executing %s aggregations, %s aggregations collapsed in the queue.",
+                batch.size(), collapsed - lastCollapsed));
+        lastCollapsed = collapsed;
+        for (Aggregation<Monitor> aggregation : batch) {
+            try {
+                aggregation.execute(service);
+            } catch (RuntimeException e) {
+                LOGGER.error("Could not execute aggregation " + aggregation, e);
+            }
+        }
+    }
 
-                ColosseumDetails credentials = new ColosseumDetails(
-                    Play.application().configuration().getString("colosseum.scalability.aggregator.agent.local.protocol"),
-                    Play.application().configuration().getString(
-                        "colosseum.scalability.aggregator.agent.local.ip"),
-                    Play.application().configuration().getInt(
-                        "colosseum.scalability.aggregator.agent.local.port"),
-                    Play.application().configuration().getString(
-                        "colosseum.scalability.aggregator.agent.local.username"),
-                    Play.application().configuration().getString(
-                        "colosseum.scalability.aggregator.agent.local.tenant"),
-                    Play.application().configuration().getString("colosseum.scalability.aggregator.agent.local.password"));
-                try{
-                    localService.setColosseum(credentials);
-                } catch (RemoteException re){ // TODO outsource exception handling into separate client class
-                    LOGGER.error("Could not set colosseum credentials to aggregator service.", re);
-                }
-                job.execute(localService);
+    /**
+     * Returns the aggregator service, sending the credentials if it was looked
+     * up again since the last batch.
+     */
+    @Nullable private AggregatorServiceAccess connect() {
+        //pings the known remote object, looking it up again if it is gone
+        final AggregatorServiceAccess service = AggregationAccessService.getLocalService();
+        if (service != null && service != connectedService) {
+            try {
+                service.setColosseum(credentials);
+                connectedService = service;
+            } catch (RemoteException re) {
+                LOGGER.error("Could not set colosseum credentials to aggregator service.", re);
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         }
+        return service;
     }
 }
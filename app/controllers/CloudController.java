@@ -21,6 +21,7 @@ package controllers;
 import com.google.inject.Inject;
 import com.google.inject.TypeLiteral;
 
+import cloud.ComputeServiceCache;
 import controllers.generic.GenericApiController;
 import dtos.CloudDto;
 import dtos.conversion.ModelDtoConversionService;
@@ -36,13 +37,25 @@ import models.service.ModelService;
  */
 public class CloudController extends GenericApiController<Cloud, CloudDto, CloudDto, CloudDto> {
 
+    private final ComputeServiceCache computeServiceCache;
+
     @Inject public CloudController(FrontendUserService frontendUserService,
         ModelService<Tenant> tenantModelService, ModelService<Cloud> modelService, TypeLiteral<Cloud> typeLiteral,
-        ModelDtoConversionService conversionService) {
+        ModelDtoConversionService conversionService, ComputeServiceCache computeServiceCache) {
         super(frontendUserService, tenantModelService, modelService, typeLiteral, conversionService);
+        this.computeServiceCache = computeServiceCache;
     }
 
     @Override protected String getSelfRoute(Long id) {
         return controllers.routes.CloudController.get(id).absoluteURL(request());
     }
+
+    @Override protected void postPut(Cloud entity) {
+        computeServiceCache.invalidate(entity);
+    }
+
+    @Override protected boolean preDelete(Cloud entity) {
+        computeServiceCache.invalidate(entity);
+        return true;
+    }
 }
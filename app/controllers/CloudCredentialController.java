@@ -21,6 +21,7 @@ package controllers;
 import com.google.inject.Inject;
 import com.google.inject.TypeLiteral;
 
+import cloud.ComputeServiceCache;
 import controllers.generic.GenericApiController;
 import dtos.CloudCredentialDto;
 import dtos.conversion.ModelDtoConversionService;
@@ -35,14 +36,27 @@ import models.service.ModelService;
 public class CloudCredentialController extends
     GenericApiController<CloudCredential, CloudCredentialDto, CloudCredentialDto, CloudCredentialDto> {
 
+    private final ComputeServiceCache computeServiceCache;
+
     @Inject public CloudCredentialController(FrontendUserService frontendUserService,
         ModelService<Tenant> tenantModelService, ModelService<CloudCredential> modelService,
-        TypeLiteral<CloudCredential> typeLiteral, ModelDtoConversionService conversionService) {
+        TypeLiteral<CloudCredential> typeLiteral, ModelDtoConversionService conversionService,
+        ComputeServiceCache computeServiceCache) {
         super(frontendUserService, tenantModelService, modelService, typeLiteral,
             conversionService);
+        this.computeServiceCache = computeServiceCache;
     }
 
     @Override protected String getSelfRoute(Long id) {
         return controllers.routes.CloudCredentialController.get(id).absoluteURL(request());
     }
+
+    @Override protected void postPut(CloudCredential entity) {
+        computeServiceCache.invalidate(entity);
+    }
+
+    @Override protected boolean preDelete(CloudCredential entity) {
+        computeServiceCache.invalidate(entity);
+        return true;
+    }
 }
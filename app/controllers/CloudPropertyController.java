@@ -21,6 +21,7 @@ package controllers;
 import com.google.inject.Inject;
 import com.google.inject.TypeLiteral;
 
+import cloud.ComputeServiceCache;
 import controllers.generic.GenericApiController;
 import dtos.CloudPropertyDto;
 import dtos.conversion.ModelDtoConversionService;
@@ -35,14 +36,31 @@ import models.service.ModelService;
 public class CloudPropertyController extends
     GenericApiController<CloudProperty, CloudPropertyDto, CloudPropertyDto, CloudPropertyDto> {
 
+    private final ComputeServiceCache computeServiceCache;
+
     @Inject public CloudPropertyController(FrontendUserService frontendUserService,
         ModelService<Tenant> tenantModelService, ModelService<CloudProperty> modelService,
-        TypeLiteral<CloudProperty> typeLiteral, ModelDtoConversionService conversionService) {
+        TypeLiteral<CloudProperty> typeLiteral, ModelDtoConversionService conversionService,
+        ComputeServiceCache computeServiceCache) {
         super(frontendUserService, tenantModelService, modelService, typeLiteral,
             conversionService);
+        this.computeServiceCache = computeServiceCache;
     }
 
     @Override protected String getSelfRoute(Long id) {
         return controllers.routes.CloudPropertyController.get(id).absoluteURL(request());
     }
+
+    @Override protected void postPost(CloudProperty entity) {
+        computeServiceCache.invalidate(entity.cloud());
+    }
+
+    @Override protected void postPut(CloudProperty entity) {
+        computeServiceCache.invalidate(entity.cloud());
+    }
+
+    @Override protected boolean preDelete(CloudProperty entity) {
+        computeServiceCache.invalidate(entity.cloud());
+        return true;
+    }
 }
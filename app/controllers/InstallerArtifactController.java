@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package controllers;
+
+import com.google.inject.Inject;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Optional;
+
+import components.installer.ArtifactCache;
+import play.Logger;
+import play.mvc.Controller;
+import play.mvc.Result;
+import util.logging.Loggers;
+
+/**
+ * Serves the installer artifacts of the {@link ArtifactCache} to the virtual machines.
+ * <p>
+ * Not authenticated, as the virtual machines do not hold credentials. Only the
+ * configured installer downloads are served.
+ */
+public class InstallerArtifactController extends Controller {
+
+    private static final Logger.ALogger LOGGER = Loggers.of(Loggers.INSTALLATION);
+
+    private final ArtifactCache artifactCache;
+
+    @Inject public InstallerArtifactController(ArtifactCache artifactCache) {
+        this.artifactCache = artifactCache;
+    }
+
+    public Result artifact(String source) {
+        final Optional<File> artifact;
+        try {
+            artifact = artifactCache.artifact(source);
+        } catch (IOException e) {
+            LOGGER.error(String.format("Could not cache installer artifact %s.", source), e);
+            return status(BAD_GATEWAY, "Could not download the artifact.");
+        }
+        if (!artifact.isPresent()) {
+            return notFound();
+        }
+        return ok(artifact.get());
+    }
+}
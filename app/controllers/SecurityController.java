@@ -87,7 +87,11 @@ public class SecurityController extends Controller {
         return ok(result);
     }
 
-    public Result logout() {
+    @Transactional public Result logout() {
+        final String token = request().getHeader("X-Auth-Token");
+        if (token != null && !token.isEmpty()) {
+            tokenService.revoke(token);
+        }
         session().clear();
         flash("success", "You have been successfully logged out.");
         return redirect(routes.SecurityController.login());
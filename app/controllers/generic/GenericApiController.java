@@ -18,14 +18,26 @@
 
 package controllers.generic;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Splitter;
 import com.google.common.reflect.TypeToken;
 import com.google.inject.TypeLiteral;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -42,9 +54,11 @@ import models.service.IllegalSearchException;
 import models.service.ModelService;
 import play.Logger;
 import play.data.Form;
+import play.db.jpa.JPA;
 import play.db.jpa.Transactional;
 import play.libs.Json;
 import play.mvc.BodyParser;
+import play.mvc.Http;
 import play.mvc.Result;
 import play.mvc.Security;
 import util.logging.Loggers;
@@ -69,6 +83,11 @@ public abstract class GenericApiController<T extends Model, U extends Dto, V ext
 
     private final Logger.ALogger LOGGER = Loggers.of(Loggers.API);
 
+    /**
+     * Number of entities loaded at once when streaming all entities.
+     */
+    private static final int STREAM_PAGE_SIZE = 500;
+
     private final ModelService<T> modelService;
     private final ModelDtoConversionService conversionService;
     private final Class<T> modelType;
@@ -161,19 +180,129 @@ public abstract class GenericApiController<T extends Model, U extends Dto, V ext
     }
 
     /**
-     * Loads all entities of the model from
+     * Loads a page of entities of the model from
      * the service.
+     * <p>
+     * Loads further pages, until the page is filled with entities
+     * passing the {@link #filter()}, or all entities were loaded.
      *
-     * @return a list of all model entities.
+     * @param afterId only entities with a greater id are loaded, null for the first page.
+     * @param limit   the maximum number of entities loaded.
+     * @return a list of model entities, ordered by their id.
      */
-    private List<T> loadEntities() {
-        List<T> ts = modelService.getAll();
-        if (filter().isPresent()) {
-            return ts.stream().filter(filter().get()).collect(Collectors.toList());
-        }
+    private List<T> loadEntities(@Nullable Long afterId, int limit) {
+        final Optional<Predicate<T>> filter = filter();
+        final List<T> ts = new ArrayList<>(limit);
+        Long lastId = afterId;
+        List<T> page;
+        do {
+            page = modelService.getPage(lastId, limit);
+            for (T t : page) {
+                if (!filter.isPresent() || filter.get().test(t)) {
+                    ts.add(t);
+                    if (ts.size() == limit) {
+                        return ts;
+                    }
+                }
+                lastId = t.getId();
+            }
+        } while (page.size() == limit);
         return ts;
     }
 
+    /**
+     * Streams all entities of the model as a chunked JSON array.
+     * <p>
+     * The first page is loaded in the transaction of the request, so that
+     * errors result in an error status. The following pages are loaded while
+     * the response is written, each in a separate read only transaction,
+     * so that memory consumption does not depend on the number of entities.
+     *
+     * @param afterId only entities with a greater id are streamed, null for all.
+     * @param fields  the fields of the dtos included, empty for all fields.
+     * @return the chunked result.
+     */
+    private Result streamEntities(@Nullable Long afterId, Set<String> fields) {
+        return ok(new EntityStream(ctx(), afterId, fields)).as("application/json; charset=utf-8");
+    }
+
+    /**
+     * An input stream providing the JSON array of all entities, loading
+     * a page of entities whenever the previous one was read.
+     * <p>
+     * Errors while loading a page are thrown as {@link IOException}, which
+     * aborts the chunked response instead of terminating it regularly.
+     */
+    private class EntityStream extends InputStream {
+
+        private final Http.Context context;
+        private final Set<String> fields;
+        @Nullable private Long lastId;
+        private boolean opened = false;
+        private boolean first = true;
+        private boolean finished = false;
+        private ByteArrayInputStream chunk;
+
+        private EntityStream(Http.Context context, @Nullable Long afterId, Set<String> fields) {
+            this.context = context;
+            this.fields = fields;
+            this.lastId = afterId;
+            this.chunk = new ByteArrayInputStream(nextPage().getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override public int read() throws IOException {
+            return fill() ? chunk.read() : -1;
+        }
+
+        @Override public int read(byte[] b, int off, int len) throws IOException {
+            return fill() ? chunk.read(b, off, len) : -1;
+        }
+
+        private boolean fill() throws IOException {
+            while (chunk.available() == 0) {
+                if (finished) {
+                    return false;
+                }
+                chunk = new ByteArrayInputStream(
+                    nextPageInTransaction().getBytes(StandardCharsets.UTF_8));
+            }
+            return true;
+        }
+
+        private String nextPageInTransaction() throws IOException {
+            //the filter and the conversion may depend on the context of the request
+            Http.Context.current.set(context);
+            try {
+                return JPA.withTransaction("default", true, this::nextPage);
+            } catch (Throwable t) {
+                LOGGER.error("Error while streaming entities of type " + modelType.getSimpleName(),
+                    t);
+                throw new IOException(t);
+            } finally {
+                Http.Context.current.remove();
+            }
+        }
+
+        private String nextPage() {
+            final Optional<Predicate<T>> filter = filter();
+            final StringBuilder json = new StringBuilder(opened ? "" : "[");
+            opened = true;
+            final List<T> page = modelService.getPage(lastId, STREAM_PAGE_SIZE);
+            for (T t : page) {
+                if (!filter.isPresent() || filter.get().test(t)) {
+                    json.append(first ? "" : ",").append(Json.stringify(toJson(t, fields)));
+                    first = false;
+                }
+                lastId = t.getId();
+            }
+            if (page.size() < STREAM_PAGE_SIZE) {
+                json.append("]");
+                finished = true;
+            }
+            return json.toString();
+        }
+    }
+
     /**
      * Extension Point for a filter used when retrieving entities.
      *
@@ -198,6 +327,22 @@ public abstract class GenericApiController<T extends Model, U extends Dto, V ext
         return LinkDecoratorDto.decorate(dto, this.getSelfRoute(entity.getId()));
     }
 
+    /**
+     * Converts the entity to the JSON representation of its dto.
+     *
+     * @param entity the entity.
+     * @param fields the fields of the dto included, empty for all fields. The links
+     *               are always included.
+     * @return the JSON representation.
+     */
+    private JsonNode toJson(T entity, Set<String> fields) {
+        final JsonNode json = Json.toJson(this.convertToDto(entity));
+        if (!fields.isEmpty() && json.isObject()) {
+            ((ObjectNode) json).retain(fields);
+        }
+        return json;
+    }
+
     /**
      * Helper for generating the not found message.
      *
@@ -216,14 +361,67 @@ public abstract class GenericApiController<T extends Model, U extends Dto, V ext
      * Retrieves the models using the model service,
      * converts them to DTOs and returns their json
      * representation.
+     * <p>
+     * Supports the following query parameters:
+     * <ul>
+     * <li>limit: the maximum number of models returned. If the limit is reached,
+     * the link to the next page is returned in the Link header.</li>
+     * <li>after: only models with a greater id are returned.</li>
+     * <li>fields: a comma separated list of the fields of the DTOs returned.</li>
+     * </ul>
+     * Without limit, all models are streamed as chunked response.
      *
      * @return A json representation of all entities.
      */
     @Transactional(readOnly = true) @BodyParser.Of(BodyParser.Empty.class) public Result list() {
-        List<T> entities = this.loadEntities();
-        List<Dto> dtos = new ArrayList<>(entities.size());
-        dtos.addAll(entities.stream().map(this::convertToDto).collect(Collectors.toList()));
-        return ok(Json.toJson(dtos));
+
+        final Long afterId;
+        final Integer limit;
+        try {
+            afterId = request().getQueryString("after") == null ?
+                null :
+                Long.valueOf(request().getQueryString("after"));
+            limit = request().getQueryString("limit") == null ?
+                null :
+                Integer.valueOf(request().getQueryString("limit"));
+        } catch (NumberFormatException e) {
+            return badRequest("Illegal pagination parameter: " + e.getMessage());
+        }
+        if (limit != null && limit < 1) {
+            return badRequest("The limit must be positive.");
+        }
+
+        final Set<String> fields = new HashSet<>();
+        if (request().getQueryString("fields") != null) {
+            fields.addAll(Splitter.on(',').trimResults().omitEmptyStrings()
+                .splitToList(request().getQueryString("fields")));
+            fields.add("link");
+        }
+
+        if (limit == null) {
+            return this.streamEntities(afterId, fields);
+        }
+
+        final List<T> entities = this.loadEntities(afterId, limit);
+        if (entities.size() == limit) {
+            final StringBuilder next = new StringBuilder(request().path()).append("?after=")
+                .append(entities.get(entities.size() - 1).getId()).append("&limit=").append(limit);
+            if (request().getQueryString("fields") != null) {
+                try {
+                    next.append("&fields=")
+                        .append(URLEncoder.encode(request().getQueryString("fields"), "UTF-8"));
+                } catch (UnsupportedEncodingException e) {
+                    throw new AssertionError("UTF-8 is not supported", e);
+                }
+            }
+            response().setHeader(LINK, String.format("<%s>; rel=\"next\"", next));
+        }
+
+        final ArrayNode json = Json.newArray();
+        for (T entity : entities) {
+            json.add(this.toJson(entity, fields));
+        }
+        return ok(json);
     }
 
     /**
@@ -21,34 +21,53 @@ package controllers.security;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 
-import org.hibernate.Hibernate;
+import java.util.Optional;
 
 import javax.annotation.Nullable;
 import javax.persistence.EntityManager;
 
+import components.auth.Principal;
+import components.auth.PrincipalCache;
+import components.auth.Token;
 import components.auth.TokenService;
 import models.FrontendUser;
 import models.Tenant;
 import models.service.FrontendUserService;
 import play.db.jpa.JPA;
 import play.db.jpa.JPAApi;
-import play.libs.F;
 import play.mvc.Http;
 import play.mvc.Result;
 
 /**
- * Created by daniel on 19.12.14.
+ * Authenticates requests by the X-Auth-Token, X-Auth-UserId and X-Tenant headers.
+ * <p>
+ * The resolved principal is remembered for the request and cached in the
+ * {@link PrincipalCache} for further requests using the same token.
  */
 
 public class SecuredToken extends TenantAwareAuthenticator {
 
+    private static final String PRINCIPAL_ARG = "colosseum.auth.principal";
+
     private final JPAApi jpaApi;
 
     public SecuredToken(JPAApi jpaApi) {
         this.jpaApi = jpaApi;
     }
 
-    @Nullable private FrontendUser getFrontendUser(Http.Context context) {
+    @Nullable private Principal getPrincipal(Http.Context context) {
+
+        //resolved once per request, shared by getUser and getTenant
+        //noinspection unchecked
+        Optional<Principal> resolved = (Optional<Principal>) context.args.get(PRINCIPAL_ARG);
+        if (resolved == null) {
+            resolved = Optional.ofNullable(resolvePrincipal(context));
+            context.args.put(PRINCIPAL_ARG, resolved);
+        }
+        return resolved.orElse(null);
+    }
+
+    @Nullable private Principal resolvePrincipal(Http.Context context) {
         final String token = context.request().getHeader("X-Auth-Token");
 
         long userId;
@@ -65,89 +84,67 @@ public class SecuredToken extends TenantAwareAuthenticator {
             return null;
         }
 
-        //remember the entity manager
-        //workaround for https://github.com/playframework/playframework/pull/3388
-        final EntityManager em = JPA.em();
-        FrontendUser frontendUser;
-        try {
-            frontendUser = jpaApi.withTransaction(
-                () -> References.frontendUserServiceInterfaceProvider.get().getById(userId));
-        } catch (Throwable t) {
-            throw new RuntimeException(t);
+        final String tenant = context.request().getHeader("X-Tenant");
+
+        final Principal cached = References.principalCache.get(token, userId, tenant);
+        if (cached != null) {
+            return cached;
         }
-        // workaround continue. Bind the old one.
-        JPA.bindForSync(em);
 
         //remember the entity manager
         //workaround for https://github.com/playframework/playframework/pull/3388
-        final EntityManager em1 = JPA.em();
-        final FrontendUser finalUser = frontendUser;
-        boolean valid;
+        final EntityManager em = JPA.em();
+        Principal principal;
         try {
-            valid = jpaApi.withTransaction(
-                () -> References.tokenService.isTokenValidForUser(token, finalUser));
+            principal = jpaApi.withTransaction("default", true, () -> {
+                final FrontendUser frontendUser =
+                    References.frontendUserServiceInterfaceProvider.get().getById(userId);
+                if (frontendUser == null) {
+                    return null;
+                }
+                final Optional<Token> validToken =
+                    References.tokenService.validTokenForUser(token, frontendUser);
+                if (!validToken.isPresent()) {
+                    return null;
+                }
+                String foundTenant = null;
+                for (Tenant searchTenant : frontendUser.getTenants()) {
+                    if (searchTenant.getName().equals(tenant)) {
+                        foundTenant = searchTenant.getName();
+                        break;
+                    }
+                }
+                return new Principal(frontendUser.getMail(), foundTenant,
+                    validToken.get().expiresAt());
+            });
         } catch (Throwable t) {
             throw new RuntimeException(t);
+        } finally {
+            // workaround continue. Bind the old one.
+            JPA.bindForSync(em);
         }
-        // workaround continue. Bind the old one.
-        JPA.bindForSync(em1);
 
-        if (!valid) {
-            frontendUser = null;
+        if (principal != null) {
+            References.principalCache.put(token, userId, tenant, principal);
         }
-
-        return frontendUser;
+        return principal;
     }
 
     @Override public String getUser(Http.Context context) {
-        FrontendUser frontendUser = this.getFrontendUser(context);
-        if (frontendUser == null) {
+        final Principal principal = this.getPrincipal(context);
+        if (principal == null) {
             return null;
         } else {
-            return frontendUser.getMail();
+            return principal.mail();
         }
     }
 
     @Override public String getTenant(Http.Context context) {
-        final FrontendUser frontendUser = this.getFrontendUser(context);
-
-        if (frontendUser == null) {
+        final Principal principal = this.getPrincipal(context);
+        if (principal == null) {
             return null;
-        }
-
-        String tenant = context.request().getHeader("X-Tenant");
-
-        final EntityManager em = JPA.em();
-
-        try {
-            Tenant foundTenant = jpaApi.withTransaction(new F.Function0<Tenant>() {
-                @Override public Tenant apply() throws Throwable {
-                    FrontendUser frontendUser1 =
-                        References.frontendUserServiceInterfaceProvider.get()
-                            .getById(frontendUser.getId());
-                    if (frontendUser1 == null) {
-                        return null;
-                    }
-                    for (Tenant searchTenant : frontendUser1.getTenants()) {
-                        if (searchTenant.getName().equals(tenant)) {
-                            return searchTenant;
-                        }
-                    }
-                    return null;
-                }
-            });
-            if (foundTenant != null) {
-                return foundTenant.getName();
-            }
-            return null;
-        } catch (Throwable t) {
-            throw new RuntimeException(t);
-        } finally {
-            // workaround initialize the frontend user so we can use him later, after we are
-            // loosing the em....
-            Hibernate.initialize(frontendUser);
-            // workaround continue. Bind the old one.
-            JPA.bindForSync(em);
+        } else {
+            return principal.tenant();
         }
     }
 
@@ -159,5 +156,6 @@ public class SecuredToken extends TenantAwareAuthenticator {
     public static class References {
         @Inject private static TokenService tokenService;
         @Inject private static Provider<FrontendUserService> frontendUserServiceInterfaceProvider;
+        @Inject private static PrincipalCache principalCache;
     }
 }
@@ -41,6 +41,9 @@ public class RawMonitorDto extends MonitorDto {
     private Long sensorDescription;
     private Long schedule;
     private Long sensorConfigurations;
+    private Integer rolloutTotal;
+    private Integer rolloutSucceeded;
+    private Integer rolloutFailed;
 
 
     public RawMonitorDto() {
@@ -123,4 +126,28 @@ public class RawMonitorDto extends MonitorDto {
     public void setSensorConfigurations(Long sensorConfigurations) {
         this.sensorConfigurations = sensorConfigurations;
     }
+
+    public Integer getRolloutTotal() {
+        return rolloutTotal;
+    }
+
+    public void setRolloutTotal(Integer rolloutTotal) {
+        this.rolloutTotal = rolloutTotal;
+    }
+
+    public Integer getRolloutSucceeded() {
+        return rolloutSucceeded;
+    }
+
+    public void setRolloutSucceeded(Integer rolloutSucceeded) {
+        this.rolloutSucceeded = rolloutSucceeded;
+    }
+
+    public Integer getRolloutFailed() {
+        return rolloutFailed;
+    }
+
+    public void setRolloutFailed(Integer rolloutFailed) {
+        this.rolloutFailed = rolloutFailed;
+    }
 }
@@ -67,6 +67,13 @@ public class BindingBuilder<T, S> implements FromBindingBuilder<T, S>, ToBinding
         return this;
     }
 
+    @Override public TransformationBindingBuilder<T, S> toReadOnlyField(String name) {
+        toGetter = ReflectionField.of(name, sClass);
+        toSetter = (object, value) -> {
+        };
+        return this;
+    }
+
     @Override public void withTransformation(Transformer<T, S> transformer) {
         this.transformer = transformer;
     }
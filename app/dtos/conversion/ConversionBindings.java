@@ -30,9 +30,9 @@ import static com.google.common.base.Preconditions.checkState;
  */
 public class ConversionBindings implements ConversionBinding {
 
-    private boolean isBuild = false;
+    private volatile boolean isBuild = false;
     private Collection<BindingBuilder> builders;
-    private Collection<ConversionBinding> bindings;
+    private volatile Collection<ConversionBinding> bindings;
 
     public ConversionBindings() {
         this.builders = new LinkedList<>();
@@ -45,7 +45,24 @@ public class ConversionBindings implements ConversionBinding {
         return bindingBuilder;
     }
 
-    private void build() {
+    /**
+     * Builds the bindings once, further builders can not be added afterwards.
+     *
+     * @return the built bindings.
+     */
+    private Collection<ConversionBinding> build() {
+        if (isBuild) {
+            return bindings;
+        }
+        synchronized (this) {
+            if (!isBuild) {
+                buildBindings();
+            }
+        }
+        return bindings;
+    }
+
+    private void buildBindings() {
         final ImmutableList.Builder<ConversionBinding> builder =
             ImmutableList.<ConversionBinding>builder();
         for (BindingBuilder bindingBuilder : builders) {
@@ -56,15 +73,13 @@ public class ConversionBindings implements ConversionBinding {
     }
 
     @Override public void bind(Object from, Object to) {
-        build();
-        for (ConversionBinding conversionBinding : bindings) {
+        for (ConversionBinding conversionBinding : build()) {
             conversionBinding.bind(from, to);
         }
     }
 
     @Override public void bindReverse(Object from, Object to) {
-        build();
-        for (ConversionBinding conversionBinding : bindings) {
+        for (ConversionBinding conversionBinding : build()) {
             conversionBinding.bindReverse(from, to);
         }
     }
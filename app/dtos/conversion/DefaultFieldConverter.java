@@ -18,9 +18,12 @@
 
 package dtos.conversion;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import de.uniulm.omi.cloudiator.common.FieldFinder;
 
 import java.lang.reflect.Field;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -34,13 +37,16 @@ public class DefaultFieldConverter<T extends Model, S extends Dto> implements Dt
 
     private Class<T> tClass;
     private Class<S> sClass;
+    private final Supplier<List<ReflectionField<Object>>> fieldsToBind =
+        Suppliers.memoize(() -> getFieldsToBind().stream().map(ReflectionField::of)
+            .collect(Collectors.toList()));
 
     public DefaultFieldConverter(Class<T> tClass, Class<S> sClass) {
         this.tClass = tClass;
         this.sClass = sClass;
     }
 
-    private Iterable<Field> getFieldsToBind() {
+    private List<Field> getFieldsToBind() {
 
         Set<Field> dtoFields = FieldFinder.of(sClass).getFields();
         Set<Field> modelFields = FieldFinder.of(tClass).getFields();
@@ -58,19 +64,15 @@ public class DefaultFieldConverter<T extends Model, S extends Dto> implements Dt
     }
 
     private S bindFromModelToDto(T model, S dto) {
-        for (Field field : getFieldsToBind()) {
-            ReflectionField<Object> reflectionFieldModel = ReflectionField.of(field);
-            ReflectionField<Object> reflectionFieldDto = ReflectionField.of(field);
-            reflectionFieldDto.setValue(dto, reflectionFieldModel.getValue(model));
+        for (ReflectionField<Object> reflectionField : fieldsToBind.get()) {
+            reflectionField.setValue(dto, reflectionField.getValue(model));
         }
         return dto;
     }
 
     private T bindFromDtoToModel(S dto, T model) {
-        for (Field field : getFieldsToBind()) {
-            ReflectionField<Object> reflectionFieldModel = ReflectionField.of(field);
-            ReflectionField<Object> reflectionFieldDto = ReflectionField.of(field);
-            reflectionFieldModel.setValue(model, reflectionFieldDto.getValue(dto));
+        for (ReflectionField<Object> reflectionField : fieldsToBind.get()) {
+            reflectionField.setValue(model, reflectionField.getValue(dto));
         }
         return model;
     }
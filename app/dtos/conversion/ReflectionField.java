@@ -26,12 +26,21 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
- * Created by daniel on 20.03.15.
+ * Getter and setter for a field of an object.
+ * <p>
+ * The field is resolved once per class of the accessed objects and cached,
+ * so that reading and writing the field does not require a lookup in the
+ * class hierarchy.
  */
 public class ReflectionField<T> implements Getter<T>, Setter<T> {
 
     private final String fieldName;
     private final Class<T> fieldType;
+    private final ClassValue<Field> fields = new ClassValue<Field>() {
+        @Override protected Field computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
 
     public static <S> ReflectionField<S> of(String fieldName, Class<S> fieldType) {
         return new ReflectionField<>(fieldName, fieldType);
@@ -71,43 +80,48 @@ public class ReflectionField<T> implements Getter<T>, Setter<T> {
         return field != null && fieldType.isAssignableFrom(field.getType());
     }
 
-
-    @Override public T getValue(Object object) {
-        Field getField = getField(object.getClass(), fieldName);
-        checkNotNull(getField, String
-            .format("Could not find field %s on class of o (%s)", fieldName, object.getClass()));
-        getField.setAccessible(true);
-        checkArgument(isValidField(getField, fieldType), String
+    /**
+     * Resolves the field on the given class and makes it accessible.
+     * <p>
+     * Failures are not cached by the class value, so accessing an object
+     * of an invalid class fails on every call.
+     *
+     * @param clazz the class of the accessed objects.
+     * @return the accessible field.
+     */
+    private Field resolve(Class<?> clazz) {
+        Field field = getField(clazz, fieldName);
+        checkNotNull(field,
+            String.format("Could not find field %s on class of o (%s)", fieldName, clazz));
+        checkArgument(isValidField(field, fieldType), String
             .format("Illegal field type %s for field %s. Not assignable from %s",
-                fieldType.getName(), fieldName, getField.getType()));
+                fieldType.getName(), fieldName, field.getType()));
+        field.setAccessible(true);
+        return field;
+    }
 
+    @Override public T getValue(Object object) {
+        final Field field = fields.get(object.getClass());
         try {
             //noinspection unchecked
-            return (T) getField.get(object);
+            return (T) field.get(object);
         } catch (IllegalAccessException e) {
             throw new BindingException(String
                 .format("Could not get value on field %s on object %s having class %s.",
-                    getField.getName(), object, object.getClass()), e);
+                    field.getName(), object, object.getClass()), e);
         } catch (ClassCastException e) {
             throw new BindingException("Could not cast field value.", e);
         }
     }
 
     @Override public void setValue(Object object, T value) {
-        Field getField = getField(object.getClass(), fieldName);
-        checkNotNull(getField, String
-            .format("Could not find field %s on class of o (%s)", fieldName, object.getClass()));
-        getField.setAccessible(true);
-        checkArgument(isValidField(getField, fieldType), String
-            .format("Illegal field type %s for field %s. Not assignable from %s",
-                fieldType.getName(), fieldName, getField.getType().getClass().getName()));
-
+        final Field field = fields.get(object.getClass());
         try {
-            getField.set(object, value);
+            field.set(object, value);
         } catch (IllegalAccessException e) {
             throw new BindingException(String
                 .format("Could not set value on field %s on object %s having class %s",
-                    getField.getName(), object, object.getClass()), e);
+                    field.getName(), object, object.getClass()), e);
         }
     }
 }
@@ -29,7 +29,10 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
- * Created by daniel on 25.08.15.
+ * Factory for getters and setters calling a method of an object.
+ * <p>
+ * The methods are resolved and validated once per class of the accessed
+ * objects and cached.
  */
 public class ReflectionMethods {
 
@@ -61,6 +64,11 @@ public class ReflectionMethods {
 
         private final String methodName;
         private final Class<T> setType;
+        private final ClassValue<Method> methods = new ClassValue<Method>() {
+            @Override protected Method computeValue(Class<?> type) {
+                return resolve(type);
+            }
+        };
 
         private ReflectionSetMethod(String methodName, Class<T> setType) {
 
@@ -77,12 +85,12 @@ public class ReflectionMethods {
                 invokable.getParameters().iterator().next().getType().getRawType());
         }
 
-        @Override public void setValue(Object object, T arg) {
-            Method method = getMethod(object.getClass(), methodName);
+        private Method resolve(Class<?> clazz) {
+            Method method = getMethod(clazz, methodName);
 
             if (method == null) {
-                throw new IllegalArgumentException(String
-                    .format("Method %s does not exist in class %s", methodName, object.getClass()));
+                throw new IllegalArgumentException(
+                    String.format("Method %s does not exist in class %s", methodName, clazz));
             }
 
             method.setAccessible(true);
@@ -91,8 +99,14 @@ public class ReflectionMethods {
 
             //check if accessible
             if (!invokable.isAccessible()) {
-                throw new IllegalArgumentException(String
-                    .format("Method %s is not accessible on class %s", method, object.getClass()));
+                throw new IllegalArgumentException(
+                    String.format("Method %s is not accessible on class %s", method, clazz));
+            }
+
+            //check that it does not required arguments
+            if (invokable.getParameters().size() != 1) {
+                throw new IllegalArgumentException(
+                    "Set method should require exactly one argument arguments.");
             }
 
             //check if return type is correct
@@ -102,14 +116,12 @@ public class ReflectionMethods {
                         invokable.getParameters().iterator().next().getType(), setType));
             }
 
-            //check that it does not required arguments
-            if (invokable.getParameters().size() != 1) {
-                throw new IllegalArgumentException(
-                    "Set method should require exactly one argument arguments.");
-            }
+            return method;
+        }
 
+        @Override public void setValue(Object object, T arg) {
+            final Method method = methods.get(object.getClass());
             try {
-                //noinspection unchecked
                 method.invoke(object, arg);
             } catch (IllegalAccessException e) {
                 throw new BindingException(String
@@ -130,6 +142,11 @@ public class ReflectionMethods {
 
         private final String methodName;
         private final Class<T> returnType;
+        private final ClassValue<Method> methods = new ClassValue<Method>() {
+            @Override protected Method computeValue(Class<?> type) {
+                return resolve(type);
+            }
+        };
 
         private ReflectionGetMethod(String methodName, Class<T> returnType) {
 
@@ -146,15 +163,13 @@ public class ReflectionMethods {
                 .isAssignableFrom(invokable.getReturnType().getRawType());
         }
 
+        private Method resolve(Class<?> clazz) {
 
-        @Override public T getValue(Object object) {
-
-            Method method = getMethod(object.getClass(), methodName);
-
+            Method method = getMethod(clazz, methodName);
 
             if (method == null) {
-                throw new IllegalArgumentException(String
-                    .format("Method %s does not exist in class %s", methodName, object.getClass()));
+                throw new IllegalArgumentException(
+                    String.format("Method %s does not exist in class %s", methodName, clazz));
             }
 
             method.setAccessible(true);
@@ -162,8 +177,8 @@ public class ReflectionMethods {
 
             //check if accessible
             if (!invokable.isAccessible()) {
-                throw new IllegalArgumentException(String
-                    .format("Method %s is not accessible on class %s", method, object.getClass()));
+                throw new IllegalArgumentException(
+                    String.format("Method %s is not accessible on class %s", method, clazz));
             }
 
             //check if return type is correct
@@ -178,6 +193,11 @@ public class ReflectionMethods {
                 throw new IllegalArgumentException("Get method should not require arguments.");
             }
 
+            return method;
+        }
+
+        @Override public T getValue(Object object) {
+            final Method method = methods.get(object.getClass());
             try {
                 //noinspection unchecked
                 return (T) method.invoke(object);
@@ -26,4 +26,12 @@ public interface ToBindingBuilder<T, S> {
     TransformationBindingBuilder<T, S> toField(String name);
 
     TransformationBindingBuilder<T, S> toMethod(String name);
+
+    /**
+     * Binds to a field of the model that is only read when converting the model
+     * to the dto, but never written when converting the dto to the model.
+     *
+     * @param name the name of the field.
+     */
+    TransformationBindingBuilder<T, S> toReadOnlyField(String name);
 }
@@ -25,15 +25,31 @@ import java.lang.reflect.InvocationTargetException;
  * Created by daniel on 14.04.15.
  */
 public class TypeBuilder<U> {
+
+    /**
+     * Caches the accessible default constructors of the built classes.
+     */
+    private static final ClassValue<Constructor<?>> CONSTRUCTORS =
+        new ClassValue<Constructor<?>>() {
+            @Override protected Constructor<?> computeValue(Class<?> type) {
+                try {
+                    final Constructor<?> constructor = type.getDeclaredConstructor();
+                    constructor.setAccessible(true);
+                    return constructor;
+                } catch (NoSuchMethodException e) {
+                    throw new IllegalArgumentException(e);
+                }
+            }
+        };
+
     public TypeBuilder() {
     }
 
     public U getInstance(Class<U> clazz) {
         try {
-            final Constructor<U> constructor = clazz.getDeclaredConstructor();
-            constructor.setAccessible(true);
-            return constructor.newInstance();
-        } catch (InvocationTargetException | NoSuchMethodException | IllegalAccessException | InstantiationException e) {
+            //noinspection unchecked
+            return (U) CONSTRUCTORS.get(clazz).newInstance();
+        } catch (InvocationTargetException | IllegalArgumentException | IllegalAccessException | InstantiationException e) {
             throw new RuntimeException(
                 String.format("Could not create instance of class %s", clazz.getName()), e);
         }
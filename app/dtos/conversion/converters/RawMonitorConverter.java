@@ -91,6 +91,11 @@ import models.service.ModelService;
                 .toField("sensorConfigurations")
                 .withTransformation(new IdToModelTransformer<>(sensorConfigurationsModelService));
 
+        //the rollout is tracked by the monitor rollout, not set by the client
+        binding().fromField("rolloutTotal").toReadOnlyField("rolloutTotal");
+        binding().fromField("rolloutSucceeded").toReadOnlyField("rolloutSucceeded");
+        binding().fromField("rolloutFailed").toReadOnlyField("rolloutFailed");
+
 // TODO: a one-way convertion is needed here:
         binding(new TypeLiteral<List<Long>>() {
         }, new TypeLiteral<List<MonitorInstance>>() {
@@ -20,6 +20,7 @@ package models;
 
 import java.util.List;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.OneToMany;
@@ -32,7 +33,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 /**
  * Created by daniel on 31.10.14.
  */
-@Entity public class Api extends Model {
+@Cacheable @Entity public class Api extends Model {
 
     @Column(nullable = false) private String internalProviderName;
     @Column(unique = true, nullable = false) private String name;
@@ -32,7 +32,8 @@ import models.generic.Model;
  * Created by daniel on 19.12.14.
  */
 @Table(
-    indexes = {@Index(columnList = "token", unique = true)}) @Entity public class ApiAccessToken
+    indexes = {@Index(columnList = "token", unique = true),
+        @Index(columnList = "expiresAt")}) @Entity public class ApiAccessToken
     extends Model {
 
     private static final long VALIDITY = (long) 5 * 60 * 1000;
@@ -26,6 +26,7 @@ import java.util.Map;
 import java.util.Optional;
 
 import javax.annotation.Nullable;
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -39,7 +40,7 @@ import models.generic.RemoteResourceInCloud;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
-@Entity public class Cloud extends Model implements CloudPropertyProvider {
+@Cacheable @Entity public class Cloud extends Model implements CloudPropertyProvider {
 
     @Column(unique = true, nullable = false, updatable = false) private String name;
     @Nullable @Column(nullable = true) private String endpoint;
@@ -20,13 +20,16 @@ package models;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
 
 import models.generic.Model;
 
 /**
  * Created by daniel on 08.09.15.
  */
+@Table(indexes = {@Index(columnList = "cloud_id")})
 @Entity public class CloudProperty extends Model {
 
     @Column(nullable = false, name = "cloudproperty_key") private String key;
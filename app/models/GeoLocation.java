@@ -20,6 +20,7 @@ package models;
 
 import java.util.List;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.OneToMany;
 
@@ -28,7 +29,7 @@ import models.generic.Model;
 /**
  * @todo we should probably normalize this table?
  */
-@Entity public class GeoLocation extends Model {
+@Cacheable @Entity public class GeoLocation extends Model {
 
     private String region;
 
@@ -26,14 +26,17 @@ import javax.annotation.Nullable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
+import javax.persistence.Table;
 
 import models.generic.RemoteResourceInLocation;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+@Table(indexes = {@Index(columnList = "cloud_id")})
 @Entity public class Hardware extends RemoteResourceInLocation {
 
     @Column(updatable = false, nullable = false) private String name;
@@ -21,6 +21,7 @@ package models;
 import java.util.List;
 
 import javax.annotation.Nullable;
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -29,7 +30,7 @@ import javax.persistence.OneToMany;
 import models.generic.Model;
 
 
-@Entity public class HardwareOffer extends Model {
+@Cacheable @Entity public class HardwareOffer extends Model {
 
     @Column(nullable = false, updatable = false) private Integer numberOfCores;
 
@@ -31,6 +31,7 @@ import java.util.Optional;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+@Table(indexes = {@Index(columnList = "cloud_id")})
 @Entity public class Image extends RemoteResourceInLocation implements LoginNameSupplier {
 
     /**
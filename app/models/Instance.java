@@ -22,7 +22,9 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
 
 import models.generic.RemoteResource;
 
@@ -32,6 +34,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
 /**
  * Created by daniel on 12.12.14.
  */
+@Table(indexes = {@Index(columnList = "applicationComponent_id"),
+    @Index(columnList = "virtualMachine_id")})
 @Entity public class Instance extends RemoteResource {
 
     @ManyToOne(optional = false) private ApplicationComponent applicationComponent;
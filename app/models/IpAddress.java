@@ -22,7 +22,9 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
 
 import models.generic.Model;
 
@@ -32,6 +34,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 /**
  * Created by daniel on 12.03.15.
  */
+@Table(indexes = {@Index(columnList = "virtualMachine_id")})
 @Entity public class IpAddress extends Model {
 
     @Column(updatable = false) private String ip;
@@ -27,14 +27,17 @@ import java.util.Optional;
 import javax.annotation.Nullable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
 
 import models.generic.RemoteResourceInCloud;
 
 /**
  * Created by daniel on 18.05.15.
  */
+@Table(indexes = {@Index(columnList = "cloud_id")})
 @Entity public class KeyPair extends RemoteResourceInCloud {
 
     @Lob private String privateKey;
@@ -33,8 +33,10 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
+import javax.persistence.Table;
 
 import models.generic.RemoteResourceInCloud;
 import models.generic.RemoteResourceInLocation;
@@ -42,6 +44,7 @@ import models.generic.RemoteResourceInLocation;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+@Table(indexes = {@Index(columnList = "cloud_id")})
 @Entity public class Location extends RemoteResourceInCloud {
 
     @Nullable @ManyToOne(optional = true) private GeoLocation geoLocation;
@@ -21,13 +21,16 @@ package models;
 import javax.annotation.Nullable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
 
 import models.generic.ModelWithExternalReference;
 
 /**
  * Created by Frank on 20.05.2015.
  */
+@Table(indexes = {@Index(columnList = "monitor_id"), @Index(columnList = "virtualMachine_id")})
 @Entity public class MonitorInstance extends ModelWithExternalReference {
 
     @ManyToOne(optional = false) private Monitor monitor;
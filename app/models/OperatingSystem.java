@@ -22,6 +22,7 @@ package models;
 import de.uniulm.omi.cloudiator.common.os.OperatingSystemArchitecture;
 import de.uniulm.omi.cloudiator.common.os.OperatingSystemFamily;
 import de.uniulm.omi.cloudiator.common.os.OperatingSystemVersion;
+import models.generic.IdPool;
 import models.generic.Model;
 
 import javax.annotation.Nullable;
@@ -33,7 +34,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 /**
  * Created by daniel on 04.11.14.
  */
-@Entity public class OperatingSystem extends Model
+@Cacheable @Entity @IdPool(incrementSize = 500) public class OperatingSystem extends Model
     implements de.uniulm.omi.cloudiator.common.os.OperatingSystem {
 
     @Column(nullable = false) @Enumerated(EnumType.STRING) private OperatingSystemArchitecture
@@ -22,7 +22,9 @@ import java.util.Set;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
 
 import models.generic.Model;
 
@@ -32,6 +34,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 /**
  * Created by daniel on 03.08.15.
  */
+@Table(indexes = {@Index(columnList = "applicationComponent_id")})
 @Entity public abstract class Port extends Model {
 
     @Column(updatable = false, unique = true, nullable = false) private String name;
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Index;
+import javax.persistence.PrePersist;
+import javax.persistence.Table;
+
+import models.generic.Model;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Journal entry of a job submitted to the job queue.
+ * <p>
+ * The entry is written in the transaction creating the job and removed
+ * once the job completed, so jobs which were queued or running when the
+ * application stopped can be recovered on the next start.
+ */
+@Table(indexes = {@Index(columnList = "resourceUuid")}) @Entity public class QueuedJob
+    extends Model {
+
+    public enum Type {
+        CREATE_VIRTUAL_MACHINE,
+        CREATE_INSTANCE,
+        DELETE_VIRTUAL_MACHINE,
+        DELETE_INSTANCE
+    }
+
+    @Enumerated(EnumType.STRING) @Column(nullable = false) private Type type;
+
+    @Column(nullable = false) private String resourceUuid;
+
+    @Column(nullable = false) private String tenantUuid;
+
+    @Column(nullable = false) private long createdOn;
+
+    /**
+     * Empty constructor for hibernate.
+     */
+    protected QueuedJob() {
+    }
+
+    public QueuedJob(Type type, String resourceUuid, String tenantUuid) {
+        checkNotNull(type);
+        checkNotNull(resourceUuid);
+        checkNotNull(tenantUuid);
+        this.type = type;
+        this.resourceUuid = resourceUuid;
+        this.tenantUuid = tenantUuid;
+    }
+
+    @PrePersist protected void onCreate() {
+        this.createdOn = System.currentTimeMillis();
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getResourceUuid() {
+        return resourceUuid;
+    }
+
+    public String getTenantUuid() {
+        return tenantUuid;
+    }
+
+    public long getCreatedOn() {
+        return createdOn;
+    }
+}
@@ -44,6 +44,11 @@ import static com.google.common.base.Preconditions.checkNotNull;
     @Nullable
     @ManyToOne(optional = true) private SensorConfigurations sensorConfigurations;
 
+    /* progress of the deployment to the visor agents */
+    @Nullable private Integer rolloutTotal;
+    @Nullable private Integer rolloutSucceeded;
+    @Nullable private Integer rolloutFailed;
+
     /**
      * Empty constructor for hibernate.
      */
@@ -91,4 +96,47 @@ import static com.google.common.base.Preconditions.checkNotNull;
     public Optional<SensorConfigurations> getSensorConfigurations() {
         return Optional.ofNullable(sensorConfigurations);
     }
+
+    /**
+     * Starts tracking a rollout to the given number of agents, adding to a
+     * rollout that did not finish yet.
+     *
+     * @param agents the number of agents the monitor is deployed to.
+     */
+    public void startRollout(int agents) {
+        if (isRolloutFinished()) {
+            rolloutTotal = 0;
+            rolloutSucceeded = 0;
+            rolloutFailed = 0;
+        }
+        rolloutTotal = count(rolloutTotal) + agents;
+    }
+
+    public void rolloutSucceeded() {
+        rolloutSucceeded = count(rolloutSucceeded) + 1;
+    }
+
+    public void rolloutFailed() {
+        rolloutFailed = count(rolloutFailed) + 1;
+    }
+
+    public boolean isRolloutFinished() {
+        return count(rolloutSucceeded) + count(rolloutFailed) >= count(rolloutTotal);
+    }
+
+    private static int count(@Nullable Integer count) {
+        return count == null ? 0 : count;
+    }
+
+    @Nullable public Integer getRolloutTotal() {
+        return rolloutTotal;
+    }
+
+    @Nullable public Integer getRolloutSucceeded() {
+        return rolloutSucceeded;
+    }
+
+    @Nullable public Integer getRolloutFailed() {
+        return rolloutFailed;
+    }
 }
@@ -30,6 +30,7 @@ import java.util.*;
 /**
  * Created by daniel on 31.10.14.
  */
+@Table(indexes = {@Index(columnList = "cloud_id")})
 @Entity public class VirtualMachine extends RemoteResourceInLocation implements LoginNameSupplier {
 
     @Column(unique = true, nullable = false) private String name;
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.generic;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Configures the id allocation of an entity hierarchy.
+ * <p>
+ * The {@link PooledIdGenerator} reserves {@link #incrementSize()} ids with one
+ * round-trip to the id table. Only the annotation on the root entity of a
+ * hierarchy is considered, as all entities of a hierarchy share their ids.
+ */
+@Documented @Inherited @Retention(RetentionPolicy.RUNTIME) @Target(ElementType.TYPE)
+public @interface IdPool {
+
+    /**
+     * @return the number of ids reserved at once.
+     */
+    int incrementSize() default PooledIdGenerator.DEFAULT_INCREMENT_SIZE;
+}
@@ -20,10 +20,11 @@ package models.generic;
 
 import com.google.common.base.MoreObjects;
 
+import org.hibernate.annotations.GenericGenerator;
+
 import java.io.Serializable;
 
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.MappedSuperclass;
 
@@ -31,11 +32,14 @@ import javax.persistence.MappedSuperclass;
  * Superclass for all model classes.
  * <p>
  * Defines the auto generated id for
- * each model class.
+ * each model class. The ids are allocated
+ * by the {@link PooledIdGenerator}.
  */
 @MappedSuperclass public abstract class Model extends Unique implements Serializable {
 
-    @Id @GeneratedValue(strategy = GenerationType.TABLE) private Long id;
+    @Id @GeneratedValue(generator = "pooled")
+    @GenericGenerator(name = "pooled", strategy = "models.generic.PooledIdGenerator")
+    private Long id;
 
     /**
      * Empty constructor for hibernate.
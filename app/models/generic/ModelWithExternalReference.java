@@ -32,7 +32,7 @@ import javax.persistence.MapKeyColumn;
 /**
  * Created by Frank on 20.05.2015.
  */
-@Entity @Inheritance(strategy = InheritanceType.TABLE_PER_CLASS)
+@Entity @Inheritance(strategy = InheritanceType.TABLE_PER_CLASS) @IdPool(incrementSize = 500)
 public abstract class ModelWithExternalReference extends Model {
 
     @ElementCollection @MapKeyColumn(name = "refName") @Column(name = "refValue")
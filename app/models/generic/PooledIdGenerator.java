@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.generic;
+
+import org.hibernate.MappingException;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Id generator used by all {@link Model}s.
+ * <p>
+ * Allocates the ids from a pool, using one row per root entity in the
+ * {@link #TABLE} table. A round-trip to this table is only required once
+ * the ids of the pool are used up. The size of the pool can be configured
+ * per entity hierarchy using the {@link IdPool} annotation.
+ * <p>
+ * Existing databases are migrated on startup by the IdGeneratorMigration.
+ */
+public class PooledIdGenerator extends TableGenerator {
+
+    public static final String TABLE = "hibernate_id_pools";
+    public static final int DEFAULT_INCREMENT_SIZE = 50;
+
+    @Override public void configure(Type type, Properties params, Dialect dialect)
+        throws MappingException {
+
+        final Properties properties = new Properties();
+        properties.putAll(params);
+        properties.putIfAbsent(TABLE_PARAM, TABLE);
+        properties.putIfAbsent(CONFIG_PREFER_SEGMENT_PER_ENTITY, "true");
+        properties.putIfAbsent(OPT_PARAM, "pooled");
+        properties.putIfAbsent(INCREMENT_PARAM,
+            String.valueOf(incrementSize(params.getProperty(IdentifierGenerator.ENTITY_NAME))));
+
+        super.configure(type, properties, dialect);
+    }
+
+    private static int incrementSize(String entityName) throws MappingException {
+        if (entityName == null) {
+            return DEFAULT_INCREMENT_SIZE;
+        }
+        try {
+            final IdPool idPool =
+                Class.forName(entityName, false, PooledIdGenerator.class.getClassLoader())
+                    .getAnnotation(IdPool.class);
+            if (idPool == null) {
+                return DEFAULT_INCREMENT_SIZE;
+            }
+            if (idPool.incrementSize() < 1) {
+                throw new MappingException(String
+                    .format("Increment size of %s must be positive, but was %s.", entityName,
+                        idPool.incrementSize()));
+            }
+            return idPool.incrementSize();
+        } catch (ClassNotFoundException e) {
+            throw new MappingException("Could not load entity " + entityName, e);
+        }
+    }
+}
@@ -21,6 +21,7 @@ package models.generic;
 import java.util.Optional;
 
 import javax.annotation.Nullable;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Inheritance;
@@ -30,7 +31,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
 /**
  * Created by daniel on 12.05.15.
  */
-@Entity @Inheritance(strategy = javax.persistence.InheritanceType.TABLE_PER_CLASS)
+@Cacheable @Entity @Inheritance(strategy = javax.persistence.InheritanceType.TABLE_PER_CLASS)
+@IdPool(incrementSize = 500)
 public abstract class RemoteResource extends Model {
 
     private RemoteState remoteState = RemoteState.INPROGRESS;
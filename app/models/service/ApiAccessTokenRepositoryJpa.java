@@ -37,7 +37,6 @@ class ApiAccessTokenRepositoryJpa extends BaseModelRepositoryJpa<ApiAccessToken>
 
     @Override public ApiAccessToken findByToken(String token) {
         checkNotNull(token);
-        deleteExpiredTokens();
         //noinspection unchecked
         return (ApiAccessToken) em().createQuery("from ApiAccessToken where token = :token")
             .setParameter("token", token).getResultList().stream().findFirst().orElse(null);
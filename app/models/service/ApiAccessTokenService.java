@@ -29,4 +29,9 @@ public interface ApiAccessTokenService extends ModelService<ApiAccessToken> {
 
     @Nullable ApiAccessToken findByToken(String token);
 
+    /**
+     * Deletes all tokens that are expired.
+     */
+    void deleteExpiredTokens();
+
 }
@@ -30,13 +30,16 @@ import javax.annotation.Nullable;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.Query;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
 import java.lang.reflect.Field;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
@@ -99,12 +102,29 @@ class BaseModelRepositoryJpa<T extends Model> implements ModelRepository<T> {
         this.refresh(t);
     }
 
+    @Override public void saveAll(final Collection<T> ts) {
+        checkNotNull(ts);
+        if (ts.isEmpty()) {
+            return;
+        }
+        for (T t : ts) {
+            checkNotNull(t);
+            if (t.getId() == null) {
+                this.persist(t);
+            } else {
+                this.update(t);
+            }
+        }
+        this.flush();
+    }
+
     protected T update(final T t) {
         return em().merge(t);
     }
 
     private void flush() {
         em().flush();
+        HibernateEntityCache.evictInverseCollections(em(), type);
     }
 
     private T refresh(final T t) {
@@ -115,6 +135,7 @@ class BaseModelRepositoryJpa<T extends Model> implements ModelRepository<T> {
     @Override public void delete(final T t) {
         checkNotNull(t);
         em().remove(t);
+        HibernateEntityCache.evictInverseCollections(em(), type);
     }
 
 
@@ -126,6 +147,20 @@ class BaseModelRepositoryJpa<T extends Model> implements ModelRepository<T> {
         return query.getResultList();
     }
 
+    @Override public List<T> findPage(@Nullable final Long afterId, final int limit) {
+        checkArgument(limit > 0, "Limit must be positive.");
+        final TypedQuery<T> query;
+        if (afterId == null) {
+            String queryString = String.format("from %s order by id", type.getName());
+            query = em().createQuery(queryString, type);
+        } else {
+            String queryString =
+                String.format("from %s where id > :afterId order by id", type.getName());
+            query = em().createQuery(queryString, type).setParameter("afterId", afterId);
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+
     @Nullable @Override public T findByUuid(String uuid) {
         checkNotNull(uuid);
         String queryString = String.format("from %s where uuid=:uuid", type.getName());
@@ -20,6 +20,7 @@ package models.service;
 
 import com.google.inject.Inject;
 
+import java.util.Collection;
 import java.util.List;
 
 import javax.annotation.Nullable;
@@ -67,10 +68,18 @@ public class BaseModelService<T extends Model> implements ModelService<T> {
         return modelRepository.findAll();
     }
 
+    @Override public List<T> getPage(@Nullable Long afterId, int limit) {
+        return this.modelRepository.findPage(afterId, limit);
+    }
+
     @Override public void save(T entity) {
         this.modelRepository.save(entity);
     }
 
+    @Override public void saveAll(Collection<T> entities) {
+        this.modelRepository.saveAll(entities);
+    }
+
     @Override public void delete(T entity) {
         this.modelRepository.delete(entity);
     }
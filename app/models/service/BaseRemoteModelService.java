@@ -20,7 +20,13 @@ package models.service;
 
 import com.google.inject.Inject;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import models.generic.RemoteResource;
+import models.generic.RemoteState;
 
 /**
  * Created by daniel on 21.06.15.
@@ -38,4 +44,16 @@ public class BaseRemoteModelService<T extends RemoteResource> extends BaseModelS
     @Override public T getByRemoteId(String remoteId) {
         return tRemoteResourceRepository.findByRemoteId(remoteId);
     }
+
+    @Override public Map<String, T> getByRemoteIds(Collection<String> remoteIds) {
+        Map<String, T> result = new HashMap<>(remoteIds.size());
+        for (T t : tRemoteResourceRepository.findByRemoteIds(remoteIds)) {
+            t.remoteId().ifPresent(remoteId -> result.put(remoteId, t));
+        }
+        return result;
+    }
+
+    @Override public List<T> getByRemoteState(RemoteState remoteState) {
+        return tRemoteResourceRepository.findByRemoteState(remoteState);
+    }
 }
@@ -18,14 +18,20 @@
 
 package models.service;
 
+import com.google.common.collect.Iterables;
 import com.google.inject.TypeLiteral;
 import models.generic.RemoteResource;
+import models.generic.RemoteResourceInCloud;
+import models.generic.RemoteState;
 import play.db.jpa.JPAApi;
 
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.persistence.NoResultException;
 import javax.persistence.Query;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -35,6 +41,11 @@ import static com.google.common.base.Preconditions.checkNotNull;
 class BaseRemoteResourceRepositoryJpa<T extends RemoteResource> extends BaseModelRepositoryJpa<T>
     implements RemoteResourceRepository<T> {
 
+    /**
+     * Maximum number of remote ids in a single IN clause.
+     */
+    private static final int IN_CLAUSE_LIMIT = 500;
+
     @Inject public BaseRemoteResourceRepositoryJpa(JPAApi jpaApi, TypeLiteral<T> type) {
         super(jpaApi, type);
     }
@@ -50,4 +61,37 @@ class BaseRemoteResourceRepositoryJpa<T extends RemoteResource> extends BaseMode
             return null;
         }
     }
+
+    /**
+     * Retrieves all entities having one of the given remote ids, using one query per
+     * {@link #IN_CLAUSE_LIMIT} remote ids.
+     * <p>
+     * For resources in a cloud, the cloud credentials are fetched in the same query.
+     */
+    @Override public List<T> findByRemoteIds(Collection<String> remoteIds) {
+        checkNotNull(remoteIds);
+        final String queryString;
+        if (RemoteResourceInCloud.class.isAssignableFrom(type)) {
+            queryString = String.format("select distinct r from %s r left join fetch "
+                + "r.cloudCredentials where r.remoteId in (:remoteIds)", type.getName());
+        } else {
+            queryString =
+                String.format("from %s where remoteId in (:remoteIds)", type.getName());
+        }
+        List<T> result = new ArrayList<>(remoteIds.size());
+        for (List<String> partition : Iterables.partition(remoteIds, IN_CLAUSE_LIMIT)) {
+            Query query = em().createQuery(queryString).setParameter("remoteIds", partition);
+            //noinspection unchecked
+            result.addAll(query.getResultList());
+        }
+        return result;
+    }
+
+    @Override public List<T> findByRemoteState(RemoteState remoteState) {
+        checkNotNull(remoteState);
+        String queryString =
+            String.format("from %s where remoteState = :remoteState", type.getName());
+        return em().createQuery(queryString, type).setParameter("remoteState", remoteState)
+            .getResultList();
+    }
 }
@@ -52,6 +52,7 @@ import models.MonitorSubscription;
 import models.OperatingSystem;
 import models.PortProvided;
 import models.PortRequired;
+import models.QueuedJob;
 import models.RawMonitor;
 import models.ScalingAction;
 import models.Schedule;
@@ -166,6 +167,7 @@ public class DatabaseServiceModule extends AbstractModule {
         bind(new TypeLiteral<RemoteModelService<Instance>>() {
         }).to(new TypeLiteral<BaseRemoteModelService<Instance>>() {
         });
+        bind(InstanceModelService.class).to(DefaultInstanceModelService.class);
         //Ip Address
         bind(new TypeLiteral<ModelService<IpAddress>>() {
         }).to(new TypeLiteral<BaseModelService<IpAddress>>() {
@@ -196,6 +198,7 @@ public class DatabaseServiceModule extends AbstractModule {
         bind(new TypeLiteral<ModelService<MonitorInstance>>() {
         }).to(new TypeLiteral<BaseModelService<MonitorInstance>>() {
         });
+        bind(MonitorInstanceModelService.class).to(DefaultMonitorInstanceModelService.class);
         //MonitorSubscription
         bind(new TypeLiteral<ModelService<MonitorSubscription>>() {
         }).to(new TypeLiteral<BaseModelService<MonitorSubscription>>() {
@@ -205,6 +208,10 @@ public class DatabaseServiceModule extends AbstractModule {
         }).to(new TypeLiteral<BaseModelService<OperatingSystem>>() {
         });
         bind(OperatingSystemService.class).to(DefaultOperatingSystemService.class);
+        //QueuedJob
+        bind(new TypeLiteral<ModelService<QueuedJob>>() {
+        }).to(new TypeLiteral<BaseModelService<QueuedJob>>() {
+        });
         //RawMonitor
         bind(new TypeLiteral<ModelService<RawMonitor>>() {
         }).to(new TypeLiteral<BaseModelService<RawMonitor>>() {
@@ -249,6 +256,7 @@ public class DatabaseServiceModule extends AbstractModule {
         bind(new TypeLiteral<RemoteModelService<VirtualMachine>>() {
         }).to(new TypeLiteral<BaseRemoteModelService<VirtualMachine>>() {
         });
+        bind(VirtualMachineModelService.class).to(DefaultVirtualMachineModelService.class);
         //VirtualMachineTemplate
         bind(new TypeLiteral<ModelService<VirtualMachineTemplate>>() {
         }).to(new TypeLiteral<BaseModelService<VirtualMachineTemplate>>() {
@@ -36,7 +36,10 @@ public class DefaultApiAccessTokenService extends BaseModelService<ApiAccessToke
     }
 
     @Override @Nullable public ApiAccessToken findByToken(String token) {
-        ((ApiAccessTokenRepository) modelRepository).deleteExpiredTokens();
         return ((ApiAccessTokenRepository) modelRepository).findByToken(token);
     }
+
+    @Override public void deleteExpiredTokens() {
+        ((ApiAccessTokenRepository) modelRepository).deleteExpiredTokens();
+    }
 }
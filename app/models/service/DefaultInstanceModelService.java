@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service;
+
+import com.google.inject.Inject;
+
+import java.util.List;
+
+import models.Instance;
+
+/**
+ * Default implementation of the {@link InstanceModelService}.
+ */
+public class DefaultInstanceModelService extends BaseRemoteModelService<Instance>
+    implements InstanceModelService {
+
+    private final InstanceRepository instanceRepository;
+
+    @Inject public DefaultInstanceModelService(InstanceRepository instanceRepository) {
+        super(instanceRepository);
+        this.instanceRepository = instanceRepository;
+    }
+
+    @Override public List<Instance> getByVirtualMachine(Long virtualMachineId) {
+        return instanceRepository.findByVirtualMachine(virtualMachineId);
+    }
+}
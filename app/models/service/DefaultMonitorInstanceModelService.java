@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service;
+
+import com.google.inject.Inject;
+
+import java.util.List;
+
+import models.MonitorInstance;
+
+/**
+ * Default implementation of the {@link MonitorInstanceModelService}.
+ */
+public class DefaultMonitorInstanceModelService extends BaseModelService<MonitorInstance>
+    implements MonitorInstanceModelService {
+
+    private final MonitorInstanceRepository monitorInstanceRepository;
+
+    @Inject public DefaultMonitorInstanceModelService(
+        MonitorInstanceRepository monitorInstanceRepository) {
+        super(monitorInstanceRepository);
+        this.monitorInstanceRepository = monitorInstanceRepository;
+    }
+
+    @Override public List<MonitorInstance> getByMonitor(Long monitorId) {
+        return monitorInstanceRepository.findByMonitor(monitorId);
+    }
+
+    @Override public List<MonitorInstance> getByIp(String ip) {
+        return monitorInstanceRepository.findByIp(ip);
+    }
+
+    @Override public List<String> getIps() {
+        return monitorInstanceRepository.findIps();
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service;
+
+import org.hibernate.stat.SecondLevelCacheStatistics;
+
+import java.util.Map;
+
+import models.generic.Model;
+
+/**
+ * The second level cache of the entities.
+ * <p>
+ * Writes through the {@link ModelService}s keep the cache consistent, including
+ * the cached collections of the other side of a relation. Evicting is only
+ * required after the database was changed by other means.
+ */
+public interface EntityCache {
+
+    /**
+     * Evicts all cached entities of the given type, and all cached collections
+     * containing them.
+     *
+     * @param type the entity type.
+     */
+    void evict(Class<? extends Model> type);
+
+    /**
+     * Evicts all cached entities and collections.
+     */
+    void evictAll();
+
+    /**
+     * @return the statistics of each cache region, mapped by the region name.
+     */
+    Map<String, SecondLevelCacheStatistics> statistics();
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service;
+
+import com.google.inject.Inject;
+
+import org.hibernate.stat.SecondLevelCacheStatistics;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import components.execution.Schedulable;
+import play.Configuration;
+import play.Logger;
+import play.db.jpa.Transactional;
+import util.logging.Loggers;
+
+/**
+ * Periodically logs the hit rate of each region of the {@link EntityCache}.
+ */
+public class EntityCacheStatisticsLogger implements Schedulable {
+
+    private static final Logger.ALogger LOGGER = Loggers.of(Loggers.DATABASE);
+    private final EntityCache entityCache;
+    private final long period;
+
+    @Inject public EntityCacheStatisticsLogger(EntityCache entityCache) {
+        this.entityCache = entityCache;
+        this.period =
+            Math.max(1, Configuration.root().getLong("colosseum.db.cache.statistics.period", 10L));
+    }
+
+    @Transactional(readOnly = true) @Override public void run() {
+        for (Map.Entry<String, SecondLevelCacheStatistics> entry : entityCache.statistics()
+            .entrySet()) {
+            final SecondLevelCacheStatistics statistics = entry.getValue();
+            final long requests = statistics.getHitCount() + statistics.getMissCount();
+            LOGGER.info(String
+                .format("Cache region %s: %s entries, %s hits, %s misses, %s puts, hit rate %.2f",
+                    entry.getKey(), statistics.getElementCountInMemory(),
+                    statistics.getHitCount(), statistics.getMissCount(),
+                    statistics.getPutCount(),
+                    requests == 0 ? 0d : (double) statistics.getHitCount() / requests));
+        }
+    }
+
+    @Override public long period() {
+        return period;
+    }
+
+    @Override public long delay() {
+        return period;
+    }
+
+    @Override public TimeUnit timeUnit() {
+        return TimeUnit.MINUTES;
+    }
+
+    @Override public String toString() {
+        return "EntityCacheStatisticsLogger";
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service;
+
+import com.google.inject.Inject;
+
+import java.util.concurrent.TimeUnit;
+
+import components.execution.Schedulable;
+import play.Configuration;
+import play.db.jpa.Transactional;
+
+/**
+ * Periodically deletes the expired {@link models.ApiAccessToken}s.
+ */
+public class ExpiredApiAccessTokenPurger implements Schedulable {
+
+    private final ApiAccessTokenService apiAccessTokenService;
+    private final long period;
+
+    @Inject public ExpiredApiAccessTokenPurger(ApiAccessTokenService apiAccessTokenService) {
+        this.apiAccessTokenService = apiAccessTokenService;
+        this.period =
+            Math.max(1, Configuration.root().getLong("colosseum.auth.token.purge.period", 5L));
+    }
+
+    @Transactional @Override public void run() {
+        apiAccessTokenService.deleteExpiredTokens();
+    }
+
+    @Override public long period() {
+        return period;
+    }
+
+    @Override public long delay() {
+        return period;
+    }
+
+    @Override public TimeUnit timeUnit() {
+        return TimeUnit.MINUTES;
+    }
+
+    @Override public String toString() {
+        return "ExpiredApiAccessTokenPurger";
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service;
+
+import com.google.common.collect.ImmutableList;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.metadata.CollectionMetadata;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.persistence.EntityManager;
+
+import components.execution.AfterCommit;
+import models.generic.Model;
+import play.db.jpa.JPA;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Hibernate implementation of the {@link EntityCache}.
+ */
+class HibernateEntityCache implements EntityCache {
+
+    /**
+     * Roles of the cached inverse collections, mapped by the entity type they contain.
+     */
+    private static final Map<Class<?>, List<String>> INVERSE_COLLECTIONS =
+        new ConcurrentHashMap<>();
+
+    /**
+     * Evicts the cached inverse collections (the mappedBy side of a relation) which
+     * may contain entities of the given type.
+     * <p>
+     * Hibernate only updates cached collections on the owning side of a relation,
+     * so writing an entity would otherwise leave a stale collection in the cache.
+     * The collections are evicted once the current transaction committed, as a
+     * concurrent reader could otherwise load the old state into the cache again.
+     *
+     * @param em   the entity manager.
+     * @param type the type of the written entity.
+     */
+    static void evictInverseCollections(EntityManager em, Class<?> type) {
+        final SessionFactory sessionFactory = sessionFactory(em);
+        final List<String> roles =
+            INVERSE_COLLECTIONS.computeIfAbsent(type, t -> inverseCollections(sessionFactory, t));
+        if (roles.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> roles.forEach(sessionFactory.getCache()::evictCollectionRegion));
+    }
+
+    private static List<String> inverseCollections(SessionFactory sessionFactory,
+        Class<?> type) {
+        final ImmutableList.Builder<String> roles = ImmutableList.builder();
+        for (CollectionMetadata collectionMetadata : sessionFactory.getAllCollectionMetadata()
+            .values()) {
+            final CollectionPersister persister = (CollectionPersister) collectionMetadata;
+            if (persister.hasCache() && persister.isInverse() && persister.getElementType()
+                .getReturnedClass().isAssignableFrom(type)) {
+                roles.add(persister.getRole());
+            }
+        }
+        return roles.build();
+    }
+
+    private static SessionFactory sessionFactory(EntityManager em) {
+        return em.unwrap(Session.class).getSessionFactory();
+    }
+
+    @Override public void evict(Class<? extends Model> type) {
+        checkNotNull(type);
+        final EntityManager em = JPA.em();
+        em.getEntityManagerFactory().getCache().evict(type);
+        evictInverseCollections(em, type);
+    }
+
+    @Override public void evictAll() {
+        JPA.em().getEntityManagerFactory().getCache().evictAll();
+    }
+
+    @Override public Map<String, SecondLevelCacheStatistics> statistics() {
+        final Statistics statistics = sessionFactory(JPA.em()).getStatistics();
+        final Map<String, SecondLevelCacheStatistics> result = new TreeMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            result.put(region, statistics.getSecondLevelCacheStatistics(region));
+        }
+        return result;
+    }
+}
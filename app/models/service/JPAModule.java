@@ -20,7 +20,9 @@ package models.service;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.TypeLiteral;
+import com.google.inject.multibindings.Multibinder;
 
+import components.execution.Schedulable;
 import models.Api;
 import models.Application;
 import models.ApplicationComponent;
@@ -52,6 +54,7 @@ import models.MonitorSubscription;
 import models.OperatingSystem;
 import models.PortProvided;
 import models.PortRequired;
+import models.QueuedJob;
 import models.RawMonitor;
 import models.ScalingAction;
 import models.Schedule;
@@ -70,12 +73,18 @@ import models.Window;
 public class JPAModule extends AbstractModule {
 
     @Override protected void configure() {
+        // Second level cache
+        bind(EntityCache.class).to(HibernateEntityCache.class);
+        Multibinder.newSetBinder(binder(), Schedulable.class).addBinding()
+            .to(EntityCacheStatisticsLogger.class);
         // API
         bind(new TypeLiteral<ModelRepository<Api>>() {
         }).to(new TypeLiteral<BaseModelRepositoryJpa<Api>>() {
         });
         // API Access Token
         bind(ApiAccessTokenRepository.class).to(ApiAccessTokenRepositoryJpa.class);
+        Multibinder.newSetBinder(binder(), Schedulable.class).addBinding()
+            .to(ExpiredApiAccessTokenPurger.class);
         // Application
         bind(new TypeLiteral<ModelRepository<Application>>() {
         }).to(new TypeLiteral<BaseModelRepositoryJpa<Application>>() {
@@ -158,6 +167,7 @@ public class JPAModule extends AbstractModule {
         }).to(new TypeLiteral<BaseRemoteResourceRepositoryJpa<Image>>() {
         });
         //Instance
+        bind(InstanceRepository.class).to(InstanceRepositoryJpa.class);
         bind(new TypeLiteral<ModelRepository<Instance>>() {
         }).to(new TypeLiteral<BaseModelRepositoryJpa<Instance>>() {
         });
@@ -189,6 +199,7 @@ public class JPAModule extends AbstractModule {
         }).to(new TypeLiteral<BaseModelRepositoryJpa<Monitor>>() {
         });
         //MonitorInstance
+        bind(MonitorInstanceRepository.class).to(MonitorInstanceRepositoryJpa.class);
         bind(new TypeLiteral<ModelRepository<MonitorInstance>>() {
         }).to(new TypeLiteral<BaseModelRepositoryJpa<MonitorInstance>>() {
         });
@@ -203,6 +214,10 @@ public class JPAModule extends AbstractModule {
         bind(new TypeLiteral<ModelRepository<OperatingSystem>>() {
         }).to(new TypeLiteral<BaseModelRepositoryJpa<OperatingSystem>>() {
         });
+        //QueuedJob
+        bind(new TypeLiteral<ModelRepository<QueuedJob>>() {
+        }).to(new TypeLiteral<BaseModelRepositoryJpa<QueuedJob>>() {
+        });
         //RawMonitor
         bind(new TypeLiteral<ModelRepository<RawMonitor>>() {
         }).to(new TypeLiteral<BaseModelRepositoryJpa<RawMonitor>>() {
@@ -240,6 +255,7 @@ public class JPAModule extends AbstractModule {
         }).to(new TypeLiteral<BaseModelRepositoryJpa<PortProvided>>() {
         });
         //VirtualMachine
+        bind(VirtualMachineRepository.class).to(VirtualMachineRepositoryJpa.class);
         bind(new TypeLiteral<ModelRepository<VirtualMachine>>() {
         }).to(new TypeLiteral<BaseModelRepositoryJpa<VirtualMachine>>() {
         });
@@ -18,6 +18,7 @@
 
 package models.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import javax.annotation.Nullable;
@@ -37,5 +38,9 @@ interface ModelRepository<T extends Model> extends UniqueRepository<T> {
 
     void save(T t);
 
+    void saveAll(Collection<T> ts);
+
     List<T> findAll();
+
+    List<T> findPage(@Nullable Long afterId, int limit);
 }
@@ -18,6 +18,7 @@
 
 package models.service;
 
+import java.util.Collection;
 import java.util.List;
 
 import javax.annotation.Nullable;
@@ -35,8 +36,29 @@ public interface ModelService<T extends Model> extends UniqueService<T> {
 
     List<T> getAll();
 
+    /**
+     * Retrieves a page of entities ordered by their id.
+     * <p>
+     * The next page starts after the id of the last entity of this page.
+     *
+     * @param afterId only entities with a greater id are returned, null for the first page.
+     * @param limit   the maximum number of entities returned, must be positive.
+     * @return the entities of the page.
+     * @throws IllegalArgumentException if the limit is not positive.
+     */
+    List<T> getPage(@Nullable Long afterId, int limit);
+
     void save(T t);
 
+    /**
+     * Saves all given entities, flushing them to the database at once.
+     * <p>
+     * Other than {@link #save(Model)}, the entities are not refreshed.
+     *
+     * @param ts the entities to save.
+     */
+    void saveAll(Collection<T> ts);
+
     void delete(T t);
 
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service;
+
+import java.util.List;
+
+import models.MonitorInstance;
+
+/**
+ * Service for {@link MonitorInstance}s.
+ */
+public interface MonitorInstanceModelService extends ModelService<MonitorInstance> {
+
+    /**
+     * Retrieves all instances of the given monitor.
+     *
+     * @param monitorId the id of the monitor (mandatory).
+     * @return the instances of the monitor.
+     * @throws NullPointerException if the monitor id is null.
+     */
+    List<MonitorInstance> getByMonitor(Long monitorId);
+
+    /**
+     * Retrieves all instances bound to the given ip address.
+     *
+     * @param ip the ip address (mandatory).
+     * @return the instances bound to the ip address.
+     * @throws NullPointerException if the ip address is null.
+     */
+    List<MonitorInstance> getByIp(String ip);
+
+    /**
+     * Retrieves the distinct ip addresses monitor instances are bound to.
+     *
+     * @return the ip addresses.
+     */
+    List<String> getIps();
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service;
+
+import com.google.inject.Inject;
+import com.google.inject.TypeLiteral;
+
+import java.util.List;
+
+import models.MonitorInstance;
+import play.db.jpa.JPAApi;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * JPA implementation of the {@link MonitorInstanceRepository}.
+ */
+class MonitorInstanceRepositoryJpa extends BaseModelRepositoryJpa<MonitorInstance>
+    implements MonitorInstanceRepository {
+
+    @Inject public MonitorInstanceRepositoryJpa(JPAApi jpaApi, TypeLiteral<MonitorInstance> type) {
+        super(jpaApi, type);
+    }
+
+    @Override public List<MonitorInstance> findByMonitor(Long monitorId) {
+        checkNotNull(monitorId);
+        return em().createQuery("from MonitorInstance mi where mi.monitor.id = :monitorId",
+            MonitorInstance.class).setParameter("monitorId", monitorId).getResultList();
+    }
+
+    @Override public List<MonitorInstance> findByIp(String ip) {
+        checkNotNull(ip);
+        return em().createQuery("from MonitorInstance mi where mi.ipAddress.ip = :ip",
+            MonitorInstance.class).setParameter("ip", ip).getResultList();
+    }
+
+    @Override public List<String> findIps() {
+        return em().createQuery("select distinct mi.ipAddress.ip from MonitorInstance mi",
+            String.class).getResultList();
+    }
+}
@@ -18,7 +18,12 @@
 
 package models.service;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 import models.generic.RemoteResource;
+import models.generic.RemoteState;
 
 /**
  * Created by daniel on 21.06.15.
@@ -27,4 +32,21 @@ public interface RemoteModelService<T extends RemoteResource> extends ModelServi
 
     T getByRemoteId(String remoteId);
 
+    /**
+     * Retrieves all entities with one of the given remote ids.
+     *
+     * @param remoteIds the remote ids to look up.
+     * @return the found entities mapped by their remote id. Remote ids without
+     * entity are absent.
+     */
+    Map<String, T> getByRemoteIds(Collection<String> remoteIds);
+
+    /**
+     * Retrieves all entities in the given remote state.
+     *
+     * @param remoteState the remote state.
+     * @return all entities in this state.
+     */
+    List<T> getByRemoteState(RemoteState remoteState);
+
 }
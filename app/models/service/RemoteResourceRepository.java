@@ -18,9 +18,13 @@
 
 package models.service;
 
+import java.util.Collection;
+import java.util.List;
+
 import javax.annotation.Nullable;
 
 import models.generic.RemoteResource;
+import models.generic.RemoteState;
 
 /**
  * Created by daniel on 21.06.15.
@@ -29,4 +33,8 @@ interface RemoteResourceRepository<T extends RemoteResource> extends ModelReposi
 
     @Nullable T findByRemoteId(String remoteId);
 
+    List<T> findByRemoteIds(Collection<String> remoteIds);
+
+    List<T> findByRemoteState(RemoteState remoteState);
+
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2014-2015 University of Ulm
+ *
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.  Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package models.service;
+
+import com.google.inject.Inject;
+import com.google.inject.TypeLiteral;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+import javax.persistence.TypedQuery;
+
+import models.VirtualMachine;
+import play.db.jpa.JPAApi;
+
+/**
+ * JPA implementation of the {@link VirtualMachineRepository}.
+ */
+class VirtualMachineRepositoryJpa extends BaseRemoteResourceRepositoryJpa<VirtualMachine>
+    implements VirtualMachineRepository {
+
+    @Inject public VirtualMachineRepositoryJpa(JPAApi jpaApi, TypeLiteral<VirtualMachine> type) {
+        super(jpaApi, type);
+    }
+
+    /**
+     * Each predicate on the instances is checked on its own, i.e. a virtual machine
+     * matches if it runs an instance of the application and an instance of the
+     * component, even if those are different instances.
+     */
+    @Override public List<VirtualMachine> findBy(@Nullable Long applicationId,
+        @Nullable Long componentId, @Nullable Long instanceId, @Nullable Long cloudId) {
+
+        final StringBuilder queryString = new StringBuilder("from VirtualMachine vm where 1 = 1");
+        final Map<String, Long> parameters = new HashMap<>();
+
+        if (applicationId != null) {
+            queryString.append(" and exists (from Instance i where i.virtualMachine = vm"
+                + " and i.applicationComponent.application.id = :applicationId)");
+            parameters.put("applicationId", applicationId);
+        }
+        if (componentId != null) {
+            queryString.append(" and exists (from Instance i where i.virtualMachine = vm"
+                + " and i.applicationComponent.component.id = :componentId)");
+            parameters.put("componentId", componentId);
+        }
+        if (instanceId != null) {
+            queryString.append(" and exists (from Instance i where i.virtualMachine = vm"
+                + " and i.id = :instanceId)");
+            parameters.put("instanceId", instanceId);
+        }
+        if (cloudId != null) {
+            queryString.append(" and vm.cloud.id = :cloudId");
+            parameters.put("cloudId", cloudId);
+        }
+
+        final TypedQuery<VirtualMachine> query =
+            em().createQuery(queryString.toString(), VirtualMachine.class);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+}